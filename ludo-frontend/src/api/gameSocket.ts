@@ -0,0 +1,87 @@
+import { GameStateDTO } from '../types/gameTypes';
+
+const WS_URL = 'ws://localhost:8080/ludo/ws';
+const RECONNECT_DELAY_MS = 2000;
+
+// Minimal STOMP 1.2 client over a native WebSocket: CONNECT, SUBSCRIBE and MESSAGE frames are all
+// the game topic needs, so we don't pull in a full STOMP library for it.
+const NULL = '\u0000';
+
+function frame(command: string, headers: Record<string, string>): string {
+  const lines = Object.entries(headers).map(([k, v]) => `${k}:${v}`);
+  return `${command}\n${lines.join('\n')}\n\n${NULL}`;
+}
+
+function parseFrame(raw: string): { command: string; body: string } | null {
+  const headerEnd = raw.indexOf('\n\n');
+  if (headerEnd < 0) return null;
+  const command = raw.substring(0, raw.indexOf('\n'));
+  const body = raw.substring(headerEnd + 2).replace(/\u0000\s*$/, '');
+  return { command, body };
+}
+
+export interface GameSubscription {
+  close: () => void;
+}
+
+/**
+ * Subscribes to state pushes for one game. `onConnectionChange` lets callers fall back to
+ * polling while the socket is down.
+ */
+export function subscribeToGame(
+  gameId: string,
+  onState: (state: GameStateDTO) => void,
+  onConnectionChange: (connected: boolean) => void
+): GameSubscription {
+  let socket: WebSocket | null = null;
+  let closed = false;
+  let reconnectTimer: ReturnType<typeof setTimeout> | null = null;
+
+  const connect = () => {
+    socket = new WebSocket(WS_URL, ['v12.stomp']);
+
+    socket.onopen = () => {
+      socket?.send(frame('CONNECT', { 'accept-version': '1.2', host: 'localhost', 'heart-beat': '0,0' }));
+    };
+
+    socket.onmessage = (event) => {
+      // Heart-beats arrive as bare newlines
+      if (typeof event.data !== 'string' || event.data.trim() === '') return;
+      const parsed = parseFrame(event.data);
+      if (!parsed) return;
+
+      if (parsed.command === 'CONNECTED') {
+        socket?.send(frame('SUBSCRIBE', { id: `game-${gameId}`, destination: `/topic/games/${gameId}` }));
+        onConnectionChange(true);
+      } else if (parsed.command === 'MESSAGE') {
+        try {
+          onState(JSON.parse(parsed.body) as GameStateDTO);
+        } catch (error) {
+          console.error('Failed to parse pushed game state:', error);
+        }
+      } else if (parsed.command === 'ERROR') {
+        console.error('STOMP error frame:', parsed.body);
+      }
+    };
+
+    socket.onclose = () => {
+      onConnectionChange(false);
+      if (!closed) {
+        reconnectTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+      }
+    };
+  };
+
+  connect();
+
+  return {
+    close: () => {
+      closed = true;
+      if (reconnectTimer) clearTimeout(reconnectTimer);
+      if (socket && socket.readyState === WebSocket.OPEN) {
+        socket.send(frame('DISCONNECT', {}));
+      }
+      socket?.close();
+    },
+  };
+}
@@ -146,6 +146,11 @@ const Board: React.FC = () => {
         return false;
       }
 
+      // The backend sends the legal moves for the next die; guess only if it did not
+      if (gameState.movableTokens) {
+        return gameState.movableTokens.includes(tokenIndex);
+      }
+
       const rolls = gameState.currentDiceRolls || [];
       const nextDice = getNextUsableDice(rolls);
       const tokenFinished = !!token.finished;
@@ -1,6 +1,7 @@
 import React, { createContext, useContext, useState, useCallback, useEffect } from 'react';
 import { GameStateDTO } from '../types/gameTypes';
 import { ludoApi } from '../api/ludoApi';
+import { subscribeToGame } from '../api/gameSocket';
 
 interface GameContextType {
   gameState: GameStateDTO | null;
@@ -36,6 +37,7 @@ interface GameProviderProps {
 export const GameProvider: React.FC<GameProviderProps> = ({ children, gameId }) => {
   const [gameState, setGameState] = useState<GameStateDTO | null>(null);
   const [isRolling, setIsRolling] = useState(false);  // ✅ KEEP: UI loading state
+  const [isLive, setIsLive] = useState(false);  // true while the WebSocket push channel is up
   const [currentPlayerName, setCurrentPlayerName] = useState<string | null>(
     localStorage.getItem('currentPlayerName')
   );
@@ -54,15 +56,27 @@ export const GameProvider: React.FC<GameProviderProps> = ({ children, gameId })
     refreshGameState();
   }, [refreshGameState]);
 
-  // Auto-refresh game state every 5 seconds (reduced from 10 for better sync)
+  // Server pushes every change on /topic/games/{gameId}
   useEffect(() => {
+    const subscription = subscribeToGame(gameId, setGameState, (connected) => {
+      setIsLive(connected);
+      // Catch up on anything missed while the socket was down
+      if (connected) refreshGameState();
+    });
+    return () => subscription.close();
+  }, [gameId, refreshGameState]);
+
+  // Fallback polling only while the push channel is unavailable
+  useEffect(() => {
+    if (isLive) return;
+
     const interval = setInterval(() => {
       console.log(`🔄 [Auto-refresh] Refreshing game state for ${currentPlayerName}`);
       refreshGameState();
-    }, 5000); // Reduced to 5 seconds for better synchronization
+    }, 5000);
 
     return () => clearInterval(interval);
-  }, [refreshGameState, currentPlayerName]);
+  }, [refreshGameState, currentPlayerName, isLive]);
 
   // ENHANCED: Add manual refresh function for debugging
   const forceRefresh = useCallback(async () => {
@@ -57,12 +57,12 @@ const CreateGamePage: React.FC<CreateGamePageProps> = ({ onGameCreated }) => {
 
     try {
       // Add player to existing game
-      await ludoApi.addPlayer(gameId.trim(), joinPlayerName.trim());
+      await ludoApi.addPlayer(gameId.trim().toUpperCase(), joinPlayerName.trim());
 
       // Store player name in localStorage for context
       localStorage.setItem('currentPlayerName', joinPlayerName.trim());
 
-      onGameCreated(gameId.trim());
+      onGameCreated(gameId.trim().toUpperCase());
     } catch (err) {
       setError('Failed to join game. Please check the game ID and try again.');
       console.error('Join game error:', err);
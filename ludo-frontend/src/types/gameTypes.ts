@@ -13,6 +13,7 @@ export interface PlayerDTO {
   id: string;
   name: string;
   color: string;
+  bot?: boolean;      // Seat played by the server
 }
 
 export interface TokenDTO {
@@ -36,12 +37,14 @@ export interface LastDiceRollDTO {
 
 export interface GameStateDTO {
   gameId: string;
+  version: number;   // Bumped by every change to the game
   started: boolean;
   end: boolean;
   currentPlayerId: string;
   currentPlayerIndex: number;
   players: PlayerDTO[];
   currentDiceRolls: DiceDTO[];
+  movableTokens?: number[];  // Token indexes the next moveToken accepts; empty while rolling
   winners: PlayerDTO[];
   playerPositions: Record<number, TokenDTO[]>;
   gameStatus?: string;  // Add missing field from backend
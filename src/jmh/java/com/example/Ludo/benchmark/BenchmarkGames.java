@@ -0,0 +1,38 @@
+package com.example.Ludo.benchmark;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
+import java.util.SplittableRandom;
+
+/** Reproducible game fixtures shared by the benchmarks. */
+final class BenchmarkGames {
+  private BenchmarkGames() {}
+
+  /**
+   * A started game with {@code players} seats where roughly {@code fillPercent} of the tokens are
+   * out on the board. Positions are drawn from a fixed seed so every fork sees the same board.
+   */
+  static GameState startedGame(String gameId, int players, int fillPercent, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    GameState game = new GameState(gameId);
+    for (int p = 0; p < players; p++) {
+      Color color = Color.values()[p];
+      game.getPlayers().add(new Player("player-" + p, "Player " + p, color.name()));
+      game.initializeTokens(p, color);
+      for (int t = 0; t < tokensPerPlayer; t++) {
+        if (random.nextInt(100) < fillPercent) {
+          // Stay short of the home stretch so every placed token can still move
+          game.setTokenPosition(p, t, random.nextInt(endPosition - 6));
+        }
+      }
+    }
+    game.setStarted(true);
+    game.setCurrentPlayerIndex(0);
+    game.setCurrentPlayerId(game.getPlayers().get(0).getId());
+    return game;
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.Ludo.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once per thread count in {@code -Djmh.threads} (comma separated, e.g.
+ * {@code 1,4,16}), since JMH itself takes a single count. Any other arguments are passed to JMH
+ * as-is, e.g. a benchmark regex or {@code -p players=4}.
+ */
+public final class BenchmarkMain {
+  private BenchmarkMain() {}
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    for (String threads : System.getProperty("jmh.threads", "1").split(",")) {
+      new Runner(
+              new OptionsBuilder()
+                  .parent(commandLine)
+                  .threads(Integer.parseInt(threads.trim()))
+                  .build())
+          .run();
+    }
+  }
+}
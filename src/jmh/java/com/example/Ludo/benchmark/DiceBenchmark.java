@@ -0,0 +1,69 @@
+package com.example.Ludo.benchmark;
+
+import com.example.Ludo.metadata.core.dice.FastDiceSource;
+import com.example.Ludo.metadata.core.dice.SecureDiceSource;
+import com.example.Ludo.metadata.core.dice.SeededDiceSource;
+import com.example.Ludo.metadata.core.interfaces.DiceSource;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Cost of one die roll per {@code ludo.dice.source}, against the old new-Random-per-roll. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Sources {
+    @Param({"fast", "seeded", "secure"})
+    String source;
+
+    DiceSource dice;
+
+    @Setup
+    public void setUp() {
+      switch (source) {
+        case "seeded":
+          dice = new SeededDiceSource(42L);
+          break;
+        case "secure":
+          dice = new SecureDiceSource();
+          break;
+        default:
+          dice = new FastDiceSource();
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Table {
+    final GameState game = new GameState("BENCH");
+  }
+
+  @Benchmark
+  public int roll(Sources sources, Table table) {
+    GameState game = table.game;
+    int value = sources.dice.roll(game);
+    game.setDiceRollCount(game.getDiceRollCount() + 1);
+    return value;
+  }
+
+  @Benchmark
+  public int newRandomPerRoll() {
+    return new Random().nextInt(6) + 1;
+  }
+}
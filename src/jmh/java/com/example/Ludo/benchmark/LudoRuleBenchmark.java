@@ -0,0 +1,73 @@
+package com.example.Ludo.benchmark;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.trackLength;
+
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.core.service.LudoRule;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The rule checks that run on every move. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LudoRuleBenchmark {
+  @Param({"2", "4"})
+  int players;
+
+  @Param({"0", "50", "100"})
+  int fillPercent;
+
+  private final LudoRule ludoRule = new LudoRule();
+  private GameState game;
+  private Token mover;
+  private int victimPlayer;
+  private int victimPosition;
+
+  @Setup
+  public void setUp() {
+    game = BenchmarkGames.startedGame("BENCH", players, fillPercent, 42L);
+    // Player 0 always has a token out and an unused die, so isValidMove takes its accepting path
+    game.setTokenPosition(0, 0, 10);
+    game.getCurrentDiceRolls().add(3);
+
+    // An opponent token sitting on a plain cell that player 0's token lands on
+    victimPlayer = 1;
+    mover = game.getToken(0, 0);
+    mover.setCurrentPosition(14);
+    int landing = mover.getGlobalPosition();
+    victimPosition = Math.floorMod(landing - game.getSeatColor(victimPlayer).getGlobalPosition(), trackLength);
+  }
+
+  @Benchmark
+  public boolean isValidMove() {
+    return ludoRule.isValidMove(game, 0, 0);
+  }
+
+  @Benchmark
+  public boolean cutIfPossible() {
+    // Put the victim back each time; one extra index update on top of the cut
+    game.setTokenPosition(victimPlayer, 0, victimPosition);
+    return ludoRule.cutIfPossible(game, mover);
+  }
+
+  @Benchmark
+  public int changeTurn() {
+    ludoRule.changeTurn(game);
+    return game.getCurrentPlayerIndex();
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.Ludo.benchmark;
+
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.GameStateMapper;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Building the response DTO, done once per request and push. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+  @Param({"2", "4"})
+  int players;
+
+  @Param({"0", "50", "100"})
+  int fillPercent;
+
+  private GameState game;
+
+  @Setup
+  public void setUp() {
+    game = BenchmarkGames.startedGame("BENCH", players, fillPercent, 42L);
+    game.getCurrentDiceRolls().add(6);
+    game.getCurrentDiceRolls().add(2);
+  }
+
+  @Benchmark
+  public GameStateDTO mapToDTO() {
+    return GameStateMapper.mapToDTO(game);
+  }
+}
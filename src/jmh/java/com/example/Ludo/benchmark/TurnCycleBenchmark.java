@@ -0,0 +1,177 @@
+package com.example.Ludo.benchmark;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
+
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.DiceRolls;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.service.BotPlayers;
+import com.example.Ludo.metadata.core.service.DiceService;
+import com.example.Ludo.metadata.core.service.GameActorExecutor;
+import com.example.Ludo.metadata.core.service.GameEventPublisher;
+import com.example.Ludo.metadata.core.service.GameEvictionService;
+import com.example.Ludo.metadata.core.service.GameIdAllocator;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.service.GameService;
+import com.example.Ludo.metadata.core.service.GameStateJson;
+import com.example.Ludo.metadata.core.service.GameStateWaiters;
+import com.example.Ludo.metadata.core.service.LudoRule;
+import com.example.Ludo.metadata.core.service.PlayerService;
+import com.example.Ludo.metadata.core.service.TokenService;
+import com.example.Ludo.metadata.core.service.TurnTimers;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * One step of a real game through {@link GameService}: a roll, or a move when the player holds a
+ * usable die. Goes through the mailboxes, store, mapper, serialization and a push into a discarding
+ * channel, i.e. everything but HTTP. Each benchmark thread plays its own game; run with several thread
+ * counts to see how games scale across the actor pool.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TurnCycleBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Server {
+    GameService gameService;
+    GameStore gameStore;
+    GameActorExecutor gameActors;
+    TurnTimers turnTimers;
+
+    @Setup
+    public void setUp() {
+      gameActors = new GameActorExecutor(0);
+      gameStore = new InMemoryGameStore();
+      GameIdAllocator gameIdAllocator = new GameIdAllocator(5);
+
+      SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+      GameEventPublisher publisher = new GameEventPublisher();
+      ReflectionTestUtils.setField(publisher, "messagingTemplate", template);
+      GameStateWaiters waiters = new GameStateWaiters();
+      ReflectionTestUtils.setField(publisher, "gameStateWaiters", waiters);
+
+      gameService = new GameService();
+      ReflectionTestUtils.setField(gameService, "ludoRule", new LudoRule());
+      ReflectionTestUtils.setField(gameService, "playerService", new PlayerService());
+      ReflectionTestUtils.setField(gameService, "diceService", new DiceService());
+      ReflectionTestUtils.setField(gameService, "tokenService", new TokenService());
+      ReflectionTestUtils.setField(gameService, "gameEventPublisher", publisher);
+      ReflectionTestUtils.setField(gameService, "gameActors", gameActors);
+      ReflectionTestUtils.setField(gameService, "gameStore", gameStore);
+      ReflectionTestUtils.setField(gameService, "gameIdAllocator", gameIdAllocator);
+      ReflectionTestUtils.setField(
+          gameService, "gameMetrics", new GameMetrics(new SimpleMeterRegistry(), gameStore));
+      ReflectionTestUtils.setField(gameService, "gameStateJson", new GameStateJson(new ObjectMapper()));
+      ReflectionTestUtils.setField(gameService, "gameStateWaiters", waiters);
+      ReflectionTestUtils.setField(gameService, "botPlayers", new BotPlayers(1, 1, 1));
+      turnTimers = new TurnTimers(gameStore, gameActors, true, 30_000, 100, "play");
+      ReflectionTestUtils.setField(turnTimers, "gameService", gameService);
+      ReflectionTestUtils.setField(gameService, "turnTimers", turnTimers);
+      turnTimers.start();
+      ReflectionTestUtils.setField(
+          gameService,
+          "gameEviction",
+          new GameEvictionService(
+              gameStore,
+              gameActors,
+              gameIdAllocator,
+              turnTimers,
+              waiters,
+              Optional.empty(),
+              30,
+              120,
+              10,
+              1_000_000,
+              30_000));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+      turnTimers.stop();
+      gameActors.shutdown();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Table {
+    @Param({"2", "3", "4"})
+    int players;
+
+    String gameId;
+    GameState game;
+
+    @Setup(Level.Iteration)
+    public void newGame(Server server) {
+      if (gameId != null) {
+        server.gameStore.remove(gameId);
+        server.gameActors.release(gameId);
+      }
+      gameId = server.gameService.createGame().getGameId();
+      for (int p = 0; p < players; p++) {
+        server.gameService.addPlayer(gameId, "Player " + p);
+      }
+      server.gameService.startGame(gameId);
+      game = server.gameStore.find(gameId);
+    }
+  }
+
+  @Benchmark
+  public GameStateDTO turnStep(Server server, Table table) {
+    GameState game = table.game;
+    if (game.isEnd()) {
+      table.newGame(server);
+      game = table.game;
+    }
+    int player = game.getCurrentPlayerIndex();
+    DiceRolls rolls = game.getCurrentDiceRolls();
+    if (mustRoll(rolls)) {
+      return server.gameService.rollTheDice(table.gameId, player);
+    }
+    int token = movableToken(game, player, rolls.getMove(rolls.firstUnused()));
+    if (token < 0) {
+      // The rules have no pass for a blocked hand; start over rather than benchmark an exception
+      table.newGame(server);
+      return null;
+    }
+    return server.gameService.moveTheToken(table.gameId, player, token);
+  }
+
+  // Same conditions GameService applies: roll on an empty hand or while holding only sixes
+  private static boolean mustRoll(DiceRolls rolls) {
+    return !rolls.hasUnused() || rolls.countSixes() == rolls.size() && rolls.size() < 3;
+  }
+
+  private static int movableToken(GameState game, int player, int move) {
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      int position = game.getTokenPosition(player, t);
+      if (position < 0 ? move == 6 : position + move <= endPosition) {
+        return t;
+      }
+    }
+    return -1;
+  }
+}
@@ -1,12 +1,16 @@
 package com.example.Ludo;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class LudoApplication {
+  private static final Logger logger = LoggerFactory.getLogger(LudoApplication.class);
+
   public static void main(String[] args) {
     SpringApplication.run(LudoApplication.class, args);
-    System.out.println("Ludo application started Successfully");
+    logger.info("Ludo application started Successfully");
   }
 }
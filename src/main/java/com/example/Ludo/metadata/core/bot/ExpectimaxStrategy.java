@@ -0,0 +1,185 @@
+package com.example.Ludo.metadata.core.bot;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.homeColumnStart;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.trackLength;
+
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.model.DiceRolls;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
+import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.core.simulation.BuiltInStrategy;
+import com.example.Ludo.metadata.core.simulation.PlayerStrategy;
+import com.example.Ludo.metadata.core.simulation.TurnSteps;
+import java.util.SplittableRandom;
+
+/**
+ * Picks a token by expectimax search over future dice, with iterative deepening under a hard time
+ * budget. Rolls are chance nodes (each face 1/6); the bot's own choices maximise and opponents'
+ * choices minimise its evaluation. Positions are advanced with {@link TurnSteps}, so the search
+ * only ever considers moves the server would accept.
+ *
+ * <p>Each completed depth replaces the answer of the previous one; when the budget runs out the
+ * unfinished depth is dropped. If not even depth 1 completes, {@link BuiltInStrategy#AGGRESSIVE}
+ * decides. Any other exception is a bug in the search and is thrown to the caller.
+ */
+public final class ExpectimaxStrategy implements PlayerStrategy {
+  private static final int MAX_DEPTH = 16;
+  private static final double WIN = 10_000;
+  // A token out of the yard is worth this much before it moves a cell; getting out takes a six
+  private static final double OUT_OF_YARD = 15;
+  // Rough chance an exposed token is hit per opponent token within reach
+  private static final double THREAT_SHARE = 1.0 / 6;
+  // Thrown, without a stack trace, to unwind a search that ran out of time
+  private static final OutOfTime OUT_OF_TIME = new OutOfTime();
+
+  private final TurnSteps steps;
+  private final long budgetNanos;
+
+  public ExpectimaxStrategy(long budgetNanos) {
+    this(new TurnSteps(), budgetNanos);
+  }
+
+  public ExpectimaxStrategy(TurnSteps steps, long budgetNanos) {
+    this.steps = steps;
+    this.budgetNanos = budgetNanos;
+  }
+
+  @Override
+  public int chooseToken(
+      GameState game, int playerIndex, int move, int movable, SplittableRandom random) {
+    int best = BuiltInStrategy.AGGRESSIVE.chooseToken(game, playerIndex, move, movable, random);
+    if (Integer.bitCount(movable) == 1) {
+      return best;
+    }
+    long deadline = System.nanoTime() + budgetNanos;
+    try {
+      for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+        best = searchRoot(game, playerIndex, movable, depth, deadline);
+      }
+    } catch (OutOfTime e) {
+      // Keep the last complete answer
+    }
+    return best;
+  }
+
+  private int searchRoot(GameState game, int me, int movable, int depth, long deadline) {
+    int best = -1;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      if ((movable & (1 << t)) == 0) {
+        continue;
+      }
+      GameState child = copy(game);
+      steps.move(child, t);
+      double value = value(child, me, depth - 1, deadline);
+      if (value > bestValue) {
+        best = t;
+        bestValue = value;
+      }
+    }
+    return best;
+  }
+
+  private double value(GameState game, int me, int depth, long deadline) {
+    if (System.nanoTime() > deadline) {
+      throw OUT_OF_TIME;
+    }
+    if (depth == 0 || game.isEnd() || hasWon(game, me)) {
+      return evaluate(game, me);
+    }
+    int player = game.getCurrentPlayerIndex();
+    DiceRolls dice = game.getCurrentDiceRolls();
+    if (dice.mustRoll()) {
+      double sum = 0;
+      for (int face = 1; face <= 6; face++) {
+        GameState child = copy(game);
+        steps.roll(child, face);
+        sum += value(child, me, depth - 1, deadline);
+      }
+      return sum / 6;
+    }
+
+    int movable = game.getMovableTokens();
+    boolean maximise = player == me;
+    double best = maximise ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      if ((movable & (1 << t)) != 0) {
+        GameState child = copy(game);
+        steps.move(child, t);
+        double value = value(child, me, depth - 1, deadline);
+        best = maximise ? Math.max(best, value) : Math.min(best, value);
+      }
+    }
+    return best;
+  }
+
+  /** The bot's standing minus that of its strongest opponent. */
+  static double evaluate(GameState game, int me) {
+    if (hasWon(game, me)) {
+      return WIN - game.getWinners().indexOf(game.getPlayers().get(me));
+    }
+    double strongest = 0;
+    for (int p = 0; p < game.getPlayers().size(); p++) {
+      if (p != me) {
+        strongest = Math.max(strongest, standing(game, p));
+      }
+    }
+    return standing(game, me) - strongest;
+  }
+
+  // Distance covered, with extra weight for leaving the yard and for tokens that cannot be cut,
+  // less a share of what a token stands to lose to an opponent up to six cells behind it
+  private static double standing(GameState game, int seat) {
+    double score = 0;
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      int position = game.getTokenPosition(seat, t);
+      if (position < 0) {
+        continue;
+      }
+      double worth = OUT_OF_YARD + position;
+      if (position == endPosition) {
+        score += worth + 20;
+      } else if (position >= homeColumnStart) {
+        score += worth + 10;
+      } else {
+        int cell = Token.globalPosition(game.getSeatColor(seat), position);
+        if (ApplicationConstants.isSafeCell(cell)) {
+          score += worth + 4;
+        } else {
+          score += worth * (1 - THREAT_SHARE * threats(game, seat, cell));
+        }
+      }
+    }
+    return score;
+  }
+
+  // Opponent tokens one to six cells behind a track cell
+  private static int threats(GameState game, int seat, int cell) {
+    int threats = 0;
+    for (int distance = 1; distance <= 6; distance++) {
+      int behind = Math.floorMod(cell - distance, trackLength);
+      threats += Integer.bitCount(game.getCellOccupancy(behind) & ~GameState.seatMask(seat));
+    }
+    return Math.min(threats, 3);
+  }
+
+  private static boolean hasWon(GameState game, int seat) {
+    Player player = game.getPlayers().get(seat);
+    return game.getWinners().contains(player);
+  }
+
+  private static GameState copy(GameState game) {
+    GameState copy = new GameState(game.getGameId());
+    copy.copyFrom(game);
+    return copy;
+  }
+
+  private static final class OutOfTime extends RuntimeException {
+    OutOfTime() {
+      super("Search out of time", null, false, false);
+    }
+  }
+}
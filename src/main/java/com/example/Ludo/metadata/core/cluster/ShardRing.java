@@ -0,0 +1,155 @@
+package com.example.Ludo.metadata.core.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consistent-hash ring that maps every game id to the node that owns it. Each node is placed on
+ * the ring at {@code virtualNodes} points; a game belongs to the first point at or after its own
+ * hash. Adding or removing a node therefore only moves the games between its points and their
+ * predecessors, about {@code 1/n} of them.
+ *
+ * <p>Nodes are named by the base URL other nodes and clients reach them at, e.g. {@code
+ * http://localhost:8080}. Every node must be given the same list, in any order, and its own entry
+ * as {@code self}. With no list the ring has one node and {@link #owns} is a constant {@code true}.
+ *
+ * <p>The ring is immutable and built once; a lookup is one hash and a binary search over a sorted
+ * {@code long[]}, with no allocation.
+ */
+@Component
+public class ShardRing {
+  private static final Logger logger = LoggerFactory.getLogger(ShardRing.class);
+
+  private final List<String> nodes;
+  private final String self;
+  private final long[] points;
+  private final String[] owners;
+
+  /** A ring of one node, for tests and single-instance use. */
+  public ShardRing() {
+    this("", "", 1);
+  }
+
+  @Autowired
+  public ShardRing(
+      @Value("${ludo.cluster.nodes:}") String nodes,
+      @Value("${ludo.cluster.self:}") String self,
+      @Value("${ludo.cluster.virtual-nodes:160}") int virtualNodes) {
+    this(parse(nodes), normalize(self), virtualNodes);
+  }
+
+  public ShardRing(List<String> nodes, String self, int virtualNodes) {
+    if (virtualNodes < 1) {
+      throw new IllegalArgumentException("Virtual nodes must be positive: " + virtualNodes);
+    }
+    if (!nodes.isEmpty() && !nodes.contains(self)) {
+      throw new IllegalStateException(
+          "ludo.cluster.self (" + self + ") is not one of ludo.cluster.nodes " + nodes);
+    }
+    this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+    this.self = self;
+
+    int size = nodes.size() * virtualNodes;
+    long[] hashes = new long[size];
+    String[] byHash = new String[size];
+    int n = 0;
+    for (String node : nodes) {
+      for (int i = 0; i < virtualNodes; i++) {
+        hashes[n] = hash(node + '#' + i);
+        byHash[n++] = node;
+      }
+    }
+    // Sort points and carry their owners along; ties (vanishingly rare) go to the smaller name
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(
+        order,
+        (a, b) -> {
+          int c = Long.compare(hashes[a], hashes[b]);
+          return c != 0 ? c : byHash[a].compareTo(byHash[b]);
+        });
+    this.points = new long[size];
+    this.owners = new String[size];
+    for (int i = 0; i < size; i++) {
+      points[i] = hashes[order[i]];
+      owners[i] = byHash[order[i]];
+    }
+    if (isSharded()) {
+      logger.info("Sharding games across {} nodes as {}", nodes.size(), self);
+    }
+  }
+
+  public boolean isSharded() {
+    return nodes.size() > 1;
+  }
+
+  public String self() {
+    return self;
+  }
+
+  public List<String> nodes() {
+    return nodes;
+  }
+
+  /** Whether this node holds {@code gameId}. Always true when the ring has one node. */
+  public boolean owns(String gameId) {
+    return !isSharded() || self.equals(ownerOf(gameId));
+  }
+
+  /** Base URL of the node that holds {@code gameId}, or {@link #self()} on a one-node ring. */
+  public String ownerOf(String gameId) {
+    if (points.length == 0) {
+      return self;
+    }
+    int i = Arrays.binarySearch(points, hash(gameId));
+    if (i < 0) {
+      i = -i - 1;
+    }
+    return owners[i == points.length ? 0 : i];
+  }
+
+  // FNV-1a over the UTF-8 bytes, then MurmurHash3's finalizer so short ids spread over all 64 bits
+  static long hash(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static List<String> parse(String nodes) {
+    List<String> parsed = new ArrayList<>();
+    for (String node : nodes.split(",")) {
+      String normalized = normalize(node);
+      if (!normalized.isEmpty() && !parsed.contains(normalized)) {
+        parsed.add(normalized);
+      }
+    }
+    return parsed;
+  }
+
+  // Locations are built as owner + request path, so a trailing slash would double up
+  private static String normalize(String node) {
+    String trimmed = node.trim();
+    while (trimmed.endsWith("/")) {
+      trimmed = trimmed.substring(0, trimmed.length() - 1);
+    }
+    return trimmed;
+  }
+}
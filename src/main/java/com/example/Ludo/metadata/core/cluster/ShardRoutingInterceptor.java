@@ -0,0 +1,245 @@
+package com.example.Ludo.metadata.core.cluster;
+
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Sends a request for a game held by another node to that node, before any controller runs. A
+ * request is routed on its {@code gameId}, or failing that its matchmaking {@code ticketId}, which
+ * nodes likewise only issue for themselves. A request for a game or ticket this node owns, or one
+ * with neither, passes straight through: the check is a parameter read, a hash and a binary
+ * search, with no network hop.
+ *
+ * <p>In {@code redirect} mode (the default) the client gets a 307 to the same path on the owner,
+ * which keeps the method and body; clients that remember the owner from {@value #OWNER_HEADER}
+ * pay the redirect once per game. In {@code forward} mode this node proxies the request and
+ * relays the answer, for clients that cannot follow redirects. Long polls ({@code
+ * waitForVersion} and {@code GET /findGame}) are redirected in either mode, so a proxied wait does not hold a thread here for its whole timeout.
+ *
+ * <p>A proxied request carries {@value #FORWARDED_HEADER}; if it still lands on a node that does
+ * not own the game, the nodes disagree about the ring and it is answered with 421 rather than
+ * bounced again.
+ */
+@Component
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+  private static final Logger logger = LoggerFactory.getLogger(ShardRoutingInterceptor.class);
+  static final String OWNER_HEADER = "X-Ludo-Owner";
+  static final String FORWARDED_HEADER = "X-Ludo-Forwarded-By";
+  private static final String REDIRECT = "redirect";
+  private static final String FORWARD = "forward";
+  private static final String MISDIRECTED = "MISDIRECTED";
+  private static final String NODE_UNAVAILABLE = "NODE_UNAVAILABLE";
+  private static final byte[] MISDIRECTED_BODY =
+      ("{\"status\":421,\"error\":\"Misdirected Request\","
+              + "\"message\":\"Game is not held by this node\",\"errorCode\":\"MISDIRECTED\"}")
+          .getBytes(StandardCharsets.UTF_8);
+  private static final byte[] UNAVAILABLE_BODY =
+      ("{\"status\":502,\"error\":\"Bad Gateway\","
+              + "\"message\":\"Node holding the game is unavailable\",\"errorCode\":\"NODE_UNAVAILABLE\"}")
+          .getBytes(StandardCharsets.UTF_8);
+  // Copied to the owner; everything else (cookies, hop-by-hop headers) stays here
+  private static final List<String> REQUEST_HEADERS =
+      List.of(
+          HttpHeaders.ACCEPT,
+          HttpHeaders.AUTHORIZATION,
+          HttpHeaders.IF_MATCH,
+          HttpHeaders.IF_NONE_MATCH);
+  // Set by this node (CORS adds Vary) or its servlet container when the relayed answer is written
+  private static final Set<String> SKIPPED_RESPONSE_HEADERS =
+      Set.of(
+          "connection", "content-length", "date", "keep-alive", "transfer-encoding", "upgrade", "vary");
+
+  private final ShardRing shardRing;
+  private final GameMetrics gameMetrics;
+  private final boolean forward;
+  private final Duration forwardTimeout;
+  private final HttpClient httpClient;
+
+  public ShardRoutingInterceptor(
+      ShardRing shardRing,
+      GameMetrics gameMetrics,
+      @Value("${ludo.cluster.routing:redirect}") String routing,
+      @Value("${ludo.cluster.forward-timeout-ms:10000}") long forwardTimeoutMs) {
+    String mode = routing.trim().toLowerCase(Locale.ROOT);
+    if (!REDIRECT.equals(mode) && !FORWARD.equals(mode)) {
+      throw new IllegalArgumentException("ludo.cluster.routing must be redirect or forward: " + routing);
+    }
+    this.shardRing = shardRing;
+    this.gameMetrics = gameMetrics;
+    this.forward = FORWARD.equals(mode);
+    this.forwardTimeout = Duration.ofMillis(forwardTimeoutMs);
+    this.httpClient =
+        forward
+            ? HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(forwardTimeout)
+                .build()
+            : null;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    if (!shardRing.isSharded()
+        || request.getDispatcherType() != DispatcherType.REQUEST
+        || !(handler instanceof HandlerMethod)) {
+      return true;
+    }
+    String gameId = request.getParameter("gameId");
+    String key = gameId != null ? gameId : request.getParameter("ticketId");
+    if (key == null) {
+      return true;
+    }
+    String owner = shardRing.ownerOf(key);
+    if (owner.equals(shardRing.self())) {
+      return true;
+    }
+
+    if (request.getHeader(FORWARDED_HEADER) != null) {
+      logger.warn(
+          "{} forwarded here by {} but owned by {}; are the ring configs the same?",
+          key,
+          request.getHeader(FORWARDED_HEADER),
+          owner);
+      gameMetrics.rejected(MISDIRECTED);
+      write(response, 421, MISDIRECTED_BODY);
+      return false;
+    }
+    response.setHeader(OWNER_HEADER, owner);
+    boolean longPoll =
+        gameId != null
+            ? request.getParameter("waitForVersion") != null
+            : HttpMethod.GET.matches(request.getMethod());
+    if (forward && !longPoll) {
+      forward(request, response, key, owner);
+    } else {
+      redirect(request, response, key, owner);
+    }
+    return false;
+  }
+
+  private void redirect(
+      HttpServletRequest request, HttpServletResponse response, String key, String owner) {
+    String query = request.getQueryString();
+    String location = owner + request.getRequestURI() + (query == null ? "" : "?" + query);
+    logger.debug("Redirecting {} to {}", key, owner);
+    gameMetrics.routed(REDIRECT);
+    response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+    response.setHeader(HttpHeaders.LOCATION, location);
+  }
+
+  private void forward(
+      HttpServletRequest request, HttpServletResponse response, String key, String owner)
+      throws IOException {
+    // A form body was consumed by getParameter, so its fields travel in the query string instead
+    boolean form = isForm(request);
+    String query = form ? encode(request.getParameterMap()) : request.getQueryString();
+    byte[] body = form ? new byte[0] : request.getInputStream().readAllBytes();
+
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(
+                URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query)))
+            .timeout(forwardTimeout)
+            .method(
+                request.getMethod(),
+                body.length == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body))
+            .header(FORWARDED_HEADER, shardRing.self());
+    for (String name : REQUEST_HEADERS) {
+      String value = request.getHeader(name);
+      if (value != null) {
+        builder.header(name, value);
+      }
+    }
+    if (body.length > 0 && request.getContentType() != null) {
+      builder.header(HttpHeaders.CONTENT_TYPE, request.getContentType());
+    }
+
+    HttpResponse<byte[]> answer;
+    try {
+      answer = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    } catch (IOException | InterruptedException e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      logger.warn("Forwarding {} to {} failed: {}", key, owner, e.toString());
+      gameMetrics.rejected(NODE_UNAVAILABLE);
+      write(response, HttpStatus.BAD_GATEWAY.value(), UNAVAILABLE_BODY);
+      return;
+    }
+
+    logger.debug("Forwarded {} to {}: {}", key, owner, answer.statusCode());
+    gameMetrics.routed(FORWARD);
+    response.setStatus(answer.statusCode());
+    answer
+        .headers()
+        .map()
+        .forEach(
+            (name, values) -> {
+              if (!SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> response.addHeader(name, value));
+              }
+            });
+    response.setContentLength(answer.body().length);
+    response.getOutputStream().write(answer.body());
+  }
+
+  private static boolean isForm(HttpServletRequest request) {
+    String contentType = request.getContentType();
+    return contentType != null
+        && contentType
+            .toLowerCase(Locale.ROOT)
+            .startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+  }
+
+  private static String encode(Map<String, String[]> parameters) {
+    StringBuilder query = new StringBuilder();
+    parameters.forEach(
+        (name, values) -> {
+          for (String value : values) {
+            if (query.length() > 0) {
+              query.append('&');
+            }
+            query
+                .append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+          }
+        });
+    return query.length() == 0 ? null : query.toString();
+  }
+
+  private static void write(HttpServletResponse response, int status, byte[] body)
+      throws IOException {
+    response.setStatus(status);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+}
@@ -1,15 +1,26 @@
 package com.example.Ludo.metadata.core.config;
 
+import com.example.Ludo.metadata.core.cluster.ShardRoutingInterceptor;
+import com.example.Ludo.metadata.core.ratelimit.RateLimitInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig {
     @Bean
-    public WebMvcConfigurer corsConfigurer() {
+    public WebMvcConfigurer corsConfigurer(
+            ShardRoutingInterceptor shardRoutingInterceptor, RateLimitInterceptor rateLimitInterceptor) {
         return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // Routing first: another node's game is charged against that node's limits
+                registry.addInterceptor(shardRoutingInterceptor);
+                registry.addInterceptor(rateLimitInterceptor);
+            }
+
             @Override
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
@@ -23,6 +34,8 @@ public class WebConfig {
                         )
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        // Read by browser clients: state caching, shard routing, rate-limit backoff
+                        .exposedHeaders("ETag", "X-Ludo-Owner", "Retry-After")
                         .allowCredentials(true)
                         .maxAge(3600); // Cache preflight response for 1 hour
             }
@@ -0,0 +1,38 @@
+package com.example.Ludo.metadata.core.config;
+
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket. Clients connect to {@code /ludo/ws} and subscribe to
+ * {@code /topic/games/{gameId}} to receive the game state after every change, instead of polling
+ * {@code /getGameState}.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+  @Override
+  public void registerStompEndpoints(StompEndpointRegistry registry) {
+    registry
+        .addEndpoint(ApplicationConstants.webSocketEndpoint)
+        .setAllowedOrigins(
+            "http://localhost:5173", // Development frontend
+            "http://localhost:5175", // Current frontend port
+            "http://localhost:3000", // Alternative dev port
+            "http://localhost:8080", // Alternative dev port
+            "https://your-frontend-domain.com", // Production frontend
+            "https://www.your-frontend-domain.com" // Production with www
+            );
+  }
+
+  @Override
+  public void configureMessageBroker(MessageBrokerRegistry registry) {
+    registry.enableSimpleBroker("/topic");
+    registry.setApplicationDestinationPrefixes("/app");
+  }
+}
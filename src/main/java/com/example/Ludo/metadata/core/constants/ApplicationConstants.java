@@ -5,8 +5,35 @@ import java.util.*;
 public class ApplicationConstants {
   public static final int endPosition = 57;
   public static final int firePosition = 56;
+  public static final int trackLength = 52;
+  // First position of a seat's own home column; tokens from here on are off the shared track
+  public static final int homeColumnStart = trackLength - 1;
   public static final HashSet<Integer> SafeCells =
       new HashSet<>(Arrays.asList(0, 8, 13, 21, 26, 34, 39, 47));
+  // SafeCells as a lookup table, so the hot path needs no boxing or hashing
+  private static final boolean[] safeCellTable = new boolean[trackLength];
+
+  static {
+    for (int cell : SafeCells) {
+      safeCellTable[cell] = true;
+    }
+  }
   public static final List<String> colors = Arrays.asList("GREEN", "BLUE", "RED", "YELLOW");
   public static final int maxPlayersFour = 4;
+  public static final int tokensPerPlayer = 4;
+  public static final String webSocketEndpoint = "/ludo/ws";
+  public static final String gameTopicPrefix = "/topic/games/";
+  public static final String matchmakingTopicPrefix = "/topic/matchmaking/";
+  // Published versions an action can still answer with a delta against; older bases get the full state
+  public static final int deltaHistoryVersions = 16;
+  // Most actions one batch request may apply; a batch holds its game's mailbox until it is done
+  public static final int maxBatchActions = 32;
+  // Most history events one page may return
+  public static final int maxHistoryPage = 500;
+  // Most actions played for a seat whose turn timed out; a turn is rarely more than six
+  public static final int maxTimedOutSteps = 16;
+
+  public static boolean isSafeCell(int globalCell) {
+    return globalCell >= 0 && globalCell < trackLength && safeCellTable[globalCell];
+  }
 }
@@ -1,92 +1,253 @@
 package com.example.Ludo.metadata.core.controllers;
 
+import com.example.Ludo.metadata.core.dto.GameActionDTO;
+import com.example.Ludo.metadata.core.dto.GameHistoryPageDTO;
 import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.GameStateDeltaDTO;
+import com.example.Ludo.metadata.core.dto.MatchTicketDTO;
+import com.example.Ludo.metadata.core.matchmaking.Matchmaker;
+import com.example.Ludo.metadata.core.model.GameSnapshot;
+import com.example.Ludo.metadata.core.ratelimit.RateLimited;
+import com.example.Ludo.metadata.core.ratelimit.RateLimited.KeyedBy;
 import com.example.Ludo.metadata.core.service.GameService;
+import com.example.Ludo.metadata.exception.RejectionResponses;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("ludo/backend/v1")
 @RequiredArgsConstructor
 public class GameControllers {
+  private static final Logger logger = LoggerFactory.getLogger(GameControllers.class);
 
   private final GameService gameService;
+  private final Matchmaker matchmaker;
+  private final RejectionResponses rejectionResponses;
+
+  @Value("${ludo.longpoll.timeout-ms:25000}")
+  private long longPollTimeoutMs;
 
   @GetMapping("/createGame")
+  @RateLimited(endpoint = "createGame", keyedBy = KeyedBy.CLIENT)
   ResponseEntity<GameStateDTO> createGame() {
-    System.out.println("🎮 Create game request");
-    try {
-      GameStateDTO result = gameService.createGame();
-      System.out.println("✅ Game created: " + result.getGameId());
-      return ResponseEntity.ok().body(result);
-    } catch (Exception e) {
-      System.out.println("❌ Create game failed: " + e.getMessage());
-      throw e;
-    }
+    GameStateDTO result = gameService.createGame();
+    logger.info("Game created: {}", result.getGameId());
+    return ResponseEntity.ok().body(result);
+  }
+
+  // Matchmaking: queue for a table of `players` seats instead of creating and filling a lobby
+  @PostMapping("/findGame")
+  @RateLimited(endpoint = "findGame", keyedBy = KeyedBy.CLIENT)
+  ResponseEntity<MatchTicketDTO> findGame(
+      @RequestParam String playerName, @RequestParam(defaultValue = "4") int players) {
+    return ResponseEntity.ok(matchmaker.join(playerName, players));
+  }
+
+  // Long poll: answers once the ticket is matched or cancelled, or with WAITING on timeout
+  @GetMapping("/findGame")
+  @RateLimited(endpoint = "findGame", keyedBy = KeyedBy.CLIENT)
+  DeferredResult<ResponseEntity<MatchTicketDTO>> awaitMatch(@RequestParam String ticketId) {
+    return ticketOutcome(ticketId, matchmaker.await(ticketId));
+  }
+
+  // Answers once the cancel lands, which is at once unless the ticket's table is being formed;
+  // held without a thread meanwhile, with WAITING on timeout
+  @DeleteMapping("/findGame")
+  @RateLimited(endpoint = "findGame", keyedBy = KeyedBy.CLIENT)
+  DeferredResult<ResponseEntity<MatchTicketDTO>> cancelFindGame(@RequestParam String ticketId) {
+    return ticketOutcome(ticketId, matchmaker.cancel(ticketId));
+  }
+
+  private DeferredResult<ResponseEntity<MatchTicketDTO>> ticketOutcome(
+      String ticketId, CompletableFuture<MatchTicketDTO> outcome) {
+    DeferredResult<ResponseEntity<MatchTicketDTO>> result =
+        new DeferredResult<>(longPollTimeoutMs);
+    result.onTimeout(() -> result.setResult(ResponseEntity.ok(matchmaker.status(ticketId))));
+    outcome.thenAccept(ticket -> result.setResult(ResponseEntity.ok(ticket)));
+    return result;
   }
 
   @PostMapping("/addPlayer")
+  @RateLimited(endpoint = "join", keyedBy = KeyedBy.GAME)
   ResponseEntity<GameStateDTO> addPlayer(
       @RequestParam String gameId, @RequestParam String playerName) {
-    System.out.println("👤 Add player: " + playerName);
-    try {
-      GameStateDTO result = gameService.addPlayer(gameId, playerName);
-      System.out.println("✅ Player added - total: " + result.getPlayers().size());
-      return ResponseEntity.ok(result);
-    } catch (Exception e) {
-      System.out.println("❌ Add player failed: " + e.getMessage());
-      throw e;
-    }
+    logger.debug("Add player {} to game {}", playerName, gameId);
+    return ResponseEntity.ok(gameService.addPlayer(gameId, playerName));
+  }
+
+  // Actions sent with baseVersion answer with only what changed since that version. The epoch
+  // names the game the client holds it of; without one it is taken to be the current game's.
+  @PostMapping(value = "/addPlayer", params = "baseVersion")
+  @RateLimited(endpoint = "join", keyedBy = KeyedBy.GAME)
+  ResponseEntity<GameStateDeltaDTO> addPlayerDelta(
+      @RequestParam String gameId,
+      @RequestParam String playerName,
+      @RequestParam long baseVersion,
+      @RequestParam(required = false) Integer epoch) {
+    logger.debug("Add player {} to game {}", playerName, gameId);
+    return ResponseEntity.ok(gameService.addPlayer(gameId, playerName, baseVersion, epoch));
+  }
+
+  @PostMapping("/addBot")
+  @RateLimited(endpoint = "join", keyedBy = KeyedBy.GAME)
+  ResponseEntity<GameStateDTO> addBot(@RequestParam String gameId) {
+    logger.debug("Add bot to game {}", gameId);
+    return ResponseEntity.ok(gameService.addBot(gameId));
   }
 
   @PostMapping("/startGame")
+  @RateLimited(endpoint = "join", keyedBy = KeyedBy.GAME)
   ResponseEntity<GameStateDTO> startGame(@RequestParam String gameId) {
-    System.out.println("🚀 Start game: " + gameId);
-    try {
-      GameStateDTO result = gameService.startGame(gameId);
-      System.out.println("✅ Game started");
-      return ResponseEntity.ok(result);
-    } catch (Exception e) {
-      System.out.println("❌ Start game failed: " + e.getMessage());
-      throw e;
-    }
+    logger.debug("Start game {}", gameId);
+    return ResponseEntity.ok(gameService.startGame(gameId));
+  }
+
+  @PostMapping(value = "/startGame", params = "baseVersion")
+  @RateLimited(endpoint = "join", keyedBy = KeyedBy.GAME)
+  ResponseEntity<GameStateDeltaDTO> startGameDelta(
+      @RequestParam String gameId,
+      @RequestParam long baseVersion,
+      @RequestParam(required = false) Integer epoch) {
+    logger.debug("Start game {}", gameId);
+    return ResponseEntity.ok(gameService.startGame(gameId, baseVersion, epoch));
   }
 
+  // Rules violations come back as rejected results, answered from preserialized error bodies
   @PostMapping("/rollDice/playerIndex")
-  ResponseEntity<GameStateDTO> rollDice(
-      @RequestParam String gameId, @RequestParam Integer playerIndex) {
-    try {
-      GameStateDTO result = gameService.rollTheDice(gameId, playerIndex);
-      return ResponseEntity.ok(result);
-    } catch (Exception e) {
-      System.out.println("❌ Roll dice failed: " + e.getMessage());
-      throw e;
-    }
+  @RateLimited(endpoint = "rollDice")
+  ResponseEntity<?> rollDice(@RequestParam String gameId, @RequestParam Integer playerIndex) {
+    return rejectionResponses.respond(gameService.tryRollTheDice(gameId, playerIndex));
   }
 
   @PostMapping("/moveToken/playerIndex")
-  ResponseEntity<GameStateDTO> moveToken(
+  @RateLimited(endpoint = "moveToken")
+  ResponseEntity<?> moveToken(
       @RequestParam String gameId,
       @RequestParam Integer playerIndex,
       @RequestParam Integer tokenIndex) {
-    try {
-      GameStateDTO result = gameService.moveTheToken(gameId, playerIndex, tokenIndex);
-      return ResponseEntity.ok(result);
-    } catch (Exception e) {
-      System.out.println("❌ Move token failed: " + e.getMessage());
-      throw e;
-    }
+    return rejectionResponses.respond(
+        gameService.tryMoveTheToken(gameId, playerIndex, tokenIndex));
+  }
+
+  @PostMapping(value = "/rollDice/playerIndex", params = "baseVersion")
+  @RateLimited(endpoint = "rollDice")
+  ResponseEntity<?> rollDiceDelta(
+      @RequestParam String gameId,
+      @RequestParam Integer playerIndex,
+      @RequestParam long baseVersion,
+      @RequestParam(required = false) Integer epoch) {
+    return rejectionResponses.respond(
+        gameService.tryRollTheDice(gameId, playerIndex, baseVersion, epoch));
   }
 
+  @PostMapping(value = "/moveToken/playerIndex", params = "baseVersion")
+  @RateLimited(endpoint = "moveToken")
+  ResponseEntity<?> moveTokenDelta(
+      @RequestParam String gameId,
+      @RequestParam Integer playerIndex,
+      @RequestParam Integer tokenIndex,
+      @RequestParam long baseVersion,
+      @RequestParam(required = false) Integer epoch) {
+    return rejectionResponses.respond(
+        gameService.tryMoveTheToken(gameId, playerIndex, tokenIndex, baseVersion, epoch));
+  }
+
+  // Rolls and moves applied in order as one command; all or nothing, one response for the lot
+  @PostMapping("/batch")
+  @RateLimited(endpoint = "batch", keyedBy = KeyedBy.GAME)
+  ResponseEntity<?> batch(@RequestParam String gameId, @RequestBody List<GameActionDTO> actions) {
+    return rejectionResponses.respond(gameService.tryApplyActions(gameId, actions));
+  }
+
+  @PostMapping(value = "/batch", params = "baseVersion")
+  @RateLimited(endpoint = "batch", keyedBy = KeyedBy.GAME)
+  ResponseEntity<?> batchDelta(
+      @RequestParam String gameId,
+      @RequestParam long baseVersion,
+      @RequestParam(required = false) Integer epoch,
+      @RequestBody List<GameActionDTO> actions) {
+    return rejectionResponses.respond(
+        gameService.tryApplyActions(gameId, actions, baseVersion, epoch));
+  }
+
+  // Writes the cached JSON of the current version as is, with no mapping or serialization. The
+  // ETag names that version of this game, so a client that already has it gets an empty 304.
   @GetMapping("/getGameState")
-  ResponseEntity<GameStateDTO> getGameState(@RequestParam String gameId) {
-    try {
-      GameStateDTO result = gameService.getGameState(gameId);
-      return ResponseEntity.ok(result);
-    } catch (Exception e) {
-      System.out.println("❌ Get game state failed: " + e.getMessage());
-      throw e;
-    }
+  @RateLimited(endpoint = "getGameState", keyedBy = KeyedBy.GAME)
+  ResponseEntity<byte[]> getGameState(@RequestParam String gameId) {
+    return snapshotResponse(gameId, gameService.getGameStateSnapshot(gameId));
+  }
+
+  // Long poll: held, without a thread, until the game moves past waitForVersion; 304 on timeout.
+  // Without an epoch the client is taken to hold the current game's, as older clients do.
+  @GetMapping(value = "/getGameState", params = "waitForVersion")
+  @RateLimited(endpoint = "getGameState", keyedBy = KeyedBy.GAME)
+  DeferredResult<ResponseEntity<byte[]>> waitForGameState(
+      @RequestParam String gameId,
+      @RequestParam long waitForVersion,
+      @RequestParam(required = false) Integer epoch) {
+    int knownEpoch = epoch != null ? epoch : gameService.getGameStateSnapshot(gameId).getEpoch();
+    CompletableFuture<GameSnapshot> next =
+        gameService.awaitGameState(gameId, knownEpoch, waitForVersion);
+    DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(longPollTimeoutMs);
+    result.onTimeout(
+        () -> {
+          result.setResult(
+              ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                  .eTag(eTag(gameId, knownEpoch, waitForVersion))
+                  .build());
+          next.cancel(false);
+        });
+    next.thenAccept(snapshot -> result.setResult(snapshotResponse(gameId, snapshot)));
+    // A game dropped while we wait ends the poll through the exception handlers: a 404
+    next.exceptionally(
+        error -> {
+          result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+          return null;
+        });
+    return result;
+  }
+
+  // The game as it was at an earlier version, replayed from its history
+  @GetMapping(value = "/getGameState", params = "atVersion")
+  @RateLimited(endpoint = "getHistory", keyedBy = KeyedBy.GAME)
+  ResponseEntity<GameStateDTO> getGameStateAt(
+      @RequestParam String gameId, @RequestParam long atVersion) {
+    return ResponseEntity.ok(gameService.getGameStateAt(gameId, atVersion));
+  }
+
+  // Pages through every roll, move, cut and turn change of a game, oldest first
+  @GetMapping("/getHistory")
+  @RateLimited(endpoint = "getHistory", keyedBy = KeyedBy.GAME)
+  ResponseEntity<GameHistoryPageDTO> getHistory(
+      @RequestParam String gameId,
+      @RequestParam(defaultValue = "0") int from,
+      @RequestParam(defaultValue = "100") int limit) {
+    return ResponseEntity.ok(gameService.getHistory(gameId, from, limit));
+  }
+
+  // Spring answers 304 itself when If-None-Match matches this ETag
+  private static ResponseEntity<byte[]> snapshotResponse(String gameId, GameSnapshot snapshot) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .cacheControl(CacheControl.noCache())
+        .eTag(eTag(gameId, snapshot.getEpoch(), snapshot.getVersion()))
+        .body(snapshot.getJson());
+  }
+
+  // The epoch keeps a game that reused an evicted game's code from matching that game's ETags
+  private static String eTag(String gameId, int epoch, long version) {
+    return "\"" + gameId + "-" + Integer.toHexString(epoch) + "-" + version + "\"";
   }
 }
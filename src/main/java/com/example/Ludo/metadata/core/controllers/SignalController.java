@@ -1,16 +1,18 @@
 package com.example.Ludo.metadata.core.controllers;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class SignalController {
+  private static final Logger logger = LoggerFactory.getLogger(SignalController.class);
 
   @PostMapping("/callBackURL")
   public String getMethod(@RequestBody String s) {
-
-    System.out.println(s);
+    logger.info("Callback received: {}", s);
     return s;
   }
 }
@@ -0,0 +1,17 @@
+package com.example.Ludo.metadata.core.dice;
+
+import com.example.Ludo.metadata.core.interfaces.DiceSource;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Per-thread generator: no shared seed to contend on and nothing allocated per roll. The default. */
+@Component
+@ConditionalOnProperty(name = "ludo.dice.source", havingValue = "fast", matchIfMissing = true)
+public class FastDiceSource implements DiceSource {
+  @Override
+  public int roll(GameState game) {
+    return ThreadLocalRandom.current().nextInt(6) + 1;
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.Ludo.metadata.core.dice;
+
+import com.example.Ludo.metadata.core.interfaces.DiceSource;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.security.SecureRandom;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Unpredictable dice, for games where players could gain from predicting rolls. Slower than the
+ * fast source: one shared, synchronized {@link SecureRandom}.
+ */
+@Component
+@ConditionalOnProperty(name = "ludo.dice.source", havingValue = "secure")
+public class SecureDiceSource implements DiceSource {
+  private final SecureRandom random = new SecureRandom();
+
+  @Override
+  public int roll(GameState game) {
+    return random.nextInt(6) + 1;
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.Ludo.metadata.core.dice;
+
+import com.example.Ludo.metadata.core.interfaces.DiceSource;
+import com.example.Ludo.metadata.core.model.GameState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deterministic dice for replays and tests. The n-th roll of a game is a pure function of the
+ * configured seed, the game id and n, so a game replays identically whatever else the server is
+ * doing, and no per-game generator has to be kept or persisted.
+ */
+@Component
+@ConditionalOnProperty(name = "ludo.dice.source", havingValue = "seeded")
+public class SeededDiceSource implements DiceSource {
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private final long seed;
+
+  public SeededDiceSource(@Value("${ludo.dice.seed:0}") long seed) {
+    this.seed = seed;
+  }
+
+  @Override
+  public int roll(GameState game) {
+    long stream = mix64(seed ^ mix64(game.getGameId().hashCode()));
+    long bits = mix64(stream + (game.getDiceRollCount() + 1) * GOLDEN_GAMMA);
+    // Top 32 bits scaled onto [0, 6)
+    return (int) (((bits >>> 32) * 6) >>> 32) + 1;
+  }
+
+  // SplittableRandom's finalizer: every input bit affects every output bit
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
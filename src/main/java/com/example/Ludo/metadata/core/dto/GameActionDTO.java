@@ -0,0 +1,17 @@
+package com.example.Ludo.metadata.core.dto;
+
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One step of a batch: a {@code ROLL} by a player, or a {@code MOVE} of one of their tokens. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameActionDTO {
+  private GameEventType type;
+  private Integer playerIndex;
+  // MOVE only
+  private Integer tokenIndex;
+}
@@ -0,0 +1,20 @@
+package com.example.Ludo.metadata.core.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * A page of a game's history, from event {@code from}. {@code next} is where the following page
+ * starts, absent once the page reaches the end of the history as it stands.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameHistoryPageDTO {
+  private String gameId;
+  private long version;
+  private int from;
+  private int total;
+  private Integer next;
+  private List<HistoryEventDTO> events;
+}
@@ -5,12 +5,19 @@ import java.util.Map;
 
 public class GameStateDTO {
   private String gameId;
+  private long version;
+  // Differs between games that reused a join code; compare it along with the version
+  private int epoch;
   private boolean started;
   private boolean end;
   private String currentPlayerId;
   private int currentPlayerIndex;
+  // Epoch millis at which the current turn times out and is played for the seat; null if none
+  private Long turnDeadline;
   private List<PlayerDTO> players;
   private List<DiceDTO> currentDiceRolls;
+  // Tokens the current player may move with the next die; empty while they must roll
+  private List<Integer> movableTokens;
   private List<PlayerDTO> winners;
   private Map<Integer, List<TokenDTO>> playerPositions;
   private LastDiceRollDTO lastDiceRoll; // New field for last dice roll
@@ -24,6 +31,22 @@ public class GameStateDTO {
     this.gameId = gameId;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public int getEpoch() {
+    return epoch;
+  }
+
+  public void setEpoch(int epoch) {
+    this.epoch = epoch;
+  }
+
   public boolean isStarted() {
     return started;
   }
@@ -56,6 +79,14 @@ public class GameStateDTO {
     this.currentPlayerIndex = currentPlayerIndex;
   }
 
+  public Long getTurnDeadline() {
+    return turnDeadline;
+  }
+
+  public void setTurnDeadline(Long turnDeadline) {
+    this.turnDeadline = turnDeadline;
+  }
+
   public List<PlayerDTO> getPlayers() {
     return players;
   }
@@ -72,6 +103,14 @@ public class GameStateDTO {
     this.currentDiceRolls = currentDiceRolls;
   }
 
+  public List<Integer> getMovableTokens() {
+    return movableTokens;
+  }
+
+  public void setMovableTokens(List<Integer> movableTokens) {
+    this.movableTokens = movableTokens;
+  }
+
   public List<PlayerDTO> getWinners() {
     return winners;
   }
@@ -0,0 +1,44 @@
+package com.example.Ludo.metadata.core.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * An action's result relative to the state the client already holds ({@code baseVersion}). Only
+ * fields that changed are present; absent fields are unchanged. When the base is no longer known,
+ * {@code full} is true and {@code state} carries the whole game instead, as it does when the base
+ * belongs to another {@code epoch}: an earlier game that had the same code.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameStateDeltaDTO {
+  private String gameId;
+  private int epoch;
+  private long baseVersion;
+  private long version;
+  private boolean full;
+  private GameStateDTO state;
+
+  private Boolean started;
+  private Boolean end;
+  private String currentPlayerId;
+  private Integer currentPlayerIndex;
+  private Long turnDeadline;
+  // Lists are sent whole when any element changed
+  private List<PlayerDTO> players;
+  private List<DiceDTO> currentDiceRolls;
+  private List<Integer> movableTokens;
+  private List<PlayerDTO> winners;
+  private LastDiceRollDTO lastDiceRoll;
+  // Only the tokens whose position changed
+  private List<TokenChangeDTO> tokens;
+
+  @Data
+  public static class TokenChangeDTO {
+    private int playerIndex;
+    private int tokenIndex;
+    private int position;
+    private boolean finished;
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.Ludo.metadata.core.dto;
+
+import com.example.Ludo.metadata.core.dto.GameStateDeltaDTO.TokenChangeDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/** Builds {@link GameStateDeltaDTO}s by comparing two published {@link GameStateDTO}s. */
+public class GameStateDiff {
+
+  /** What changed from {@code base} to {@code current}; the full state if {@code base} is null. */
+  public static GameStateDeltaDTO between(
+      GameStateDTO base, GameStateDTO current, long baseVersion) {
+    GameStateDeltaDTO delta = new GameStateDeltaDTO();
+    delta.setGameId(current.getGameId());
+    delta.setEpoch(current.getEpoch());
+    delta.setBaseVersion(baseVersion);
+    delta.setVersion(current.getVersion());
+    if (base == null) {
+      delta.setFull(true);
+      delta.setState(current);
+      return delta;
+    }
+    if (base.isStarted() != current.isStarted()) {
+      delta.setStarted(current.isStarted());
+    }
+    if (base.isEnd() != current.isEnd()) {
+      delta.setEnd(current.isEnd());
+    }
+    if (!Objects.equals(base.getCurrentPlayerId(), current.getCurrentPlayerId())) {
+      delta.setCurrentPlayerId(current.getCurrentPlayerId());
+    }
+    if (base.getCurrentPlayerIndex() != current.getCurrentPlayerIndex()) {
+      delta.setCurrentPlayerIndex(current.getCurrentPlayerIndex());
+    }
+    if (!Objects.equals(base.getTurnDeadline(), current.getTurnDeadline())) {
+      delta.setTurnDeadline(current.getTurnDeadline());
+    }
+    if (!samePlayers(base.getPlayers(), current.getPlayers())) {
+      delta.setPlayers(current.getPlayers());
+    }
+    if (!sameDice(base.getCurrentDiceRolls(), current.getCurrentDiceRolls())) {
+      delta.setCurrentDiceRolls(current.getCurrentDiceRolls());
+    }
+    if (!Objects.equals(base.getMovableTokens(), current.getMovableTokens())) {
+      delta.setMovableTokens(current.getMovableTokens());
+    }
+    if (!samePlayers(base.getWinners(), current.getWinners())) {
+      delta.setWinners(current.getWinners());
+    }
+    if (!Objects.equals(base.getLastDiceRoll(), current.getLastDiceRoll())) {
+      delta.setLastDiceRoll(current.getLastDiceRoll());
+    }
+    List<TokenChangeDTO> tokens =
+        changedTokens(base.getPlayerPositions(), current.getPlayerPositions());
+    if (!tokens.isEmpty()) {
+      delta.setTokens(tokens);
+    }
+    return delta;
+  }
+
+  private static List<TokenChangeDTO> changedTokens(
+      Map<Integer, List<TokenDTO>> base, Map<Integer, List<TokenDTO>> current) {
+    List<TokenChangeDTO> changes = new ArrayList<>(1);
+    for (Map.Entry<Integer, List<TokenDTO>> seat : current.entrySet()) {
+      List<TokenDTO> before = base.getOrDefault(seat.getKey(), Collections.emptyList());
+      List<TokenDTO> after = seat.getValue();
+      for (int t = 0; t < after.size(); t++) {
+        TokenDTO token = after.get(t);
+        if (t < before.size() && before.get(t).getPosition() == token.getPosition()) {
+          continue;
+        }
+        TokenChangeDTO change = new TokenChangeDTO();
+        change.setPlayerIndex(seat.getKey());
+        change.setTokenIndex(t);
+        change.setPosition(token.getPosition());
+        change.setFinished(token.isFinished());
+        changes.add(change);
+      }
+    }
+    return changes;
+  }
+
+  private static boolean samePlayers(List<PlayerDTO> a, List<PlayerDTO> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (int i = 0; i < a.size(); i++) {
+      // Players are never edited once seated, only added
+      if (!Objects.equals(a.get(i).getId(), b.get(i).getId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean sameDice(List<DiceDTO> a, List<DiceDTO> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (int i = 0; i < a.size(); i++) {
+      if (a.get(i).getMove() != b.get(i).getMove() || a.get(i).isUsed() != b.get(i).isUsed()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -1,22 +1,30 @@
 package com.example.Ludo.metadata.core.dto;
 
-import com.example.Ludo.metadata.core.model.Dice;
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.model.DiceRolls;
 import com.example.Ludo.metadata.core.model.GameState;
-import com.example.Ludo.metadata.core.model.Player;
 import com.example.Ludo.metadata.core.model.LastDiceRoll;
+import com.example.Ludo.metadata.core.model.Player;
+import com.example.Ludo.metadata.core.model.Token;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class GameStateMapper {
   public static GameStateDTO mapToDTO(GameState game) {
     GameStateDTO dto = new GameStateDTO();
     dto.setGameId(game.getGameId());
+    dto.setVersion(game.getVersion());
+    dto.setEpoch(game.getEpoch());
     dto.setStarted(game.isStarted());
     dto.setEnd(game.isEnd());
     dto.setCurrentPlayerId(game.getCurrentPlayerId());
     dto.setCurrentPlayerIndex(game.getCurrentPlayerIndex());
+    if (game.getTurnDeadlineMillis() > 0) {
+      dto.setTurnDeadline(game.getTurnDeadlineMillis());
+    }
     // Map players
     List<PlayerDTO> playerDTOs = new ArrayList<>();
     for (Player p : game.getPlayers()) {
@@ -24,18 +32,29 @@ public class GameStateMapper {
       pdto.setId(p.getId());
       pdto.setName(p.getName());
       pdto.setColor(p.getColor());
+      pdto.setBot(p.isBot());
       playerDTOs.add(pdto);
     }
     dto.setPlayers(playerDTOs);
     // Map dice
-    List<DiceDTO> diceDTOs = new ArrayList<>();
-    for (Dice d : game.getCurrentDiceRolls()) {
+    DiceRolls rolls = game.getCurrentDiceRolls();
+    List<DiceDTO> diceDTOs = new ArrayList<>(rolls.size());
+    for (int i = 0; i < rolls.size(); i++) {
       DiceDTO ddto = new DiceDTO();
-      ddto.setMove(d.getMove());
-      ddto.setUsed(d.isUsed());
+      ddto.setMove(rolls.getMove(i));
+      ddto.setUsed(rolls.isUsed(i));
       diceDTOs.add(ddto);
     }
     dto.setCurrentDiceRolls(diceDTOs);
+    // Legal moves, from the game's cache
+    int movable = game.getMovableTokens();
+    List<Integer> movableTokens = new ArrayList<>(Integer.bitCount(movable));
+    for (int t = 0; t < ApplicationConstants.tokensPerPlayer; t++) {
+      if ((movable & (1 << t)) != 0) {
+        movableTokens.add(t);
+      }
+    }
+    dto.setMovableTokens(movableTokens);
     // Map winners
     List<PlayerDTO> winnerDTOs = new ArrayList<>();
     for (Player p : game.getWinners()) {
@@ -43,25 +62,26 @@ public class GameStateMapper {
       pdto.setId(p.getId());
       pdto.setName(p.getName());
       pdto.setColor(p.getColor());
+      pdto.setBot(p.isBot());
       winnerDTOs.add(pdto);
     }
     dto.setWinners(winnerDTOs);
-    // Map playerPositions
-    Map<Integer, List<TokenDTO>> playerPositionsDTO =
-        game.getPlayerPositions().entrySet().stream()
-            .collect(
-                Collectors.toMap(
-                    Map.Entry::getKey,
-                    e ->
-                        e.getValue().stream()
-                            .map(
-                                token -> {
-                                  TokenDTO tokenDTO = new TokenDTO();
-                                  tokenDTO.setPosition(token.getCurrentPosition());
-                                  tokenDTO.setFinished(token.isFinished());
-                                  return tokenDTO;
-                                })
-                            .collect(Collectors.toList())));
+    // Map playerPositions, straight from the packed board
+    Map<Integer, List<TokenDTO>> playerPositionsDTO = new HashMap<>();
+    for (int p = 0; p < ApplicationConstants.maxPlayersFour; p++) {
+      if (!game.hasTokens(p)) {
+        continue;
+      }
+      List<TokenDTO> tokenDTOs = new ArrayList<>(ApplicationConstants.tokensPerPlayer);
+      for (int t = 0; t < ApplicationConstants.tokensPerPlayer; t++) {
+        int position = game.getTokenPosition(p, t);
+        TokenDTO tokenDTO = new TokenDTO();
+        tokenDTO.setPosition(position);
+        tokenDTO.setFinished(Token.isFinished(position));
+        tokenDTOs.add(tokenDTO);
+      }
+      playerPositionsDTO.put(p, tokenDTOs);
+    }
     dto.setPlayerPositions(playerPositionsDTO);
 
     // Map lastDiceRoll (display-only)
@@ -77,4 +97,30 @@ public class GameStateMapper {
 
     return dto;
   }
+
+  public static HistoryEventDTO mapHistoryEvent(int index, long event) {
+    HistoryEventDTO dto = new HistoryEventDTO();
+    dto.setIndex(index);
+    dto.setVersion(GameHistory.version(event));
+    dto.setType(GameHistory.type(event));
+    switch (dto.getType()) {
+      case START:
+        break;
+      case ROLL:
+        dto.setPlayerIndex(GameHistory.seat(event));
+        dto.setMove(GameHistory.to(event));
+        break;
+      case MOVE:
+      case CUT:
+        dto.setPlayerIndex(GameHistory.seat(event));
+        dto.setTokenIndex(GameHistory.token(event));
+        dto.setFrom(GameHistory.from(event));
+        dto.setTo(GameHistory.to(event));
+        break;
+      default:
+        dto.setPlayerIndex(GameHistory.seat(event));
+        break;
+    }
+    return dto;
+  }
 }
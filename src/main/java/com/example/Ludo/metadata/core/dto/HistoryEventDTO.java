@@ -0,0 +1,22 @@
+package com.example.Ludo.metadata.core.dto;
+
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/** One entry of a game's history. Fields the event type does not use are absent. */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HistoryEventDTO {
+  private int index;
+  // The state version this event is part of; one action may add several events to a version
+  private long version;
+  private HistoryEventType type;
+  private Integer playerIndex;
+  private Integer tokenIndex;
+  // ROLL: the value rolled
+  private Integer move;
+  // MOVE and CUT: positions before and after
+  private Integer from;
+  private Integer to;
+}
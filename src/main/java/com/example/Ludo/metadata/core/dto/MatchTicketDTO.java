@@ -0,0 +1,21 @@
+package com.example.Ludo.metadata.core.dto;
+
+import com.example.Ludo.metadata.core.enums.MatchStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/** A matchmaking ticket. Once {@code MATCHED} it names the game and the seat the player got. */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchTicketDTO {
+  private String ticketId;
+  private MatchStatus status;
+  private String playerName;
+  private int players;
+  private long waitedMs;
+
+  private String gameId;
+  private Integer playerIndex;
+  private String playerId;
+  private Integer bots;
+}
@@ -4,6 +4,7 @@ public class PlayerDTO {
   private String id;
   private String name;
   private String color;
+  private boolean bot;
 
   public String getId() {
     return id;
@@ -28,4 +29,12 @@ public class PlayerDTO {
   public void setColor(String color) {
     this.color = color;
   }
+
+  public boolean isBot() {
+    return bot;
+  }
+
+  public void setBot(boolean bot) {
+    this.bot = bot;
+  }
 }
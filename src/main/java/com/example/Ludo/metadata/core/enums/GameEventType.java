@@ -0,0 +1,30 @@
+package com.example.Ludo.metadata.core.enums;
+
+import lombok.Getter;
+
+/** What changed a game. Stored as one byte in the event log. */
+@Getter
+public enum GameEventType {
+  CREATE((byte) 1),
+  JOIN((byte) 2),
+  START((byte) 3),
+  ROLL((byte) 4),
+  MOVE((byte) 5),
+  REMOVE((byte) 6),
+  TIMEOUT((byte) 7);
+
+  private final byte code;
+
+  GameEventType(byte code) {
+    this.code = code;
+  }
+
+  public static GameEventType fromCode(byte code) {
+    for (GameEventType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown game event code: " + code);
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.Ludo.metadata.core.enums;
+
+import lombok.Getter;
+
+/** What one entry of a game's history records. Stored as 4 bits of the event. */
+@Getter
+public enum HistoryEventType {
+  JOIN(1),
+  START(2),
+  ROLL(3),
+  MOVE(4),
+  CUT(5),
+  CLEAR(6),
+  TURN(7),
+  WIN(8),
+  END(9);
+
+  private static final HistoryEventType[] BY_CODE = new HistoryEventType[16];
+
+  static {
+    for (HistoryEventType type : values()) {
+      BY_CODE[type.code] = type;
+    }
+  }
+
+  private final int code;
+
+  HistoryEventType(int code) {
+    this.code = code;
+  }
+
+  public static HistoryEventType fromCode(int code) {
+    HistoryEventType type = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    if (type == null) {
+      throw new IllegalArgumentException("Unknown history event code: " + code);
+    }
+    return type;
+  }
+}
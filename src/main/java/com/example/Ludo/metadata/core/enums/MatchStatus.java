@@ -0,0 +1,8 @@
+package com.example.Ludo.metadata.core.enums;
+
+/** Where a matchmaking ticket stands. */
+public enum MatchStatus {
+  WAITING,
+  MATCHED,
+  CANCELLED
+}
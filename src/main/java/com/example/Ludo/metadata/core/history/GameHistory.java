@@ -0,0 +1,136 @@
+package com.example.Ludo.metadata.core.history;
+
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import java.util.Arrays;
+
+/**
+ * Everything that happened in one game, in order: each join, roll, move, cut, end of hand and
+ * turn change as one fixed-width {@code long}, kept in 256-event chunks so that appending never
+ * copies what is already there. A finished game is typically a few hundred events, 8 bytes each.
+ *
+ * <pre>
+ *   bits 60-63 type    bits 56-59 seat   bits 52-55 token   bits 48-51 die
+ *   bits 40-47 from    bits 32-39 to     bits 0-31  version the change was published as
+ * </pre>
+ *
+ * Fields a type does not use are zero:
+ *
+ * <pre>
+ *   JOIN  seat                      START
+ *   ROLL  seat die(index in hand) to(value)
+ *   MOVE  seat token die from to    CUT   seat token from (sent home)
+ *   CLEAR seat (hand ended)         TURN  seat (to play next)
+ *   WIN   seat                      END
+ * </pre>
+ *
+ * Events carry results, not commands, so {@link GameReplayer} rebuilds a state without dice or
+ * rules. Not thread-safe: like its game, it is only changed from the game's mailbox. Events
+ * published before a hand-off to another thread may be read there, which is how the game log
+ * snapshots them.
+ */
+public final class GameHistory {
+  private static final int CHUNK_BITS = 8;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  // Volatile so a reader off the mailbox that sees a grown table also sees the chunks copied in
+  private volatile long[][] chunks = new long[4][];
+  private int size;
+
+  public static long event(
+      HistoryEventType type, int seat, int token, int die, int from, int to, long version) {
+    return (long) type.getCode() << 60
+        | (long) (seat & 0xF) << 56
+        | (long) (token & 0xF) << 52
+        | (long) (die & 0xF) << 48
+        | (long) (from & 0xFF) << 40
+        | (long) (to & 0xFF) << 32
+        | (version & 0xFFFFFFFFL);
+  }
+
+  public static HistoryEventType type(long event) {
+    return HistoryEventType.fromCode((int) (event >>> 60));
+  }
+
+  public static int seat(long event) {
+    return (int) (event >>> 56) & 0xF;
+  }
+
+  public static int token(long event) {
+    return (int) (event >>> 52) & 0xF;
+  }
+
+  public static int die(long event) {
+    return (int) (event >>> 48) & 0xF;
+  }
+
+  /** Signed, so a token at home reads as -1. */
+  public static int from(long event) {
+    return (byte) (event >>> 40);
+  }
+
+  public static int to(long event) {
+    return (byte) (event >>> 32);
+  }
+
+  public static long version(long event) {
+    return event & 0xFFFFFFFFL;
+  }
+
+  public void append(long event) {
+    int chunk = size >>> CHUNK_BITS;
+    if (chunk == chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunks.length * 2);
+    }
+    if (chunks[chunk] == null) {
+      chunks[chunk] = new long[CHUNK_SIZE];
+    }
+    chunks[chunk][size & CHUNK_MASK] = event;
+    size++;
+  }
+
+  public long get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+    }
+    return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Drops the events from {@code size} on, e.g. those of a batch that was rolled back. */
+  public void truncate(int size) {
+    if (size < this.size) {
+      this.size = Math.max(size, 0);
+    }
+  }
+
+  /**
+   * Number of events up to and including {@code version}, found by binary search since versions
+   * never decrease along the history.
+   */
+  public int sizeAt(long version) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (version(get(mid)) <= version) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Events {@code from} (inclusive) to {@code to} (exclusive), copied out. */
+  public long[] copy(int from, int to) {
+    long[] events = new long[Math.max(to - from, 0)];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = get(from + i);
+    }
+    return events;
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.Ludo.metadata.core.history;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.LastDiceRoll;
+import com.example.Ludo.metadata.core.model.Player;
+import java.util.List;
+
+/**
+ * Rebuilds a game as it was at any version from its {@link GameHistory}. Events are applied as
+ * recorded, without rolling dice or consulting the rules, so a replay is deterministic whatever
+ * dice source the game was played with, and costs one pass over a few hundred longs.
+ *
+ * <p>What the history does not carry is left at its default: the last roll's timestamp is 0.
+ */
+public final class GameReplayer {
+  private GameReplayer() {}
+
+  /**
+   * The game with id {@code gameId} as published at {@code version}. {@code players} are the
+   * game's seats in order (seats are never given up, so the current list serves for any version)
+   * and {@code events} its history, at least up to {@code version}.
+   */
+  public static GameState replay(
+      String gameId, List<Player> players, long[] events, long version) {
+    GameState game = new GameState(gameId);
+    for (long event : events) {
+      if (GameHistory.version(event) > version) {
+        break;
+      }
+      apply(game, players, event);
+    }
+    game.setVersion(version);
+    return game;
+  }
+
+  private static void apply(GameState game, List<Player> players, long event) {
+    int seat = GameHistory.seat(event);
+    switch (GameHistory.type(event)) {
+      case JOIN:
+        game.getPlayers().add(players.get(seat));
+        break;
+      case START:
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+          game.initializeTokens(i, Color.valueOf(game.getPlayers().get(i).getColor()));
+        }
+        game.setStarted(true);
+        setTurn(game, 0);
+        break;
+      case ROLL:
+        game.getCurrentDiceRolls().add(GameHistory.to(event));
+        game.setDiceRollCount(game.getDiceRollCount() + 1);
+        game.setLastDiceRoll(
+            LastDiceRoll.builder()
+                .playerIndex(seat)
+                .move(GameHistory.to(event))
+                .rollId(game.getGameId() + "-" + seat + "-r" + game.getDiceRollCount())
+                .build());
+        break;
+      case MOVE:
+        game.getCurrentDiceRolls().markUsed(GameHistory.die(event));
+        game.setTokenPosition(seat, GameHistory.token(event), GameHistory.to(event));
+        break;
+      case CUT:
+        game.setTokenPosition(seat, GameHistory.token(event), -1);
+        break;
+      case CLEAR:
+        game.getCurrentDiceRolls().clear();
+        break;
+      case TURN:
+        setTurn(game, seat);
+        break;
+      case WIN:
+        game.getWinners().add(game.getPlayers().get(seat));
+        break;
+      case END:
+        game.setEnd(true);
+        break;
+      default:
+        throw new IllegalStateException("Unhandled history event " + GameHistory.type(event));
+    }
+  }
+
+  private static void setTurn(GameState game, int seat) {
+    game.setCurrentPlayerIndex(seat);
+    game.setCurrentPlayerId(game.getPlayers().get(seat).getId());
+  }
+}
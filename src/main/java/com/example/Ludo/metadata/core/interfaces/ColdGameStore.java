@@ -0,0 +1,14 @@
+package com.example.Ludo.metadata.core.interfaces;
+
+import com.example.Ludo.metadata.core.model.GameState;
+
+/**
+ * Where evicted games go instead of being dropped. A game is restored into the live {@link
+ * GameStore} the next time someone asks for it.
+ */
+public interface ColdGameStore {
+  void offload(GameState game);
+
+  /** Takes the game out of cold storage, or returns null if it is not there. */
+  GameState restore(String gameId);
+}
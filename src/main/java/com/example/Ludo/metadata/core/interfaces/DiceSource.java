@@ -0,0 +1,13 @@
+package com.example.Ludo.metadata.core.interfaces;
+
+import com.example.Ludo.metadata.core.model.GameState;
+
+/**
+ * Where dice values come from. Called by {@code DiceService} from the game's own mailbox, once per
+ * roll, before the roll is recorded; {@link GameState#getDiceRollCount()} is the number of rolls
+ * made in the game so far.
+ */
+public interface DiceSource {
+  /** A value from 1 to 6. */
+  int roll(GameState game);
+}
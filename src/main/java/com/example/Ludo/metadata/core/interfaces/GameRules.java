@@ -2,10 +2,14 @@ package com.example.Ludo.metadata.core.interfaces;
 
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.exception.Rejection;
 
 public interface GameRules {
   boolean isValidMove(GameState gameState, int playerIndex, int tokenIndex);
 
+  /** Why the move is refused, or null if it is valid. */
+  Rejection checkMove(GameState gameState, int playerIndex, int tokenIndex);
+
   boolean cutIfPossible(GameState gameState, Token token);
 
   boolean isExtraTurn(GameState gameState);
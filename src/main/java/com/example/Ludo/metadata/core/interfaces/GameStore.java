@@ -0,0 +1,28 @@
+package com.example.Ludo.metadata.core.interfaces;
+
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.Collection;
+
+/**
+ * Where live games are kept. {@code GameService} only reads and writes games through this, from
+ * the game's own mailbox, so implementations never see two writers for the same game.
+ */
+public interface GameStore {
+  /** The live game, or null. */
+  GameState find(String gameId);
+
+  boolean exists(String gameId);
+
+  /** Registers a new game. Returns false if the id is already taken. */
+  boolean create(GameState game);
+
+  /** Records that {@code game} was changed by {@code event}. Called after the change is applied. */
+  void save(GameState game, GameEventType event);
+
+  void remove(String gameId);
+
+  Collection<GameState> findAll();
+
+  int size();
+}
@@ -0,0 +1,117 @@
+package com.example.Ludo.metadata.core.matchmaking;
+
+import com.example.Ludo.metadata.core.dto.MatchTicketDTO;
+import com.example.Ludo.metadata.core.enums.MatchStatus;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One player waiting for a game. The matchmaker claims a ticket before seating it and releases it
+ * if the table does not fill, so a ticket is either seated or cancelled, never both. A cancel that
+ * meets a claim is left for the matchmaker to apply when the claim ends; nobody waits on it.
+ */
+final class MatchTicket {
+  private static final int WAITING = 0;
+  private static final int CLAIMED = 1;
+  private static final int DONE = 2;
+  // Claimed, and cancelled unless the claim seats it
+  private static final int CLAIMED_CANCELLED = 3;
+
+  final String ticketId;
+  final String playerName;
+  final int players;
+  final long joinedNanos = System.nanoTime();
+  // Completes once the ticket is matched or cancelled
+  final CompletableFuture<MatchTicketDTO> result = new CompletableFuture<>();
+  volatile long finishedNanos;
+
+  private final AtomicInteger state = new AtomicInteger(WAITING);
+
+  MatchTicket(String ticketId, String playerName, int players) {
+    this.ticketId = ticketId;
+    this.playerName = playerName;
+    this.players = players;
+  }
+
+  boolean claim() {
+    return state.compareAndSet(WAITING, CLAIMED);
+  }
+
+  /**
+   * Ends a claim that did not seat the ticket.
+   *
+   * @return whether a cancel came in meanwhile, which ends the ticket instead of requeueing it
+   */
+  boolean release() {
+    if (state.compareAndSet(CLAIMED, WAITING)) {
+      return false;
+    }
+    state.set(DONE);
+    finish(toDTO(MatchStatus.CANCELLED));
+    return true;
+  }
+
+  /**
+   * Cancels a waiting ticket at once. A claimed one is only marked, and ends cancelled or matched
+   * once its claim does; either way {@link #result} completes.
+   *
+   * @return whether this call cancelled the ticket
+   */
+  boolean cancel() {
+    while (true) {
+      int current = state.get();
+      if (current == WAITING && state.compareAndSet(WAITING, DONE)) {
+        finish(toDTO(MatchStatus.CANCELLED));
+        return true;
+      }
+      if (current != CLAIMED || state.compareAndSet(CLAIMED, CLAIMED_CANCELLED)) {
+        return false;
+      }
+    }
+  }
+
+  MatchTicketDTO matched(String gameId, int playerIndex, String playerId, int bots) {
+    MatchTicketDTO dto = toDTO(MatchStatus.MATCHED);
+    dto.setGameId(gameId);
+    dto.setPlayerIndex(playerIndex);
+    dto.setPlayerId(playerId);
+    dto.setBots(bots);
+    state.set(DONE);
+    finish(dto);
+    return dto;
+  }
+
+  /** Ends a claimed ticket that could not be seated. */
+  MatchTicketDTO failed() {
+    state.set(DONE);
+    MatchTicketDTO dto = toDTO(MatchStatus.CANCELLED);
+    finish(dto);
+    return dto;
+  }
+
+  boolean isDone() {
+    return state.get() == DONE;
+  }
+
+  /** The ticket as it stands. */
+  MatchTicketDTO toDTO() {
+    MatchTicketDTO done = result.getNow(null);
+    return done != null ? done : toDTO(MatchStatus.WAITING);
+  }
+
+  private MatchTicketDTO toDTO(MatchStatus status) {
+    MatchTicketDTO dto = new MatchTicketDTO();
+    dto.setTicketId(ticketId);
+    dto.setStatus(status);
+    dto.setPlayerName(playerName);
+    dto.setPlayers(players);
+    dto.setWaitedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - joinedNanos));
+    return dto;
+  }
+
+  private void finish(MatchTicketDTO dto) {
+    finishedNanos = System.nanoTime();
+    result.complete(dto);
+  }
+}
@@ -0,0 +1,258 @@
+package com.example.Ludo.metadata.core.matchmaking;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxPlayersFour;
+
+import com.example.Ludo.metadata.core.cluster.ShardRing;
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.MatchTicketDTO;
+import com.example.Ludo.metadata.core.service.GameEventPublisher;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.service.GameService;
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seats players who ask for a 2, 3 or 4 player game, instead of having them share a game id and
+ * go through the lobby.
+ *
+ * <p>Joining only registers a ticket and queues it. A single matchmaker thread moves arrivals into
+ * one FIFO queue per table size and seats the oldest tickets first, so nobody is overtaken by a
+ * later arrival. Each full table becomes a started game in one {@link
+ * GameService#createMatchedGame} command. Once the oldest ticket of a size has waited {@code
+ * botFillAfterMs}, its table is completed with bots, which bounds every wait. At most {@code
+ * maxWaiting} tickets wait at once; past that, joining is refused.
+ *
+ * <p>Holders hear about their seat on {@code /topic/matchmaking/{ticketId}}, or through {@link
+ * #await}. Tickets live only on the node that issued them, so, as with game ids, a node only
+ * issues ticket ids the {@link ShardRing} places on itself, and requests for a ticket are routed
+ * to its node like requests for a game.
+ */
+@Component
+public class Matchmaker {
+  private static final Logger logger = LoggerFactory.getLogger(Matchmaker.class);
+  private static final int MIN_PLAYERS = 2;
+  // How long a matched or cancelled ticket can still be looked up
+  private static final long FINISHED_TICKET_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final GameService gameService;
+  private final ShardRing shardRing;
+  private final GameEventPublisher gameEventPublisher;
+  private final GameMetrics gameMetrics;
+  private final int maxWaiting;
+  private final long botFillAfterNanos;
+  private final long tickMillis;
+
+  private final Map<String, MatchTicket> tickets = new ConcurrentHashMap<>();
+  private final BlockingQueue<MatchTicket> arrivals = new LinkedBlockingQueue<>();
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  // Matchmaker-thread state: waiting tickets by table size, oldest first
+  private final List<ArrayDeque<MatchTicket>> queues = new ArrayList<>();
+
+  private final Thread matchmaker;
+  private volatile boolean running = true;
+
+  public Matchmaker(
+      GameService gameService,
+      ShardRing shardRing,
+      GameEventPublisher gameEventPublisher,
+      GameMetrics gameMetrics,
+      @Value("${ludo.matchmaking.max-waiting:10000}") int maxWaiting,
+      @Value("${ludo.matchmaking.bot-fill-after-ms:15000}") long botFillAfterMs,
+      @Value("${ludo.matchmaking.tick-ms:20}") long tickMillis) {
+    this.gameService = gameService;
+    this.shardRing = shardRing;
+    this.gameEventPublisher = gameEventPublisher;
+    this.gameMetrics = gameMetrics;
+    this.maxWaiting = maxWaiting;
+    this.botFillAfterNanos = botFillAfterMs > 0 ? TimeUnit.MILLISECONDS.toNanos(botFillAfterMs) : 0;
+    this.tickMillis = tickMillis;
+    for (int size = 0; size <= maxPlayersFour; size++) {
+      queues.add(new ArrayDeque<>());
+    }
+    matchmaker = new Thread(this::matchLoop, "matchmaker");
+    matchmaker.setDaemon(true);
+    matchmaker.start();
+  }
+
+  /** Queues a player for a game of {@code players} seats. */
+  public MatchTicketDTO join(String playerName, int players) {
+    if (players < MIN_PLAYERS || players > maxPlayersFour) {
+      throw new InvalidActionException("A game has 2 to " + maxPlayersFour + " players");
+    }
+    if (playerName == null || playerName.trim().isEmpty()) {
+      throw new InvalidActionException("Player name cannot be empty");
+    }
+    if (waiting.incrementAndGet() > maxWaiting) {
+      waiting.decrementAndGet();
+      throw new InvalidActionException("Matchmaking is full, try again shortly");
+    }
+    MatchTicket ticket = new MatchTicket(newTicketId(), playerName, players);
+    tickets.put(ticket.ticketId, ticket);
+    arrivals.offer(ticket);
+    return ticket.toDTO();
+  }
+
+  public MatchTicketDTO status(String ticketId) {
+    return ticket(ticketId).toDTO();
+  }
+
+  /** Completes once the ticket is matched or cancelled. */
+  public CompletableFuture<MatchTicketDTO> await(String ticketId) {
+    return ticket(ticketId).result;
+  }
+
+  /**
+   * Takes a waiting ticket out of the queue. A ticket already seated stays matched, and one whose
+   * table is being formed right now is cancelled if that table is not formed. The future completes
+   * with the outcome, at once unless the ticket was claimed.
+   */
+  public CompletableFuture<MatchTicketDTO> cancel(String ticketId) {
+    MatchTicket ticket = ticket(ticketId);
+    if (ticket.cancel()) {
+      waiting.decrementAndGet();
+      gameEventPublisher.publishMatch(ticket.toDTO());
+    }
+    return ticket.result;
+  }
+
+  /** Tickets queued and not yet seated or cancelled. */
+  public int waiting() {
+    return waiting.get();
+  }
+
+  @PreDestroy
+  public void close() {
+    running = false;
+    matchmaker.interrupt();
+  }
+
+  // Random ids until one lands on this node: about one try per node
+  private String newTicketId() {
+    String ticketId;
+    do {
+      ticketId = UUID.randomUUID().toString();
+    } while (!shardRing.owns(ticketId));
+    return ticketId;
+  }
+
+  private MatchTicket ticket(String ticketId) {
+    MatchTicket ticket = ticketId == null ? null : tickets.get(ticketId);
+    if (ticket == null) {
+      throw new InvalidActionException("Unknown matchmaking ticket");
+    }
+    return ticket;
+  }
+
+  // ---- matchmaker thread ----
+
+  private void matchLoop() {
+    long nextSweep = System.nanoTime() + SWEEP_INTERVAL_NANOS;
+    while (running) {
+      try {
+        MatchTicket arrived = arrivals.poll(tickMillis, TimeUnit.MILLISECONDS);
+        while (arrived != null) {
+          queues.get(arrived.players).addLast(arrived);
+          arrived = arrivals.poll();
+        }
+        long now = System.nanoTime();
+        for (int size = MIN_PLAYERS; size <= maxPlayersFour; size++) {
+          formGames(size, now);
+        }
+        if (now - nextSweep >= 0) {
+          sweep(now);
+          nextSweep = now + SWEEP_INTERVAL_NANOS;
+        }
+      } catch (InterruptedException e) {
+        if (!running) {
+          break;
+        }
+      } catch (RuntimeException e) {
+        logger.error("Matchmaking round failed", e);
+      }
+    }
+  }
+
+  // Seats full tables from the head of the queue, then tops up with bots the table of a ticket
+  // that has waited long enough; whatever is left goes back in front, in order
+  private void formGames(int size, long now) {
+    ArrayDeque<MatchTicket> queue = queues.get(size);
+    List<MatchTicket> group = new ArrayList<>(size);
+    while (!queue.isEmpty()) {
+      while (group.size() < size && !queue.isEmpty()) {
+        MatchTicket ticket = queue.pollFirst();
+        if (ticket.claim()) {
+          group.add(ticket);
+        }
+      }
+      if (group.size() == size) {
+        seat(group, 0);
+      } else if (!group.isEmpty()
+          && botFillAfterNanos > 0
+          && now - group.get(0).joinedNanos >= botFillAfterNanos) {
+        seat(group, size - group.size());
+      } else {
+        for (int i = group.size() - 1; i >= 0; i--) {
+          MatchTicket ticket = group.get(i);
+          if (ticket.release()) {
+            // Cancelled while claimed
+            waiting.decrementAndGet();
+            gameEventPublisher.publishMatch(ticket.toDTO());
+          } else {
+            queue.addFirst(ticket);
+          }
+        }
+        return;
+      }
+      group.clear();
+    }
+  }
+
+  private void seat(List<MatchTicket> group, int bots) {
+    List<String> names = new ArrayList<>(group.size());
+    for (MatchTicket ticket : group) {
+      names.add(ticket.playerName);
+    }
+    waiting.addAndGet(-group.size());
+    GameStateDTO game;
+    try {
+      game = gameService.createMatchedGame(names, bots);
+    } catch (RuntimeException e) {
+      logger.warn("Could not form a game for {}: {}", names, e.getMessage());
+      for (MatchTicket ticket : group) {
+        gameEventPublisher.publishMatch(ticket.failed());
+      }
+      return;
+    }
+    logger.info("Matched {} into game {} with {} bot(s)", names, game.getGameId(), bots);
+    long now = System.nanoTime();
+    for (int i = 0; i < group.size(); i++) {
+      MatchTicket ticket = group.get(i);
+      gameMetrics.matched(now - ticket.joinedNanos);
+      gameEventPublisher.publishMatch(
+          ticket.matched(game.getGameId(), i, game.getPlayers().get(i).getId(), bots));
+    }
+  }
+
+  private void sweep(long now) {
+    tickets
+        .values()
+        .removeIf(t -> t.isDone() && now - t.finishedNanos >= FINISHED_TICKET_TTL_NANOS);
+  }
+}
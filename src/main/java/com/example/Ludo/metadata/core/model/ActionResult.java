@@ -0,0 +1,77 @@
+package com.example.Ludo.metadata.core.model;
+
+import com.example.Ludo.metadata.exception.BatchActionException;
+import com.example.Ludo.metadata.exception.Rejection;
+import java.util.function.Function;
+
+/**
+ * The outcome of a game action: its value, or the {@link Rejection} that refused it. Rejections
+ * of single actions are shared instances, so refusing an action allocates nothing.
+ */
+public final class ActionResult<T> {
+  private static final ActionResult<?>[] REJECTED = new ActionResult<?>[Rejection.values().length];
+
+  static {
+    for (Rejection rejection : Rejection.values()) {
+      REJECTED[rejection.ordinal()] = new ActionResult<>(null, rejection, -1);
+    }
+  }
+
+  private final T value;
+  private final Rejection rejection;
+  private final int failedIndex;
+
+  private ActionResult(T value, Rejection rejection, int failedIndex) {
+    this.value = value;
+    this.rejection = rejection;
+    this.failedIndex = failedIndex;
+  }
+
+  public static <T> ActionResult<T> ok(T value) {
+    return new ActionResult<>(value, null, -1);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> ActionResult<T> rejected(Rejection rejection) {
+    return (ActionResult<T>) REJECTED[rejection.ordinal()];
+  }
+
+  /** A batch refused at the action with index {@code failedIndex}. */
+  public static <T> ActionResult<T> rejected(Rejection rejection, int failedIndex) {
+    return new ActionResult<>(null, rejection, failedIndex);
+  }
+
+  public boolean isRejected() {
+    return rejection != null;
+  }
+
+  public T getValue() {
+    return value;
+  }
+
+  public Rejection getRejection() {
+    return rejection;
+  }
+
+  /** Position in a batch of the refused action, or -1 for a single action. */
+  public int getFailedIndex() {
+    return failedIndex;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <R> ActionResult<R> map(Function<T, R> mapper) {
+    // A rejection holds no value, so it stands for a result of any type
+    return isRejected() ? (ActionResult<R>) this : ok(mapper.apply(value));
+  }
+
+  /** The value, or the rejection thrown as an {@code InvalidActionException}. */
+  public T orThrow() {
+    if (rejection == null) {
+      return value;
+    }
+    if (failedIndex >= 0) {
+      throw new BatchActionException(failedIndex, rejection.getMessage(), null);
+    }
+    throw rejection.toException();
+  }
+}
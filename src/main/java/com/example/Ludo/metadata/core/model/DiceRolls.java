@@ -0,0 +1,160 @@
+package com.example.Ludo.metadata.core.model;
+
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The dice rolled in the current turn, packed into a single int. A turn holds at most three rolls
+ * (the third six forfeits the turn), so each die takes 4 bits: 3 for the value and 1 for "used",
+ * and the low 2 bits hold the count.
+ *
+ * <pre>
+ *   bits 0-1   count
+ *   bits 2-5   die 0  (value in bits 2-4, used in bit 5)
+ *   bits 6-9   die 1
+ *   bits 10-13 die 2
+ * </pre>
+ */
+public class DiceRolls {
+  public static final int CAPACITY = 3;
+
+  private static final int COUNT_MASK = 0b11;
+  private static final int DIE_BITS = 4;
+  private static final int VALUE_MASK = 0b0111;
+  private static final int USED_BIT = 0b1000;
+
+  private int packed;
+
+  public int size() {
+    return packed & COUNT_MASK;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int getMove(int index) {
+    return die(index) & VALUE_MASK;
+  }
+
+  public boolean isUsed(int index) {
+    return (die(index) & USED_BIT) != 0;
+  }
+
+  public boolean isSix(int index) {
+    return getMove(index) == 6;
+  }
+
+  public int getLastMove() {
+    return isEmpty() ? 0 : getMove(size() - 1);
+  }
+
+  public void add(int move) {
+    if (move < 1 || move > 6) {
+      throw new InvalidActionException("Dice value must be between 1 and 6");
+    }
+    int count = size();
+    if (count == CAPACITY) {
+      throw new InvalidActionException("No more than " + CAPACITY + " rolls in a turn");
+    }
+    packed = (packed & ~COUNT_MASK) | (move << shift(count)) | (count + 1);
+  }
+
+  public void markUsed(int index) {
+    checkIndex(index);
+    packed |= USED_BIT << shift(index);
+  }
+
+  /** Index of the first die not used yet, or -1. */
+  public int firstUnused() {
+    for (int i = 0, n = size(); i < n; i++) {
+      if (!isUsed(i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean hasUnused() {
+    return firstUnused() >= 0;
+  }
+
+  public boolean allUsed() {
+    return !hasUnused();
+  }
+
+  /**
+   * The hand can only grow: nothing rolled or all used, or only sixes so far (below three). A
+   * token may be moved only when this is false.
+   */
+  public boolean mustRoll() {
+    return !hasUnused() || countSixes() == size() && size() < CAPACITY;
+  }
+
+  public int countSixes() {
+    int sixes = 0;
+    for (int i = 0, n = size(); i < n; i++) {
+      if (isSix(i)) {
+        sixes++;
+      }
+    }
+    return sixes;
+  }
+
+  public void clear() {
+    packed = 0;
+  }
+
+  /** Raw packed form, for persistence. */
+  public int toBits() {
+    return packed;
+  }
+
+  public void loadBits(int bits) {
+    packed = bits;
+  }
+
+  /** Detached {@link Dice} copies, for callers that need objects. */
+  public List<Dice> toList() {
+    List<Dice> dice = new ArrayList<>(size());
+    for (int i = 0, n = size(); i < n; i++) {
+      dice.add(new Dice(getMove(i), isUsed(i)));
+    }
+    return dice;
+  }
+
+  private int die(int index) {
+    checkIndex(index);
+    return packed >>> shift(index);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Dice index " + index + " out of " + size());
+    }
+  }
+
+  private static int shift(int index) {
+    return 2 + index * DIE_BITS;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0, n = size(); i < n; i++) {
+      sb.append(i == 0 ? "" : ", ").append(getMove(i)).append(isUsed(i) ? "*" : "");
+    }
+    return sb.append(']').toString();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof DiceRolls && ((DiceRolls) o).packed == packed;
+  }
+
+  @Override
+  public int hashCode() {
+    return packed;
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.Ludo.metadata.core.model;
+
+/**
+ * A game's state at one version, already serialized as the JSON the API returns. Immutable, so it
+ * can be handed to any number of readers and writers of the response body as is.
+ */
+public final class GameSnapshot {
+  private final int epoch;
+  private final long version;
+  private final byte[] json;
+
+  public GameSnapshot(int epoch, long version, byte[] json) {
+    this.epoch = epoch;
+    this.version = version;
+    this.json = json;
+  }
+
+  /** The game's {@link GameState#getEpoch() epoch}; with the version it names this state. */
+  public int getEpoch() {
+    return epoch;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  /** Shared, do not modify. */
+  public byte[] getJson() {
+    return json;
+  }
+}
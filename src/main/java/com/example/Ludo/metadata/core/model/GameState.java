@@ -1,46 +1,324 @@
 package com.example.Ludo.metadata.core.model;
 
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxPlayersFour;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.trackLength;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.timer.TimingWheel;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
-@Builder
+/**
+ * One game. The board is kept packed: token positions live in a 16-byte array indexed by {@code
+ * playerIndex * 4 + tokenIndex} (-1 = at home) and the turn's dice in a single int (see {@link
+ * DiceRolls}). {@link Token} objects are only handed out as detached snapshots; writes go through
+ * {@link #setTokenPosition}, which also keeps a per-cell occupancy index up to date.
+ *
+ * <p>Not thread-safe: every game is only touched from its own mailbox in {@code
+ * GameActorExecutor}.
+ */
 @Data
-@AllArgsConstructor
 public class GameState {
   private final String gameId;
   private boolean started = false;
   private boolean end = false;
   private String currentPlayerId;
   private int currentPlayerIndex;
-  private List<Player> players = new CopyOnWriteArrayList<>();
-  private List<Dice> currentDiceRolls = new CopyOnWriteArrayList<>();
-  private Map<Integer, List<Token>> playerPositions =
-      new ConcurrentHashMap<>(); // for each players 4 dices will be there
-  private List<Player> winners = new CopyOnWriteArrayList<>();
+  private final List<Player> players = new ArrayList<>(maxPlayersFour);
+  private final DiceRolls currentDiceRolls = new DiceRolls();
+  private final List<Player> winners = new ArrayList<>(0);
   // Store the most recent dice roll for display purposes
   private LastDiceRoll lastDiceRoll;
+  // Rolls made in this game so far; lets a seeded DiceSource replay the game's dice
+  private int diceRollCount;
+  // Bumped by every published change; clients use it to tell whether their copy is current
+  private long version;
+  // Random per game: tells it apart from an earlier game under the same join code, whose versions
+  // this one may repeat
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private int epoch = ThreadLocalRandom.current().nextInt() & Integer.MAX_VALUE;
+  // Serialized form of the latest published version, read without going through the mailbox
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private volatile GameSnapshot snapshot;
+  // Wall-clock time of the last command for this game, read by the eviction sweeper
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private volatile long lastActivityMillis = System.currentTimeMillis();
+  // Every change so far, for replay. Null when not kept, as for copies made by bots and simulations
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private GameHistory history;
+  // Turn timer: reused for every turn of the game, created when the first turn starts
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private TimingWheel.Timer<String> turnTimer;
+  // When the current turn times out, as wall clock for clients (0 = no deadline) and as a tick of
+  // the timer wheel, and the seat it was set for
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private long turnDeadlineMillis;
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private long turnDeadlineTick;
+  @EqualsAndHashCode.Exclude @ToString.Exclude
+  private int turnDeadlineSeat = -1;
+
+  @Getter(AccessLevel.NONE)
+  private final byte[] tokenPositions = new byte[maxPlayersFour * tokensPerPlayer];
+
+  // Colour of each seat, null until the seat's tokens are placed by startGame
+  @Getter(AccessLevel.NONE)
+  private final Color[] seatColors = new Color[maxPlayersFour];
+
+  // For each global track cell, a bitmask of the token slots standing on it. Kept in step with
+  // tokenPositions by setTokenPosition, so "who is on this cell" is a single array read.
+  @Getter(AccessLevel.NONE)
+  private final short[] cellOccupancy = new short[trackLength];
+
+  // Legal-move cache: the tokens the current player may move, and the turn and dice it was
+  // computed for. Board writes reset the key, so it only has to cover what is outside the board.
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private long movableTokensKey = -1;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private int movableTokens;
+
+  /** Adds an event to the history, if one is kept, under the version the change will publish. */
+  public void record(HistoryEventType type, int seat) {
+    record(type, seat, 0, 0, 0, 0);
+  }
+
+  public void record(HistoryEventType type, int seat, int token, int die, int from, int to) {
+    if (history != null) {
+      history.append(GameHistory.event(type, seat, token, die, from, to, version + 1));
+    }
+  }
+
+  /** Ends the current hand: clears the dice, and records it if there were any. */
+  public void clearDice() {
+    if (!currentDiceRolls.isEmpty()) {
+      record(HistoryEventType.CLEAR, currentPlayerIndex);
+      currentDiceRolls.clear();
+    }
+  }
+
+  /** Hands the turn to a seat and records it. */
+  public void passTurnTo(int playerIndex) {
+    currentPlayerIndex = playerIndex;
+    currentPlayerId = players.get(playerIndex).getId();
+    record(HistoryEventType.TURN, playerIndex);
+  }
+
+  /** Puts all four tokens of a seat at home. */
+  public void initializeTokens(int playerIndex, Color color) {
+    for (int t = 0; hasTokens(playerIndex) && t < tokensPerPlayer; t++) {
+      unindex(playerIndex, t);
+    }
+    movableTokensKey = -1;
+    seatColors[playerIndex] = color;
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      tokenPositions[slot(playerIndex, t)] = -1;
+    }
+  }
+
+  public boolean hasTokens(int playerIndex) {
+    return playerIndex >= 0 && playerIndex < maxPlayersFour && seatColors[playerIndex] != null;
+  }
+
+  public Color getSeatColor(int playerIndex) {
+    return hasTokens(playerIndex) ? seatColors[playerIndex] : null;
+  }
+
+  public int getTokenPosition(int playerIndex, int tokenIndex) {
+    return tokenPositions[slot(playerIndex, tokenIndex)];
+  }
+
+  public void setTokenPosition(int playerIndex, int tokenIndex, int position) {
+    movableTokensKey = -1;
+    unindex(playerIndex, tokenIndex);
+    tokenPositions[slot(playerIndex, tokenIndex)] = (byte) position;
+    index(playerIndex, tokenIndex);
+  }
+
+  /**
+   * Bitmask of the token slots ({@code playerIndex * 4 + tokenIndex}) on a global track cell. Empty
+   * for home (-1) or any cell off the track.
+   */
+  public int getCellOccupancy(int globalCell) {
+    if (globalCell < 0 || globalCell >= trackLength) {
+      return 0;
+    }
+    return cellOccupancy[globalCell] & 0xFFFF;
+  }
+
+  public int countTokensOnCell(int globalCell) {
+    return Integer.bitCount(getCellOccupancy(globalCell));
+  }
+
+  /** Two or more tokens of the same seat standing together on a cell. */
+  public boolean isBlockade(int globalCell) {
+    int occupancy = getCellOccupancy(globalCell);
+    for (int p = 0; p < maxPlayersFour; p++) {
+      if (Integer.bitCount(occupancy & seatMask(p)) >= 2) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Bits of {@link #getCellOccupancy} that belong to one seat. */
+  public static int seatMask(int playerIndex) {
+    return ((1 << tokensPerPlayer) - 1) << (playerIndex * tokensPerPlayer);
+  }
+
+  /** Detached snapshot of one token, or null if the seat or index does not exist. */
+  public Token getToken(int playerIndex, int tokenIndex) {
+    if (!hasTokens(playerIndex) || tokenIndex < 0 || tokenIndex >= tokensPerPlayer) {
+      return null;
+    }
+    return new Token(tokenIndex, getTokenPosition(playerIndex, tokenIndex), seatColors[playerIndex]);
+  }
+
+  /** Detached snapshots of a seat's tokens, empty if the seat has none. */
+  public List<Token> getPlayerTokens(int playerIndex) {
+    List<Token> tokens = new ArrayList<>(tokensPerPlayer);
+    for (int t = 0; hasTokens(playerIndex) && t < tokensPerPlayer; t++) {
+      tokens.add(getToken(playerIndex, t));
+    }
+    return tokens;
+  }
+
+  /**
+   * Bitmask of the current player's tokens that the next move may take: the move uses the first
+   * unused die, a token at home needs a six and a token on its path must not overshoot the end.
+   * Empty while the hand must be rolled further or the game is not running. Computed once per
+   * turn, dice change or board change and cached.
+   */
+  public int getMovableTokens() {
+    long key = movableTokensKey();
+    if (key != movableTokensKey) {
+      movableTokens = computeMovableTokens();
+      movableTokensKey = key;
+    }
+    return movableTokens;
+  }
+
+  public boolean isMovable(int tokenIndex) {
+    return tokenIndex >= 0
+        && tokenIndex < tokensPerPlayer
+        && (getMovableTokens() & (1 << tokenIndex)) != 0;
+  }
+
+  private long movableTokensKey() {
+    long flags = (started ? 1 : 0) | (end ? 2 : 0);
+    return (long) currentDiceRolls.toBits() << 8 | (long) currentPlayerIndex << 2 | flags;
+  }
+
+  private int computeMovableTokens() {
+    int player = currentPlayerIndex;
+    if (!started || end || !hasTokens(player) || currentDiceRolls.mustRoll()) {
+      return 0;
+    }
+    int move = currentDiceRolls.getMove(currentDiceRolls.firstUnused());
+    int movable = 0;
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      int position = getTokenPosition(player, t);
+      boolean fits =
+          position < 0 ? move == 6 : position != endPosition && position + move <= endPosition;
+      if (fits) {
+        movable |= 1 << t;
+      }
+    }
+    return movable;
+  }
+
+  public boolean allTokensAtHome(int playerIndex) {
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      if (getTokenPosition(playerIndex, t) != -1) {
+        return false;
+      }
+    }
+    return true;
+  }
 
   public boolean hasPlayerWon(int playerIndex) {
-    List<Token> tokens = playerPositions.get(playerIndex);
-    if (tokens == null || tokens.isEmpty()) {
+    if (!hasTokens(playerIndex)) {
       return false; // Player hasn't won if they have no tokens or positions not initialized
     }
-    return tokens.stream().allMatch(Token::isFinished);
+    for (int t = 0; t < tokensPerPlayer; t++) {
+      if (!Token.isFinished(getTokenPosition(playerIndex, t))) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public boolean isGameFinished() {
-    return players.size() - 1
-        <= playerPositions.values().stream()
-            .filter(positions -> positions != null && positions.stream().allMatch(Token::isFinished))
-            .count();
+    int finishedPlayers = 0;
+    for (int p = 0; p < maxPlayersFour; p++) {
+      if (hasPlayerWon(p)) {
+        finishedPlayers++;
+      }
+    }
+    return players.size() - 1 <= finishedPlayers;
+  }
+
+  /**
+   * Overwrites this game's rule state (seats, board, dice, turn, winners, counters) with {@code
+   * other}'s, e.g. to undo a partly applied batch. The epoch, cached snapshots, activity, history
+   * and the turn timer are left alone.
+   */
+  public void copyFrom(GameState other) {
+    started = other.started;
+    end = other.end;
+    currentPlayerId = other.currentPlayerId;
+    currentPlayerIndex = other.currentPlayerIndex;
+    players.clear();
+    players.addAll(other.players);
+    currentDiceRolls.loadBits(other.currentDiceRolls.toBits());
+    winners.clear();
+    winners.addAll(other.winners);
+    lastDiceRoll = other.lastDiceRoll;
+    diceRollCount = other.diceRollCount;
+    version = other.version;
+    System.arraycopy(other.tokenPositions, 0, tokenPositions, 0, tokenPositions.length);
+    System.arraycopy(other.seatColors, 0, seatColors, 0, seatColors.length);
+    System.arraycopy(other.cellOccupancy, 0, cellOccupancy, 0, cellOccupancy.length);
+    movableTokensKey = -1;
+  }
+
+  public static int slot(int playerIndex, int tokenIndex) {
+    return playerIndex * tokensPerPlayer + tokenIndex;
+  }
+
+  private void index(int playerIndex, int tokenIndex) {
+    int cell = globalCell(playerIndex, tokenIndex);
+    if (cell >= 0) {
+      cellOccupancy[cell] |= (short) (1 << slot(playerIndex, tokenIndex));
+    }
+  }
+
+  private void unindex(int playerIndex, int tokenIndex) {
+    int cell = globalCell(playerIndex, tokenIndex);
+    if (cell >= 0) {
+      cellOccupancy[cell] &= (short) ~(1 << slot(playerIndex, tokenIndex));
+    }
   }
 
-  public List<Player> getWinners() {
-    return winners;
+  private int globalCell(int playerIndex, int tokenIndex) {
+    Color color = seatColors[playerIndex];
+    return color == null ? -1 : Token.globalPosition(color, getTokenPosition(playerIndex, tokenIndex));
   }
 }
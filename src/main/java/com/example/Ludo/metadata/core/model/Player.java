@@ -12,4 +12,9 @@ public class Player {
   private final String id;
   private String name;
   private String color; // not default, will be assigned when join the game
+  private boolean bot; // seat played by the server, see BotPlayers
+
+  public Player(String id, String name, String color) {
+    this(id, name, color, false);
+  }
 }
@@ -2,6 +2,7 @@ package com.example.Ludo.metadata.core.model;
 
 import static com.example.Ludo.metadata.core.constants.ApplicationConstants.*;
 
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
 import com.example.Ludo.metadata.core.enums.Color;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,6 +10,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * A detached view of one token. The board itself is stored packed in {@link GameState}; the static
+ * helpers let rules work on raw positions without creating Token objects.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
@@ -17,14 +22,25 @@ public class Token {
   private int currentPosition;
   private Color color;
 
+  /** Cell on the shared track, or -1 for a token at home or in its own home column. */
+  public static int globalPosition(Color color, int currentPosition) {
+    if (currentPosition == -1 || currentPosition >= homeColumnStart) return -1;
+    return (color.getGlobalPosition() + currentPosition) % trackLength;
+  }
+
+  // Finishing is measured along the token's own path: the global track wraps at trackLength, so a global
+  // position can never reach endPosition.
+  public static boolean isFinished(int currentPosition) {
+    return currentPosition == endPosition;
+  }
+
   public int getGlobalPosition() {
-    if (currentPosition == -1) return -1;
-    return (color.getGlobalPosition() + currentPosition) % 52;
+    return globalPosition(color, currentPosition);
   }
 
   public static List<Token> getAllColorToken(Color color) {
     List<Token> tokens = new ArrayList<>();
-    for (int tokenIndex = 0; tokenIndex < 4; tokenIndex++) { // Changed from 5 to 4
+    for (int tokenIndex = 0; tokenIndex < tokensPerPlayer; tokenIndex++) {
       tokens.add(new Token(tokenIndex, -1, color));
     }
     return tokens;
@@ -39,10 +55,10 @@ public class Token {
   }
 
   public boolean isFinished() {
-    return getGlobalPosition() == endPosition;
+    return isFinished(currentPosition);
   }
 
   public boolean isSafeCell() {
-    return SafeCells.contains(getGlobalPosition());
+    return ApplicationConstants.isSafeCell(getGlobalPosition());
   }
 }
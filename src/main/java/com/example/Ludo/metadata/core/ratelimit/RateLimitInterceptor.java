@@ -0,0 +1,145 @@
+package com.example.Ludo.metadata.core.ratelimit;
+
+import com.example.Ludo.metadata.core.ratelimit.RateLimited.KeyedBy;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies {@link RateLimited} before a controller method runs. A request over its budget gets a
+ * 429 with {@code Retry-After} and a fixed body, without reaching {@code GameService}. An allowed
+ * request costs a parameter read, a hash and one compare-and-set.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+  private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+  private static final String RATE_LIMITED = "RATE_LIMITED";
+  private static final byte[] BODY =
+      ("{\"status\":429,\"error\":\"Too Many Requests\","
+              + "\"message\":\"Too many requests, retry later\",\"errorCode\":\"RATE_LIMITED\"}")
+          .getBytes(StandardCharsets.UTF_8);
+  // Methods without @RateLimited map to this, so the lookup is cached for them too
+  private static final Limit UNLIMITED = new Limit(null, null);
+
+  private final Environment environment;
+  private final GameMetrics gameMetrics;
+  private final boolean enabled;
+  private final int slots;
+  private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+  private final Map<Method, Limit> byMethod = new ConcurrentHashMap<>();
+
+  public RateLimitInterceptor(
+      Environment environment,
+      GameMetrics gameMetrics,
+      @Value("${ludo.ratelimit.enabled:true}") boolean enabled,
+      @Value("${ludo.ratelimit.slots:16384}") int slots) {
+    this.environment = environment;
+    this.gameMetrics = gameMetrics;
+    this.enabled = enabled;
+    this.slots = slots;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    // A long poll is dispatched a second time to write its answer; it was charged the first time
+    if (!enabled
+        || request.getDispatcherType() != DispatcherType.REQUEST
+        || !(handler instanceof HandlerMethod)) {
+      return true;
+    }
+    HandlerMethod method = (HandlerMethod) handler;
+    Limit limit = byMethod.computeIfAbsent(method.getMethod(), m -> limitFor(method));
+    if (limit == UNLIMITED) {
+      return true;
+    }
+    KeyedBy keyedBy = limit.keyedBy;
+    long waitNanos = limit.limiter.tryAcquire(key(request, keyedBy));
+    if (waitNanos == 0) {
+      return true;
+    }
+
+    long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / 1_000_000_000L);
+    logger.debug("Rate limited {} {}, retry in {}s", request.getRequestURI(), keyedBy, retryAfter);
+    gameMetrics.rejected(RATE_LIMITED);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(BODY.length);
+    response.getOutputStream().write(BODY);
+    return false;
+  }
+
+  private Limit limitFor(HandlerMethod method) {
+    RateLimited annotation = method.getMethodAnnotation(RateLimited.class);
+    if (annotation == null) {
+      return UNLIMITED;
+    }
+    return new Limit(
+        limiters.computeIfAbsent(annotation.endpoint(), this::newLimiter), annotation.keyedBy());
+  }
+
+  private RateLimiter newLimiter(String endpoint) {
+    String prefix = "ludo.ratelimit." + endpoint;
+    double perSecond =
+        environment.getProperty(
+            prefix + ".per-second",
+            Double.class,
+            environment.getProperty("ludo.ratelimit.default.per-second", Double.class, 10.0));
+    int burst =
+        environment.getProperty(
+            prefix + ".burst",
+            Integer.class,
+            environment.getProperty("ludo.ratelimit.default.burst", Integer.class, 20));
+    logger.info("Rate limit for {}: {}/s, burst {}", endpoint, perSecond, burst);
+    return new RateLimiter(perSecond, burst, slots);
+  }
+
+  private static int key(HttpServletRequest request, KeyedBy keyedBy) {
+    if (keyedBy == KeyedBy.CLIENT) {
+      return request.getRemoteAddr().hashCode();
+    }
+    String gameId = request.getParameter("gameId");
+    int key = gameId == null ? 0 : gameId.hashCode();
+    if (keyedBy == KeyedBy.SEAT) {
+      key = key * 31 + seat(request.getParameter("playerIndex"));
+    }
+    return key;
+  }
+
+  // Seats are single digits; anything else is charged to the game's no-seat bucket
+  private static int seat(String playerIndex) {
+    if (playerIndex == null || playerIndex.length() != 1) {
+      return -1;
+    }
+    int seat = playerIndex.charAt(0) - '0';
+    return seat >= 0 && seat <= 9 ? seat : -1;
+  }
+
+  private static final class Limit {
+    final RateLimiter limiter;
+    final KeyedBy keyedBy;
+
+    Limit(RateLimiter limiter, KeyedBy keyedBy) {
+      this.limiter = limiter;
+      this.keyedBy = keyedBy;
+    }
+  }
+}
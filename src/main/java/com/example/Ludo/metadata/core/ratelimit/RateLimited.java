@@ -0,0 +1,28 @@
+package com.example.Ludo.metadata.core.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method behind a {@link RateLimiter}. Methods naming the same endpoint share one
+ * limiter, configured as {@code ludo.ratelimit.<endpoint>.per-second} and {@code .burst}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+  String endpoint();
+
+  KeyedBy keyedBy() default KeyedBy.SEAT;
+
+  /** Whose budget a request is charged to. */
+  enum KeyedBy {
+    /** The seat ({@code gameId} and {@code playerIndex}), or the game if no seat is given. */
+    SEAT,
+    /** The game ({@code gameId}). */
+    GAME,
+    /** The client's address, for calls made before there is a game. */
+    CLIENT
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.Ludo.metadata.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket per key, kept lock-free in a fixed, striped table. Each slot holds one long: the
+ * time at which its bucket will be full again (the GCRA form of a token bucket), so taking a token
+ * is a read and a compare-and-set, with no allocation and nothing to evict.
+ *
+ * <p>Keys are hashed onto slots; two keys that collide share a bucket, which can only make the
+ * limit stricter for them. Size the table well above the number of active keys.
+ */
+public class RateLimiter {
+  private final AtomicLongArray slots;
+  private final int mask;
+  // Nanoseconds per token, and how far ahead of now a slot may run (the burst)
+  private final long interval;
+  private final long tolerance;
+  private final LongSupplier clock;
+  private final long origin;
+
+  public RateLimiter(double perSecond, int burst, int slotCount) {
+    this(perSecond, burst, slotCount, System::nanoTime);
+  }
+
+  RateLimiter(double perSecond, int burst, int slotCount, LongSupplier clock) {
+    if (perSecond <= 0 || burst < 1) {
+      throw new IllegalArgumentException("Rate and burst must be positive");
+    }
+    int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+    this.slots = new AtomicLongArray(size);
+    this.mask = size - 1;
+    this.interval = Math.max(1, (long) (1_000_000_000L / perSecond));
+    this.tolerance = interval * burst;
+    this.clock = clock;
+    // Slots start at 0, i.e. full, as long as "now" is measured from here
+    this.origin = clock.getAsLong();
+  }
+
+  /** Takes a token for {@code key}: 0 if there was one, else how many nanoseconds until there is. */
+  public long tryAcquire(int key) {
+    int slot = mix(key) & mask;
+    long now = clock.getAsLong() - origin;
+    while (true) {
+      long full = slots.get(slot);
+      long next = Math.max(full, now) + interval;
+      long ahead = next - now;
+      if (ahead > tolerance) {
+        return ahead - tolerance;
+      }
+      if (slots.compareAndSet(slot, full, next)) {
+        return 0;
+      }
+    }
+  }
+
+  // Spreads hash codes, which are often sequential for short ids, over the table
+  private static int mix(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
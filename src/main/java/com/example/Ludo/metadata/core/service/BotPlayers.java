@@ -0,0 +1,119 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.bot.ExpectimaxStrategy;
+import com.example.Ludo.metadata.core.dto.GameActionDTO;
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.model.DiceRolls;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.simulation.PlayerStrategy;
+import com.example.Ludo.metadata.exception.GameNotFoundException;
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plays the seats taken by bots. Whenever a game is published with a bot to act, a copy of the
+ * game is handed to a small dedicated pool, where the bot rolls or picks a token with a
+ * time-boxed {@link ExpectimaxStrategy}. The action then goes back through {@link GameService}
+ * like any other, so thinking never runs on a request thread or a game's mailbox.
+ */
+@Component
+public class BotPlayers {
+  private static final Logger logger = LoggerFactory.getLogger(BotPlayers.class);
+
+  private final ThreadPoolExecutor pool;
+  private final PlayerStrategy strategy;
+
+  // Lazy: GameService calls back into this class on every publish
+  @Lazy @Autowired private GameService gameService;
+
+  public BotPlayers(
+      @Value("${ludo.bots.threads:2}") int threads,
+      @Value("${ludo.bots.move-budget-ms:150}") long moveBudgetMillis,
+      @Value("${ludo.bots.queue-size:1024}") int queueSize) {
+    this.strategy = new ExpectimaxStrategy(TimeUnit.MILLISECONDS.toNanos(moveBudgetMillis));
+    AtomicInteger counter = new AtomicInteger();
+    this.pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            r -> {
+              Thread t = new Thread(r, "bot-player-" + counter.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  /** Called on the game's mailbox after each published change. */
+  public void onPublished(GameState game) {
+    if (!game.isStarted()
+        || game.isEnd()
+        || !game.getPlayers().get(game.getCurrentPlayerIndex()).isBot()) {
+      return;
+    }
+    GameState view = new GameState(game.getGameId());
+    view.copyFrom(game);
+    try {
+      pool.execute(() -> play(view));
+    } catch (RejectedExecutionException e) {
+      logger.warn("Bot queue full, game {} waits for its bot", game.getGameId());
+    }
+  }
+
+  private void play(GameState view) {
+    MDC.put(GameActorExecutor.MDC_GAME_ID, view.getGameId());
+    try {
+      GameActionDTO action = decide(view);
+      if (action != null) {
+        gameService.playBotAction(view.getGameId(), view.getVersion(), action);
+      }
+    } catch (InvalidActionException | GameNotFoundException e) {
+      logger.warn("Bot action failed in game {}: {}", view.getGameId(), e.getMessage());
+    } catch (RuntimeException e) {
+      // A bug in the bot; its seat is left to the turn timer
+      logger.error("Bot crashed in game {}", view.getGameId(), e);
+    } finally {
+      MDC.remove(GameActorExecutor.MDC_GAME_ID);
+    }
+  }
+
+  // The bot's next action in this position, or null if it has none
+  GameActionDTO decide(GameState view) {
+    int seat = view.getCurrentPlayerIndex();
+    DiceRolls dice = view.getCurrentDiceRolls();
+    if (dice.mustRoll()) {
+      return new GameActionDTO(GameEventType.ROLL, seat, null);
+    }
+    int move = dice.getMove(dice.firstUnused());
+    int movable = view.getMovableTokens();
+    if (movable == 0) {
+      return null;
+    }
+    int token = strategy.chooseToken(view, seat, move, movable, new SplittableRandom());
+    return new GameActionDTO(GameEventType.MOVE, seat, token);
+  }
+
+  public int pendingGames() {
+    return pool.getQueue().size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+}
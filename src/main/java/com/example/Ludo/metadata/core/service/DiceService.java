@@ -1,32 +1,50 @@
 package com.example.Ludo.metadata.core.service;
 
-import com.example.Ludo.metadata.core.Utils.LudoUtils;
+import com.example.Ludo.metadata.core.dice.FastDiceSource;
+import com.example.Ludo.metadata.core.interfaces.DiceSource;
 import com.example.Ludo.metadata.core.model.Dice;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.exception.InvalidActionException;
 import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class DiceService {
+  private static final Logger logger = LoggerFactory.getLogger(DiceService.class);
+
+  private final DiceSource diceSource;
+
+  public DiceService() {
+    this(new FastDiceSource());
+  }
+
+  @Autowired
+  public DiceService(DiceSource diceSource) {
+    this.diceSource = diceSource;
+  }
+
   public Dice rollDice(GameState game, int playerIndex) {
     if (game.isEnd()) {
-      System.out.println("❌ [DiceService] Cannot roll - game over");
+      logger.debug("Cannot roll - game over");
       throw new InvalidActionException("Cannot roll dice, game is over");
     }
 
     if (!Objects.equals(game.getCurrentPlayerIndex(), playerIndex)) {
-      System.out.println("❌ [DiceService] Wrong player turn");
+      logger.debug("Wrong player turn");
       throw new InvalidActionException("Not a turn for this playerId");
     }
 
     String currentPlayerName = game.getPlayers().get(playerIndex).getName();
-    int diceValue = LudoUtils.getRandomValue();
+    int diceValue = diceSource.roll(game);
+    game.setDiceRollCount(game.getDiceRollCount() + 1);
 
+    game.getCurrentDiceRolls().add(diceValue);
     Dice dice = new Dice(diceValue, false);
-    game.getCurrentDiceRolls().add(dice);
 
-    System.out.println("🎲 [DiceService] " + currentPlayerName + " rolled: " + diceValue);
+    logger.debug("{} rolled {}", currentPlayerName, diceValue);
     return dice;
   }
 }
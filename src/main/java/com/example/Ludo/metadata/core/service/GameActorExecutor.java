@@ -0,0 +1,163 @@
+package com.example.Ludo.metadata.core.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every command for a game on that game's own serial mailbox (a lightweight actor). Commands
+ * for one game never overlap and run in submission order, so {@code GameState} needs no locking;
+ * different games are drained in parallel by a bounded pool sized to the machine.
+ */
+@Component
+public class GameActorExecutor {
+  // Commands drained per turn on a pool thread before yielding to other games
+  private static final int MAX_BATCH = 32;
+  public static final String MDC_GAME_ID = "gameId";
+
+  private final ExecutorService pool;
+  private final Map<String, GameActor> actors = new ConcurrentHashMap<>();
+  private final ThreadLocal<GameActor> runningActor = new ThreadLocal<>();
+
+  public GameActorExecutor(@Value("${ludo.actors.threads:0}") int threads) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger counter = new AtomicInteger();
+    this.pool =
+        Executors.newFixedThreadPool(
+            poolSize,
+            r -> {
+              Thread t = new Thread(r, "game-actor-" + counter.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  /**
+   * Runs the command on the game's mailbox and waits for its result. Exceptions thrown by the
+   * command are rethrown unchanged on the calling thread.
+   */
+  public <T> T execute(String gameId, Supplier<T> command) {
+    return join(submit(gameId, command));
+  }
+
+  public <T> CompletableFuture<T> submit(String gameId, Supplier<T> command) {
+    GameActor actor = actors.computeIfAbsent(gameId, GameActor::new);
+    // Already on this game's mailbox (a command issuing a nested command): run inline
+    if (runningActor.get() == actor) {
+      try {
+        return CompletableFuture.completedFuture(command.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    CompletableFuture<T> result = new CompletableFuture<>();
+    actor.enqueue(
+        () -> {
+          try {
+            result.complete(command.get());
+          } catch (Throwable t) {
+            result.completeExceptionally(t);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Retires the mailbox of a game that no longer exists. Call it on that mailbox, in the step that
+   * removed the game: commands still queued on it, or enqueued by a caller that looked it up just
+   * before, are handed to a fresh mailbox for the id instead of running here, so a game that comes
+   * back is never worked on by two mailboxes at once.
+   */
+  public void release(String gameId) {
+    GameActor actor = actors.get(gameId);
+    if (actor != null) {
+      actor.retired = true;
+      actors.remove(gameId, actor);
+    }
+  }
+
+  public int actorCount() {
+    return actors.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  private final class GameActor implements Runnable {
+    private final String gameId;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    // Set by release; read by this mailbox only, after the step that set it
+    private volatile boolean retired;
+
+    GameActor(String gameId) {
+      this.gameId = gameId;
+    }
+
+    void enqueue(Runnable command) {
+      mailbox.offer(command);
+      if (scheduled.compareAndSet(false, true)) {
+        pool.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      runningActor.set(this);
+      // Every log line written by a command carries the game it belongs to
+      MDC.put(MDC_GAME_ID, gameId);
+      try {
+        for (int i = 0; i < MAX_BATCH; i++) {
+          Runnable command = mailbox.poll();
+          if (command == null) {
+            break;
+          }
+          if (retired) {
+            // Behind whatever the new mailbox already holds, but never beside it
+            actors.computeIfAbsent(gameId, GameActor::new).enqueue(command);
+          } else {
+            command.run();
+          }
+        }
+      } finally {
+        runningActor.remove();
+        MDC.remove(MDC_GAME_ID);
+        scheduled.set(false);
+        // A command may have arrived after the last poll but before the flag was cleared
+        if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+          pool.execute(this);
+        }
+      }
+    }
+  }
+}
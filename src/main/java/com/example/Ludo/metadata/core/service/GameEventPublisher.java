@@ -0,0 +1,61 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.dto.MatchTicketDTO;
+import com.example.Ludo.metadata.core.model.GameSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Pushes game state to everyone subscribed to {@code /topic/games/{gameId}} and to long-poll
+ * readers waiting in {@link GameStateWaiters}. Called by {@link GameService} after a mutation has
+ * been applied, with the snapshot already serialized for that version, so pushing costs no extra
+ * mapping or serialization.
+ */
+@Service
+public class GameEventPublisher {
+  private static final Logger logger = LoggerFactory.getLogger(GameEventPublisher.class);
+
+  @Autowired private SimpMessagingTemplate messagingTemplate;
+  @Autowired private GameStateWaiters gameStateWaiters;
+
+  public void publish(String gameId, GameSnapshot snapshot) {
+    gameStateWaiters.publish(gameId, snapshot);
+    try {
+      // send() rather than convertAndSend(): the payload is already JSON and must not be converted
+      messagingTemplate.send(
+          ApplicationConstants.gameTopicPrefix + gameId,
+          MessageBuilder.createMessage(snapshot.getJson(), jsonHeaders()));
+    } catch (MessagingException e) {
+      // A failed push must never fail the action itself; clients can still fall back to polling.
+      logger.warn("Push failed for game {}: {}", gameId, e.getMessage());
+    }
+  }
+
+  /** Tells a matchmaking ticket's holder, subscribed to {@code /topic/matchmaking/{ticketId}}. */
+  public void publishMatch(MatchTicketDTO ticket) {
+    try {
+      messagingTemplate.convertAndSend(
+          ApplicationConstants.matchmakingTopicPrefix + ticket.getTicketId(), ticket);
+    } catch (MessagingException e) {
+      logger.warn("Push failed for ticket {}: {}", ticket.getTicketId(), e.getMessage());
+    }
+  }
+
+  private static MessageHeaders jsonHeaders() {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    // Left mutable so the template can add the destination
+    accessor.setLeaveMutable(true);
+    return accessor.getMessageHeaders();
+  }
+}
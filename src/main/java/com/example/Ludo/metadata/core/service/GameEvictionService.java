@@ -0,0 +1,196 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.interfaces.ColdGameStore;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the live game registry bounded. A background sweeper drops games that have been idle past
+ * the TTL for their phase (lobby, in progress, finished) and, when the registry is still over
+ * {@code maxGames}, the least recently active games beyond the cap, finished games first. Each
+ * eviction runs on the game's own mailbox so it cannot interleave with a move; evicted games are
+ * handed to the {@link ColdGameStore} when one is configured, otherwise their join code is freed.
+ */
+@Component
+public class GameEvictionService {
+  private static final Logger logger = LoggerFactory.getLogger(GameEvictionService.class);
+  // Eviction order under memory pressure: finished games go first, games in progress last
+  private static final int FINISHED = 0;
+  private static final int LOBBY = 1;
+  private static final int ACTIVE = 2;
+
+  private final GameStore gameStore;
+  private final GameActorExecutor gameActors;
+  private final GameIdAllocator gameIdAllocator;
+  private final TurnTimers turnTimers;
+  private final GameStateWaiters gameStateWaiters;
+  private final ColdGameStore coldStore;
+  private final long[] ttlMillis = new long[3];
+  private final int maxGames;
+  private final long sweepIntervalMillis;
+  private final AtomicBoolean sweepRequested = new AtomicBoolean(false);
+  private ScheduledExecutorService sweeper;
+
+  public GameEvictionService(
+      GameStore gameStore,
+      GameActorExecutor gameActors,
+      GameIdAllocator gameIdAllocator,
+      TurnTimers turnTimers,
+      GameStateWaiters gameStateWaiters,
+      Optional<ColdGameStore> coldStore,
+      @Value("${ludo.eviction.lobby-ttl-minutes:30}") long lobbyTtlMinutes,
+      @Value("${ludo.eviction.active-ttl-minutes:120}") long activeTtlMinutes,
+      @Value("${ludo.eviction.finished-ttl-minutes:10}") long finishedTtlMinutes,
+      @Value("${ludo.eviction.max-games:100000}") int maxGames,
+      @Value("${ludo.eviction.sweep-interval-ms:30000}") long sweepIntervalMillis) {
+    if (maxGames < 1) {
+      throw new IllegalArgumentException("ludo.eviction.max-games must be positive");
+    }
+    this.gameStore = gameStore;
+    this.gameActors = gameActors;
+    this.gameIdAllocator = gameIdAllocator;
+    this.turnTimers = turnTimers;
+    this.gameStateWaiters = gameStateWaiters;
+    this.coldStore = coldStore.orElse(null);
+    this.ttlMillis[LOBBY] = TimeUnit.MINUTES.toMillis(lobbyTtlMinutes);
+    this.ttlMillis[ACTIVE] = TimeUnit.MINUTES.toMillis(activeTtlMinutes);
+    this.ttlMillis[FINISHED] = TimeUnit.MINUTES.toMillis(finishedTtlMinutes);
+    this.maxGames = maxGames;
+    this.sweepIntervalMillis = sweepIntervalMillis;
+  }
+
+  @PostConstruct
+  public void start() {
+    sweeper =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread t = new Thread(r, "game-sweeper");
+              t.setDaemon(true);
+              return t;
+            });
+    sweeper.scheduleWithFixedDelay(
+        this::runScheduledSweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (sweeper != null) {
+      sweeper.shutdownNow();
+    }
+  }
+
+  /**
+   * Called after a game is created. Once the registry is over the cap an extra sweep is queued on
+   * the sweeper thread rather than run here, so creating a game never pays for eviction.
+   */
+  public void onGameCreated() {
+    if (sweeper != null && gameStore.size() > maxGames && sweepRequested.compareAndSet(false, true)) {
+      sweeper.execute(this::runScheduledSweep);
+    }
+  }
+
+  private void runScheduledSweep() {
+    sweepRequested.set(false);
+    try {
+      sweep(System.currentTimeMillis());
+    } catch (RuntimeException e) {
+      // Keep the schedule alive; the next sweep retries
+      logger.error("Sweep failed", e);
+    }
+  }
+
+  /**
+   * Evicts expired games, then enough of the least recently active ones to get back under the cap.
+   * The returned future completes with the number of games actually evicted.
+   */
+  public CompletableFuture<Integer> sweep(long nowMillis) {
+    int size = gameStore.size();
+    int overCap = Math.max(0, size - maxGames);
+    // Max-heap on eviction priority holding the overCap best candidates among the survivors
+    Comparator<GameState> evictFirst =
+        Comparator.<GameState>comparingInt(GameEvictionService::phase)
+            .thenComparingLong(GameState::getLastActivityMillis);
+    PriorityQueue<GameState> lru = new PriorityQueue<>(Math.max(1, overCap), evictFirst.reversed());
+    List<GameState> victims = new ArrayList<>();
+
+    for (GameState game : gameStore.findAll()) {
+      if (isExpired(game, nowMillis)) {
+        victims.add(game);
+        overCap--;
+      } else if (overCap > 0) {
+        lru.offer(game);
+        if (lru.size() > overCap) {
+          lru.poll();
+        }
+      }
+    }
+    while (lru.size() > Math.max(0, overCap)) {
+      lru.poll();
+    }
+    victims.addAll(lru);
+
+    List<CompletableFuture<Boolean>> evictions = new ArrayList<>(victims.size());
+    for (GameState game : victims) {
+      evictions.add(evict(game.getGameId(), game.getLastActivityMillis()));
+    }
+    if (!victims.isEmpty()) {
+      logger.info("Evicting {} of {} games", victims.size(), size);
+    }
+    return CompletableFuture.allOf(evictions.toArray(new CompletableFuture[0]))
+        .thenApply(v -> (int) evictions.stream().filter(CompletableFuture::join).count());
+  }
+
+  // Runs on the game's mailbox; skips the game if a command touched it after it was picked
+  private CompletableFuture<Boolean> evict(String gameId, long seenActivityMillis) {
+    return gameActors
+        .submit(
+            gameId,
+            () -> {
+              GameState game = gameStore.find(gameId);
+              if (game == null || game.getLastActivityMillis() != seenActivityMillis) {
+                return false;
+              }
+              if (coldStore != null) {
+                coldStore.offload(game);
+              }
+              gameStore.remove(gameId);
+              turnTimers.cancel(game);
+              // In the same step, so a request queued behind this one reaches a fresh mailbox
+              gameActors.release(gameId);
+              // A cold game keeps its code so that it can come back under the same id, and its long
+              // polls: it cannot change without being restored, which publishes as usual
+              if (coldStore == null) {
+                gameIdAllocator.release(gameId);
+                gameStateWaiters.gone(gameId);
+              }
+              return true;
+            });
+  }
+
+  private boolean isExpired(GameState game, long nowMillis) {
+    return nowMillis - game.getLastActivityMillis() >= ttlMillis[phase(game)];
+  }
+
+  private static int phase(GameState game) {
+    if (game.isEnd()) {
+      return FINISHED;
+    }
+    return game.isStarted() ? ACTIVE : LOBBY;
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.cluster.ShardRing;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out short join codes such as {@code K7QX3}. Codes use an alphabet without look-alike
+ * characters (no 0/O, 1/I/L, U) so they can be read out and typed.
+ *
+ * <p>A lock-free counter walks the code space through a fixed bijection (multiply by a constant
+ * coprime to the space size), so consecutive games get unrelated-looking codes and two counter
+ * values can never map to the same code. {@code GameStore.create} stays the final arbiter, for
+ * codes that were issued before a restart. Released codes are queued and handed out again, oldest
+ * first, before the counter advances, which keeps the space from draining over a long uptime.
+ *
+ * <p>When games are sharded, codes the {@link ShardRing} places on another node are skipped, so a
+ * node only hands out codes it owns and a new game is never one hop away from its creator. Each
+ * node walks the whole space from its own offset and keeps about {@code 1/n} of it.
+ */
+@Component
+public class GameIdAllocator {
+  static final String ALPHABET = "23456789ABCDEFGHJKMNPQRSTVWXYZ";
+  private static final int BASE = ALPHABET.length();
+  // Prime, so coprime to BASE^length (whose only prime factors are 2, 3 and 5)
+  private static final long MULTIPLIER = 15_485_863L;
+
+  private final ShardRing shardRing;
+  private final int length;
+  private final long space;
+  private final long offset;
+  private final AtomicLong next = new AtomicLong();
+  private final Queue<String> released = new ConcurrentLinkedQueue<>();
+
+  public GameIdAllocator(int length) {
+    this(new ShardRing(), length);
+  }
+
+  @Autowired
+  public GameIdAllocator(ShardRing shardRing, @Value("${ludo.gameid.length:5}") int length) {
+    if (length < 3 || length > 7) {
+      throw new IllegalArgumentException("Game id length must be between 3 and 7: " + length);
+    }
+    this.shardRing = shardRing;
+    this.length = length;
+    long size = 1;
+    for (int i = 0; i < length; i++) {
+      size *= BASE;
+    }
+    this.space = size;
+    // Random start, so a restarted node rarely re-issues codes of games recovered from a store
+    this.offset = ThreadLocalRandom.current().nextLong(space);
+  }
+
+  /** A code this node owns and no other live game holds, unless the space is exhausted. */
+  public String allocate() {
+    String reused = released.poll();
+    if (reused != null) {
+      return reused;
+    }
+    while (true) {
+      long n = next.getAndIncrement();
+      if (n >= space) {
+        throw new IllegalStateException("All " + space + " game ids are in use");
+      }
+      String code = encode(((n + offset) % space) * MULTIPLIER % space);
+      if (shardRing.owns(code)) {
+        return code;
+      }
+    }
+  }
+
+  /** Returns the code of a game that no longer exists to the pool. */
+  public void release(String gameId) {
+    if (isValid(gameId) && shardRing.owns(gameId)) {
+      released.offer(gameId);
+    }
+  }
+
+  public boolean isValid(String gameId) {
+    if (gameId == null || gameId.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < gameId.length(); i++) {
+      if (ALPHABET.indexOf(gameId.charAt(i)) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String encode(long value) {
+    char[] code = new char[length];
+    for (int i = length - 1; i >= 0; i--) {
+      code[i] = ALPHABET.charAt((int) (value % BASE));
+      value /= BASE;
+    }
+    return new String(code);
+  }
+}
@@ -0,0 +1,217 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.ActionResult;
+import com.example.Ludo.metadata.core.model.GameState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters for game operations, scraped from {@code /actuator/prometheus}. Timers and
+ * counters are registered once up front, so recording on the request path is a plain field access
+ * with no registry lookup.
+ */
+@Component
+public class GameMetrics {
+  public enum Operation {
+    CREATE,
+    JOIN,
+    START,
+    ROLL,
+    MOVE,
+    BATCH,
+    BOT,
+    STATE,
+    HISTORY
+  }
+
+  /**
+   * Rule events seen while a command is applied. Kept apart from the counters until the command is
+   * published, so a batch that is rolled back counts nothing.
+   */
+  public static final class RuleEvents {
+    private int cuts;
+    private int threeSixes;
+
+    public void cut() {
+      cuts++;
+    }
+
+    public void threeSixes() {
+      threeSixes++;
+    }
+  }
+
+  // Registry-wide counts are a full scan, so scrapes within this window share one
+  private static final long GAME_COUNT_CACHE_MILLIS = 1000;
+
+  private final MeterRegistry registry;
+  private final GameStore gameStore;
+  private final Timer[] succeeded = new Timer[Operation.values().length];
+  private final Timer[] failed = new Timer[Operation.values().length];
+  private final Counter cuts;
+  private final Counter threeSixes;
+  private final Counter turnTimeouts;
+  private final Timer matchmakingWait;
+  private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+  private final Map<String, Counter> routed = new ConcurrentHashMap<>();
+
+  private volatile GameCounts gameCounts = new GameCounts(0, 0, 0);
+
+  public GameMetrics(MeterRegistry registry, GameStore gameStore) {
+    this.registry = registry;
+    this.gameStore = gameStore;
+    for (Operation operation : Operation.values()) {
+      succeeded[operation.ordinal()] = timer(operation, "success");
+      failed[operation.ordinal()] = timer(operation, "error");
+    }
+    cuts = Counter.builder("ludo.cuts").description("Moves that sent opponent tokens home").register(registry);
+    threeSixes =
+        Counter.builder("ludo.three.sixes")
+            .description("Turns forfeited by rolling three sixes")
+            .register(registry);
+    turnTimeouts =
+        Counter.builder("ludo.turn.timeouts")
+            .description("Turns played or skipped for a seat that let its deadline pass")
+            .register(registry);
+    matchmakingWait =
+        Timer.builder("ludo.matchmaking.wait")
+            .description("Time from joining matchmaking to being seated in a game")
+            .publishPercentileHistogram()
+            .register(registry);
+    Gauge.builder("ludo.games", gameStore, GameStore::size)
+        .description("Games in the live registry")
+        .tag("state", "live")
+        .register(registry);
+    // started = in progress; finished games are only counted as finished
+    Gauge.builder("ludo.games", this, m -> m.counts().started)
+        .description("Games in the live registry")
+        .tag("state", "started")
+        .register(registry);
+    Gauge.builder("ludo.games", this, m -> m.counts().finished)
+        .description("Games in the live registry")
+        .tag("state", "finished")
+        .register(registry);
+  }
+
+  /** Times {@code action} as one {@code operation}, tagged by whether it threw. */
+  public <T> T record(Operation operation, Supplier<T> action) {
+    long start = System.nanoTime();
+    try {
+      T result = action.get();
+      succeeded[operation.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (RuntimeException e) {
+      failed[operation.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  /** As {@link #record}, counting a rejected result as a failure like a thrown exception. */
+  public <T> ActionResult<T> recordAction(Operation operation, Supplier<ActionResult<T>> action) {
+    long start = System.nanoTime();
+    ActionResult<T> result;
+    try {
+      result = action.get();
+    } catch (RuntimeException e) {
+      failed[operation.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+    Timer timer = result.isRejected() ? failed[operation.ordinal()] : succeeded[operation.ordinal()];
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  /** Counts the cuts and three-six forfeits of a command once its changes are published. */
+  public void count(RuleEvents events) {
+    if (events.cuts > 0) {
+      cuts.increment(events.cuts);
+    }
+    if (events.threeSixes > 0) {
+      threeSixes.increment(events.threeSixes);
+    }
+  }
+
+  public void turnTimedOut() {
+    turnTimeouts.increment();
+  }
+
+  public void matched(long waitedNanos) {
+    matchmakingWait.record(waitedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Counts a request rejected by {@code GlobalExceptionHandler}, by its error code. */
+  public void rejected(String errorCode) {
+    rejections
+        .computeIfAbsent(
+            errorCode,
+            code ->
+                Counter.builder("ludo.rejected.actions")
+                    .description("Requests rejected with an error response")
+                    .tag("code", code)
+                    .register(registry))
+        .increment();
+  }
+
+  /** Counts a request for another node's game, by how it was sent there. */
+  public void routed(String mode) {
+    routed
+        .computeIfAbsent(
+            mode,
+            m ->
+                Counter.builder("ludo.cluster.routed")
+                    .description("Requests sent on to the node that holds their game")
+                    .tag("mode", m)
+                    .register(registry))
+        .increment();
+  }
+
+  private Timer timer(Operation operation, String outcome) {
+    return Timer.builder("ludo.game.operation")
+        .description("Latency of GameService operations")
+        .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private GameCounts counts() {
+    GameCounts current = gameCounts;
+    long now = System.currentTimeMillis();
+    if (now - current.takenAtMillis < GAME_COUNT_CACHE_MILLIS) {
+      return current;
+    }
+    int started = 0;
+    int finished = 0;
+    for (GameState game : gameStore.findAll()) {
+      if (game.isEnd()) {
+        finished++;
+      } else if (game.isStarted()) {
+        started++;
+      }
+    }
+    current = new GameCounts(started, finished, now);
+    gameCounts = current;
+    return current;
+  }
+
+  private static final class GameCounts {
+    final int started;
+    final int finished;
+    final long takenAtMillis;
+
+    GameCounts(int started, int finished, long takenAtMillis) {
+      this.started = started;
+      this.finished = finished;
+      this.takenAtMillis = takenAtMillis;
+    }
+  }
+}
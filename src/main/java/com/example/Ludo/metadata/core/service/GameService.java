@@ -1,109 +1,226 @@
 package com.example.Ludo.metadata.core.service;
 
-import static com.example.Ludo.metadata.core.Utils.LudoUtils.cleanCurrentDiceRolls;
-import static com.example.Ludo.metadata.core.Utils.LudoUtils.handleThreeSixesScenario;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.deltaHistoryVersions;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxBatchActions;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxHistoryPage;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxTimedOutSteps;
 
+import com.example.Ludo.metadata.core.dto.GameActionDTO;
+import com.example.Ludo.metadata.core.dto.GameHistoryPageDTO;
 import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.GameStateDeltaDTO;
+import com.example.Ludo.metadata.core.dto.GameStateDiff;
 import com.example.Ludo.metadata.core.dto.GameStateMapper;
+import com.example.Ludo.metadata.core.dto.HistoryEventDTO;
 import com.example.Ludo.metadata.core.enums.Color;
-import com.example.Ludo.metadata.core.model.Dice;
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.history.GameReplayer;
+import com.example.Ludo.metadata.core.interfaces.ColdGameStore;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.ActionResult;
+import com.example.Ludo.metadata.core.model.DiceRolls;
+import com.example.Ludo.metadata.core.model.GameSnapshot;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.LastDiceRoll;
 import com.example.Ludo.metadata.core.model.Player;
-import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.core.service.GameMetrics.Operation;
+import com.example.Ludo.metadata.core.service.GameMetrics.RuleEvents;
+import com.example.Ludo.metadata.core.simulation.BuiltInStrategy;
+import com.example.Ludo.metadata.core.simulation.TurnSteps;
+import com.example.Ludo.metadata.core.timer.TimingWheel;
+import com.example.Ludo.metadata.exception.BatchActionException;
 import com.example.Ludo.metadata.exception.GameNotFoundException;
 import com.example.Ludo.metadata.exception.InvalidActionException;
+import com.example.Ludo.metadata.exception.Rejection;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GameService {
+  private static final Logger logger = LoggerFactory.getLogger(GameService.class);
 
   @Autowired private LudoRule ludoRule;
   @Autowired private PlayerService playerService;
   @Autowired private DiceService diceService;
   @Autowired private TokenService tokenService;
-
-  private final Map<String, GameState> games = new ConcurrentHashMap<>();
-  private final Random random = new Random();
+  @Autowired private GameEventPublisher gameEventPublisher;
+  @Autowired private GameActorExecutor gameActors;
+  @Autowired private GameStore gameStore;
+  @Autowired private GameIdAllocator gameIdAllocator;
+  @Autowired private GameEvictionService gameEviction;
+  @Autowired private GameMetrics gameMetrics;
+  @Autowired private GameStateJson gameStateJson;
+  @Autowired private GameStateWaiters gameStateWaiters;
+  @Autowired private BotPlayers botPlayers;
+  @Autowired private TurnTimers turnTimers;
+  @Autowired(required = false) private ColdGameStore coldStore;
+  private volatile TurnSteps turnSteps;
 
   public GameStateDTO createGame() {
+    return gameMetrics.record(Operation.CREATE, this::createGameDTO);
+  }
+
+  private GameStateDTO createGameDTO() {
     try {
       GameState game = createGameInternal();
       return GameStateMapper.mapToDTO(game);
     } catch (Exception e) {
-      System.out.println("❌ Failed to create game: " + e.getMessage());
+      logger.warn("Failed to create game: {}", e.getMessage());
       throw e;
     }
   }
 
   private GameState createGameInternal() {
-    String gameId = generateUniqueGameId();
-    GameState newGame = new GameState(
-        gameId,
-        false,
-        false,
-        null,
-        0,
-        new CopyOnWriteArrayList<>(),
-        new CopyOnWriteArrayList<>(),
-        new ConcurrentHashMap<>(),
-        new CopyOnWriteArrayList<>(),
-        null // lastDiceRoll
-    );
-
-    games.put(gameId, newGame);
+    GameState newGame;
+    do {
+      newGame = new GameState(gameIdAllocator.allocate());
+      newGame.setHistory(new GameHistory());
+    } while (!gameStore.create(newGame)); // id still held by a game restored from a store
+    gameEviction.onGameCreated();
     return newGame;
   }
 
-  private String generateUniqueGameId() {
-    String gameId;
-    do {
-      int fourDigitNumber = 1 + random.nextInt(9);
-      gameId = String.valueOf(fourDigitNumber);
-    } while (games.containsKey(gameId));
-    return gameId;
+  public GameStateDTO addPlayer(String gameId, String playerName) {
+    return gameMetrics.record(
+        Operation.JOIN, () -> onGameActor(gameId, () -> addPlayerInternal(gameId, playerName)));
   }
 
-  public GameStateDTO addPlayer(String gameId, String playerName) {
-    System.out.println("👤 [GameService] Adding player: " + playerName + " to game: " + gameId);
+  /**
+   * As {@link #addPlayer(String, String)}, answered as a delta against {@code baseVersion} of
+   * {@code baseEpoch} (null for the current game's).
+   */
+  public GameStateDeltaDTO addPlayer(
+      String gameId, String playerName, long baseVersion, Integer baseEpoch) {
+    return gameMetrics.record(
+        Operation.JOIN,
+        () ->
+            onGameActor(
+                gameId,
+                () ->
+                    delta(
+                        gameId,
+                        baseVersion,
+                        baseEpoch,
+                        () -> addPlayerInternal(gameId, playerName))));
+  }
+
+  private GameStateDTO addPlayerInternal(String gameId, String playerName) {
+    logger.debug("Adding player {}", playerName);
 
-    GameState game = games.get(gameId);
+    GameState game = gameStore.find(gameId);
     if (game == null) {
-      System.out.println("❌ [GameService] Game not found: " + gameId);
+      logger.debug("Game not found");
       throw new GameNotFoundException("Game not found");
     }
 
     if (game.isStarted()) {
-      System.out.println("❌ [GameService] Cannot add player - game already started");
+      logger.debug("Cannot add player - game already started");
       throw new InvalidActionException("Cannot add player after game has started");
     }
 
     playerService.addPlayer(game, playerName);
-    System.out.println("✅ [GameService] Player added - New count: " + game.getPlayers().size());
+    game.record(HistoryEventType.JOIN, game.getPlayers().size() - 1);
+    logger.info("Player {} joined - {} player(s)", playerName, game.getPlayers().size());
 
-    return GameStateMapper.mapToDTO(game);
+    return publish(game, GameEventType.JOIN);
+  }
+
+  /** Seats a server-side bot, which then plays its own turns. */
+  public GameStateDTO addBot(String gameId) {
+    return gameMetrics.record(
+        Operation.JOIN, () -> onGameActor(gameId, () -> addBotInternal(gameId)));
+  }
+
+  private GameStateDTO addBotInternal(String gameId) {
+    GameState game = gameStore.find(gameId);
+    if (game == null) {
+      throw new GameNotFoundException("Game not found");
+    }
+    if (game.isStarted()) {
+      throw new InvalidActionException("Cannot add a bot after game has started");
+    }
+
+    Player bot = playerService.addBot(game);
+    game.record(HistoryEventType.JOIN, game.getPlayers().size() - 1);
+    logger.info("Bot {} joined - {} player(s)", bot.getName(), game.getPlayers().size());
+
+    return publish(game, GameEventType.JOIN);
+  }
+
+  /**
+   * Creates, seats and starts a game as one command on its mailbox: the named players take the
+   * first seats in order and bots the rest. The game is published once, already started, so
+   * matchmaking forms a game without the lobby round trips. If seating or starting fails, the game
+   * is removed and its id released in the same step, so no empty lobby is left behind; its id was
+   * never handed out.
+   */
+  public GameStateDTO createMatchedGame(List<String> playerNames, int bots) {
+    return gameMetrics.record(
+        Operation.CREATE,
+        () -> {
+          GameState game = createGameInternal();
+          String gameId = game.getGameId();
+          return onGameActor(
+              gameId,
+              () -> {
+                try {
+                  for (String playerName : playerNames) {
+                    playerService.addPlayer(game, playerName);
+                    game.record(HistoryEventType.JOIN, game.getPlayers().size() - 1);
+                  }
+                  for (int i = 0; i < bots; i++) {
+                    playerService.addBot(game);
+                    game.record(HistoryEventType.JOIN, game.getPlayers().size() - 1);
+                  }
+                  return startGameInternal(gameId);
+                } catch (RuntimeException e) {
+                  logger.warn("Failed to form matched game: {}", e.getMessage());
+                  gameStore.remove(gameId);
+                  gameActors.release(gameId);
+                  gameIdAllocator.release(gameId);
+                  throw e;
+                }
+              });
+        });
   }
 
   public GameStateDTO startGame(String gameId) {
-    System.out.println("🚀 [GameService] Starting game: " + gameId);
+    return gameMetrics.record(Operation.START, () -> onGameActor(gameId, () -> startGameInternal(gameId)));
+  }
 
-    GameState game = games.get(gameId);
+  /** As {@link #startGame(String)}, answered as a delta against {@code baseVersion}. */
+  public GameStateDeltaDTO startGame(String gameId, long baseVersion, Integer baseEpoch) {
+    return gameMetrics.record(
+        Operation.START,
+        () ->
+            onGameActor(
+                gameId,
+                () -> delta(gameId, baseVersion, baseEpoch, () -> startGameInternal(gameId))));
+  }
+
+  private GameStateDTO startGameInternal(String gameId) {
+    logger.debug("Starting game");
+
+    GameState game = gameStore.find(gameId);
     if (game == null) {
-      System.out.println("❌ [GameService] Game not found: " + gameId);
+      logger.debug("Game not found");
       throw new GameNotFoundException("Game not found");
     }
 
     if (game.isStarted()) {
-      System.out.println("❌ [GameService] Game already started");
+      logger.debug("Game already started");
       throw new InvalidActionException("Game is already started");
     }
 
     if (game.getPlayers().size() < 2) {
-      System.out.println("❌ [GameService] Not enough players: " + game.getPlayers().size());
+      logger.debug("Not enough players: {}", game.getPlayers().size());
       throw new InvalidActionException("Not Enough Players");
     }
 
@@ -113,241 +230,709 @@ public class GameService {
       Color playerColor = Color.valueOf(player.getColor());
 
       // Use actual player index (i) instead of color.getPlayerIndex()
-      game.getPlayerPositions().put(i, Token.getAllColorToken(playerColor));
+      game.initializeTokens(i, playerColor);
 
-      System.out.println("🎯 [GameService] Initialized player " + i + " (" + player.getName() +
-                        ") with color " + playerColor + " - All tokens at home");
+      if (logger.isDebugEnabled()) {
+        logger.debug("Seat {} ({}) is {} - all tokens at home", i, player.getName(), playerColor);
+      }
     }
 
     game.setStarted(true);
     game.setCurrentPlayerId(game.getPlayers().get(0).getId());
     game.setCurrentPlayerIndex(0);
+    game.record(HistoryEventType.START, 0);
 
-    System.out.println("✅ [GameService] Game started - First player: " + game.getPlayers().get(0).getName());
-    return GameStateMapper.mapToDTO(game);
+    logger.info("Game started - first player: {}", game.getPlayers().get(0).getName());
+    return publish(game, GameEventType.START);
   }
 
   public GameStateDTO rollTheDice(String gameId, int playerIndex) {
-    GameState game = games.get(gameId);
-    if (game == null) {
-      throw new GameNotFoundException("Game not found");
+    return tryRollTheDice(gameId, playerIndex).orThrow();
+  }
+
+  /**
+   * As {@link #rollTheDice(String, int)}, but a roll the rules refuse comes back as a rejected
+   * result instead of an exception. Only faults, such as an unknown game, still throw.
+   */
+  public ActionResult<GameStateDTO> tryRollTheDice(String gameId, int playerIndex) {
+    return gameMetrics.recordAction(
+        Operation.ROLL, () -> onGameActor(gameId, () -> rollTheDiceInternal(gameId, playerIndex)));
+  }
+
+  /** As {@link #rollTheDice(String, int)}, answered as a delta against {@code baseVersion}. */
+  public GameStateDeltaDTO rollTheDice(
+      String gameId, int playerIndex, long baseVersion, Integer baseEpoch) {
+    return tryRollTheDice(gameId, playerIndex, baseVersion, baseEpoch).orThrow();
+  }
+
+  public ActionResult<GameStateDeltaDTO> tryRollTheDice(
+      String gameId, int playerIndex, long baseVersion, Integer baseEpoch) {
+    return gameMetrics.recordAction(
+        Operation.ROLL,
+        () ->
+            onGameActor(
+                gameId,
+                () ->
+                    delta(
+                        gameId,
+                        baseVersion,
+                        baseEpoch,
+                        rollTheDiceInternal(gameId, playerIndex))));
+  }
+
+  private ActionResult<GameStateDTO> rollTheDiceInternal(String gameId, int playerIndex) {
+    GameState game = findGame(gameId);
+    RuleEvents events = new RuleEvents();
+    Rejection rejection = applyRoll(game, playerIndex, events);
+    if (rejection != null) {
+      return ActionResult.rejected(rejection);
     }
+    return ActionResult.ok(publish(game, GameEventType.ROLL, events));
+  }
 
+  // Validates and applies a roll without publishing it; null once applied
+  private Rejection applyRoll(GameState game, int playerIndex, RuleEvents events) {
     String currentPlayerName = game.getPlayers().size() > playerIndex ? game.getPlayers().get(playerIndex).getName() : "Unknown";
 
     if (!game.isStarted()) {
-      throw new InvalidActionException("Game has not started yet");
+      return Rejection.GAME_NOT_STARTED;
+    }
+
+    if (game.isEnd()) {
+      return Rejection.GAME_ENDED;
     }
 
     if (!isCurrentPlayer(game, playerIndex)) {
-      String currentTurnPlayer = game.getPlayers().get(game.getCurrentPlayerIndex()).getName();
-      throw new InvalidActionException("It's not your turn! Current turn belongs to: " + currentTurnPlayer);
+      return Rejection.NOT_YOUR_TURN;
     }
 
     // Check roll limits
-    List<Dice> rolls = game.getCurrentDiceRolls();
+    DiceRolls rolls = game.getCurrentDiceRolls();
     if (!rolls.isEmpty()) {
-      Dice lastRoll = rolls.get(rolls.size() - 1);
-      long rollCount = rolls.size();
+      int rollCount = rolls.size();
 
-      if (!(lastRoll.isSix() && rollCount < 3)) {
-        throw new InvalidActionException("You can only roll again if the previous roll was a six and less than 3 rolls in this turn");
+      if (!(rolls.isSix(rollCount - 1) && rollCount < 3)) {
+        return Rejection.ROLL_NOT_ALLOWED;
       }
     }
 
     diceService.rollDice(game, playerIndex);
-    Dice latestDice = game.getCurrentDiceRolls().get(game.getCurrentDiceRolls().size() - 1);
-    System.out.println("🎲 " + currentPlayerName + " rolled: " + latestDice.getMove());
+    int latestMove = rolls.getLastMove();
+    logger.debug("{} rolled {}", currentPlayerName, latestMove);
 
     // Record last dice roll for display (even if turn changes)
     game.setLastDiceRoll(LastDiceRoll.builder()
         .playerIndex(playerIndex)
-        .move(latestDice.getMove())
+        .move(latestMove)
         .timestamp(System.currentTimeMillis())
         .rollId(game.getGameId() + "-" + playerIndex + "-" + System.currentTimeMillis())
         .build());
 
-    List<Token> tokens = game.getPlayerPositions().get(playerIndex);
-
-    if (tokens == null) {
-      // Try to recover by checking if tokens exist under color index
-      String playerColor = game.getPlayers().get(playerIndex).getColor();
-      Color color = Color.valueOf(playerColor);
-      tokens = game.getPlayerPositions().get(color.getPlayerIndex());
-      if (tokens != null) {
-        // Fix the mapping
-        game.getPlayerPositions().put(playerIndex, tokens);
-        game.getPlayerPositions().remove(color.getPlayerIndex());
-      }
+    int outcome = turnSteps().afterRoll(game);
+    if ((outcome & TurnSteps.THREE_SIXES) != 0) {
+      events.threeSixes();
+      logger.debug("{} turn ends (three sixes)", currentPlayerName);
+    } else if ((outcome & TurnSteps.FORFEITED) != 0) {
+      logger.debug("{} turn ends (no legal move)", currentPlayerName);
+    } else if ((outcome & TurnSteps.TURN_PASSED) != 0) {
+      logger.debug("{} turn ends (no usable dice)", currentPlayerName);
     }
+    return null;
+  }
 
-    boolean allAtHome = tokens != null && tokens.stream().allMatch(t -> t.getCurrentPosition() == -1);
+  // Built on first use from the injected rules, so that every action goes through the same steps
+  // as the simulator and the bots
+  private TurnSteps turnSteps() {
+    TurnSteps steps = turnSteps;
+    if (steps == null) {
+      steps = new TurnSteps(ludoRule, tokenService);
+      turnSteps = steps;
+    }
+    return steps;
+  }
 
-    // Check if player has any usable dice (6s for opening tokens, or any dice if tokens are open)
-    boolean hasUsableDice = false;
-    for (Dice dice : game.getCurrentDiceRolls()) {
-      if (!dice.isUsed()) {
-        // If player has tokens on board, any unused dice is usable
-        if (!allAtHome) {
-          hasUsableDice = true;
-          break;
-        }
-        // If all tokens at home, only 6s are usable
-        if (dice.getMove() == 6) {
-          hasUsableDice = true;
-          break;
-        }
+  /**
+   * Runs a command on the game's single-writer mailbox. Unknown ids are rejected up front so that
+   * they never get a mailbox of their own; with a cold store, only those the allocator could have
+   * issued are looked for there. A game that was evicted to cold storage is brought back on its
+   * mailbox, in the same step as the command: restores of one id are serialized with each other
+   * and with its eviction.
+   */
+  private <T> T onGameActor(String gameId, Supplier<T> command) {
+    if (gameId == null
+        || !gameStore.exists(gameId) && (coldStore == null || !gameIdAllocator.isValid(gameId))) {
+      logger.debug("Game not found: {}", gameId);
+      throw new GameNotFoundException("Game not found");
+    }
+    return gameActors.execute(
+        gameId,
+        () -> {
+          GameState game = gameStore.find(gameId);
+          if (game == null) {
+            try {
+              game = restoreFromColdStore(gameId);
+            } catch (RuntimeException e) {
+              gameActors.release(gameId);
+              throw e;
+            }
+          }
+          if (game == null) {
+            // Evicted while this command was queued, or never existed
+            gameActors.release(gameId);
+            logger.debug("Game not found: {}", gameId);
+            throw new GameNotFoundException("Game not found");
+          }
+          game.setLastActivityMillis(System.currentTimeMillis());
+          return command.get();
+        });
+  }
+
+  private GameState restoreFromColdStore(String gameId) {
+    if (coldStore == null) {
+      return null;
+    }
+    GameState game = coldStore.restore(gameId);
+    if (game != null) {
+      gameStore.create(game);
+      logger.info("Restored game {} from cold store", gameId);
+      // Deadlines are not stored: without a fresh one an idle seat would stall the game again
+      if (turnTimers.arm(game)) {
+        publish(game, GameEventType.TIMEOUT);
       }
     }
+    return game;
+  }
 
-    // Only change turn if player has no usable dice AND last roll wasn't a 6
-    if (allAtHome && !hasUsableDice && latestDice.getMove() != 6) {
-      System.out.println("🔄 " + currentPlayerName + " turn ends (no usable dice)");
-      game.getCurrentDiceRolls().clear();
-      ludoRule.changeTurn(game);
+  // Records the change under a new version, then maps and serializes it once: the JSON is cached
+  // for reads and pushed to subscribers, the DTO is returned to the caller
+  private GameStateDTO publish(GameState game, GameEventType event) {
+    game.setVersion(game.getVersion() + 1);
+    gameStore.save(game, event);
+    turnTimers.arm(game);
+    GameStateDTO dto = GameStateMapper.mapToDTO(game);
+    gameEventPublisher.publish(game.getGameId(), snapshot(game, dto));
+    botPlayers.onPublished(game);
+    return dto;
+  }
+
+  // As above, then counts the cuts and forfeits of the change, which can no longer be rolled back
+  private GameStateDTO publish(GameState game, GameEventType event, RuleEvents events) {
+    GameStateDTO dto = publish(game, event);
+    gameMetrics.count(events);
+    return dto;
+  }
+
+  // Runs an action on the game's mailbox and diffs its result against the client's copy, rebuilt
+  // from the history while it is one of the last few published versions. A client holding another
+  // epoch holds an earlier game under the same code, so it gets the whole state.
+  private GameStateDeltaDTO delta(
+      String gameId, long baseVersion, Integer baseEpoch, Supplier<GameStateDTO> action) {
+    GameStateDTO current = action.get();
+    GameState game = gameStore.find(gameId);
+    GameStateDTO base =
+        baseEpoch != null && baseEpoch != game.getEpoch()
+            ? null
+            : publishedState(game, baseVersion);
+    return GameStateDiff.between(base, current, baseVersion);
+  }
+
+  /**
+   * The game as published at {@code version}, replayed from its history, or null if no history is
+   * kept or the version is not one of the last {@code deltaHistoryVersions}. Nothing is kept per
+   * version: a few hundred events replay in microseconds. The turn deadline is not in the history,
+   * so a delta always carries it; the last roll is carried over when there was none since.
+   */
+  private static GameStateDTO publishedState(GameState game, long version) {
+    GameHistory history = game.getHistory();
+    if (history == null
+        || version < 0
+        || version > game.getVersion()
+        || game.getVersion() - version > deltaHistoryVersions) {
+      return null;
+    }
+    int size = history.sizeAt(version);
+    GameState base =
+        GameReplayer.replay(game.getGameId(), game.getPlayers(), history.copy(0, size), version);
+    base.setEpoch(game.getEpoch());
+    if (!rolledSince(history, size)) {
+      base.setLastDiceRoll(game.getLastDiceRoll());
     }
+    return GameStateMapper.mapToDTO(base);
+  }
 
-    // Three sixes handling
-    if (handleThreeSixesScenario(game)) {
-      System.out.println("🚫 " + currentPlayerName + " turn ends (three sixes)");
-      game.getCurrentDiceRolls().clear();
-      ludoRule.changeTurn(game);
+  private static boolean rolledSince(GameHistory history, int from) {
+    for (int i = from; i < history.size(); i++) {
+      if (GameHistory.type(history.get(i)) == HistoryEventType.ROLL) {
+        return true;
+      }
     }
+    return false;
+  }
 
-    return GameStateMapper.mapToDTO(game);
+  private ActionResult<GameStateDeltaDTO> delta(
+      String gameId, long baseVersion, Integer baseEpoch, ActionResult<GameStateDTO> result) {
+    return result.map(current -> delta(gameId, baseVersion, baseEpoch, () -> current));
+  }
+
+  private GameState findGame(String gameId) {
+    GameState game = gameStore.find(gameId);
+    if (game == null) {
+      throw new GameNotFoundException("Game not found");
+    }
+    return game;
+  }
+
+  private GameSnapshot snapshot(GameState game, GameStateDTO dto) {
+    GameSnapshot snapshot = new GameSnapshot(game.getEpoch(), game.getVersion(), gameStateJson.serialize(dto));
+    game.setSnapshot(snapshot);
+    return snapshot;
   }
 
   private boolean isCurrentPlayer(GameState game, int playerIndex) {
     return game.getCurrentPlayerIndex() == playerIndex;
   }
 
-  private Dice getNextUnusedDice(GameState game) {
-    return game.getCurrentDiceRolls().stream().filter(d -> !d.isUsed()).findFirst().orElse(null);
+  private int getNextUnusedDice(GameState game) {
+    return game.getCurrentDiceRolls().firstUnused();
   }
 
   public GameStateDTO moveTheToken(String gameId, int playerIndex, int tokenIndex) {
-    System.out.println("🚀 [GameService] Token move - GameId: " + gameId + ", Player: " + playerIndex + ", Token: " + tokenIndex);
+    return tryMoveTheToken(gameId, playerIndex, tokenIndex).orThrow();
+  }
 
-    GameState game = games.get(gameId);
-    if (game == null) {
-      System.out.println("❌ [GameService] Game not found: " + gameId);
-      throw new GameNotFoundException("Game not found");
+  /** As {@link #moveTheToken(String, int, int)}, with a refused move as a rejected result. */
+  public ActionResult<GameStateDTO> tryMoveTheToken(
+      String gameId, int playerIndex, int tokenIndex) {
+    return gameMetrics.recordAction(
+        Operation.MOVE,
+        () -> onGameActor(gameId, () -> moveTheTokenInternal(gameId, playerIndex, tokenIndex)));
+  }
+
+  /** As {@link #moveTheToken(String, int, int)}, answered as a delta against a base version. */
+  public GameStateDeltaDTO moveTheToken(
+      String gameId, int playerIndex, int tokenIndex, long baseVersion, Integer baseEpoch) {
+    return tryMoveTheToken(gameId, playerIndex, tokenIndex, baseVersion, baseEpoch).orThrow();
+  }
+
+  public ActionResult<GameStateDeltaDTO> tryMoveTheToken(
+      String gameId, int playerIndex, int tokenIndex, long baseVersion, Integer baseEpoch) {
+    return gameMetrics.recordAction(
+        Operation.MOVE,
+        () ->
+            onGameActor(
+                gameId,
+                () ->
+                    delta(
+                        gameId,
+                        baseVersion,
+                        baseEpoch,
+                        moveTheTokenInternal(gameId, playerIndex, tokenIndex))));
+  }
+
+  private ActionResult<GameStateDTO> moveTheTokenInternal(
+      String gameId, int playerIndex, int tokenIndex) {
+    GameState game = findGame(gameId);
+    RuleEvents events = new RuleEvents();
+    Rejection rejection = applyMove(game, playerIndex, tokenIndex, events);
+    if (rejection != null) {
+      return ActionResult.rejected(rejection);
     }
+    return ActionResult.ok(publish(game, GameEventType.MOVE, events));
+  }
+
+  // Validates and applies a move without publishing it; null once applied
+  private Rejection applyMove(GameState game, int playerIndex, int tokenIndex, RuleEvents events) {
+    logger.debug("Token move - player {}, token {}", playerIndex, tokenIndex);
 
     if (!game.isStarted()) {
-      System.out.println("❌ [GameService] Game not started");
-      throw new InvalidActionException("Game has not started yet");
+      return Rejection.GAME_NOT_STARTED;
     }
 
     if (!isCurrentPlayer(game, playerIndex)) {
-      System.out.println("❌ [GameService] Wrong player turn");
-      throw new InvalidActionException("It's not the turn for playerIndex: " + playerIndex);
+      return Rejection.NOT_YOUR_TURN;
     }
 
     if (!ludoRule.isValidMove(game, playerIndex, tokenIndex)) {
-      System.out.println("❌ [GameService] Invalid move");
-      throw new InvalidActionException("Invalid move for player or token");
+      // Cold path: ask the rules why
+      Rejection why = ludoRule.checkMove(game, playerIndex, tokenIndex);
+      return why != null ? why : Rejection.ILLEGAL_MOVE;
     }
 
     if (ludoRule.isExtraTurn(game)) {
-      System.out.println("❌ [GameService] Player has extra turn");
-      throw new InvalidActionException("Player has an extra turn, cannot move token now");
-    }
-
-    Dice diceToUse = getNextUnusedDice(game);
-    if (diceToUse == null) {
-      System.out.println("❌ [GameService] No available dice");
-      throw new InvalidActionException("No available dice to use");
-    }
-
-    Token movedToken = tokenService.moveToken(game, playerIndex, tokenIndex, diceToUse.getMove());
-    diceToUse.setUsed(true);
-    cleanCurrentDiceRolls(game);
-    ludoRule.cutIfPossible(game, movedToken);
-
-    // ✅ ADDED: Check if turn should end after token move
-    List<Dice> remainingDice = game.getCurrentDiceRolls();
-    boolean hasUnusedDice = remainingDice.stream().anyMatch(d -> !d.isUsed());
-
-    if (!hasUnusedDice) {
-      // All dice used - check if player gets another turn due to sixes
-      boolean hasSixes = remainingDice.stream().anyMatch(Dice::isSix);
-      if (!hasSixes) {
-        // No sixes, turn ends
-        String currentPlayerName = game.getPlayers().get(playerIndex).getName();
-        System.out.println("🔄 [GameService] " + currentPlayerName + " - All dice used, no sixes = turn change");
-        game.getCurrentDiceRolls().clear();
-        ludoRule.changeTurn(game);
-        System.out.println("✅ [GameService] Turn changed from " + currentPlayerName + " to " + game.getPlayers().get(game.getCurrentPlayerIndex()).getName());
-      } else {
-        // Has sixes, clear dice for next roll but keep turn
-        System.out.println("🎲 [GameService] " + game.getPlayers().get(playerIndex).getName() + " - All dice used but has sixes, can roll again");
-        game.getCurrentDiceRolls().clear();
-      }
+      return Rejection.MUST_ROLL;
     }
 
-    // Check for win
-    if (game.hasPlayerWon(playerIndex)) {
-      Player winner = game.getPlayers().get(playerIndex);
-      if (!game.getWinners().contains(winner)) {
-        System.out.println("🏆 [GameService] Player won: " + winner.getName());
-        game.getWinners().add(winner);
+    int diceToUse = getNextUnusedDice(game);
+    if (diceToUse < 0) {
+      return Rejection.MUST_ROLL;
+    }
+
+    int outcome = turnSteps().move(game, tokenIndex);
+    if ((outcome & TurnSteps.CUT) != 0) {
+      events.cut();
+    }
+    if ((outcome & TurnSteps.WON) != 0) {
+      logger.info("Player won: {}", game.getPlayers().get(playerIndex).getName());
+    }
+    if (game.isEnd()) {
+      logger.info("Game finished");
+    } else if ((outcome & TurnSteps.FORFEITED) != 0) {
+      logger.debug("No legal move left, hand forfeited");
+    } else if ((outcome & TurnSteps.TURN_PASSED) != 0) {
+      logger.debug("Turn passed to {}", game.getPlayers().get(game.getCurrentPlayerIndex()).getName());
+    }
+    logger.debug("Token moved to {}", game.getTokenPosition(playerIndex, tokenIndex));
+    return null;
+  }
+
+  /**
+   * Applies a sequence of rolls and moves for one game as a single command: in order, with the
+   * same validation as the single-action calls, and published once at the end. If any action is
+   * rejected the game is put back as it was and a {@link BatchActionException} names the action.
+   */
+  public GameStateDTO applyActions(String gameId, List<GameActionDTO> actions) {
+    return tryApplyActions(gameId, actions).orThrow();
+  }
+
+  /**
+   * As {@link #applyActions(String, List)}, with a refused action as a rejected result that
+   * carries its index.
+   */
+  public ActionResult<GameStateDTO> tryApplyActions(String gameId, List<GameActionDTO> actions) {
+    return gameMetrics.recordAction(
+        Operation.BATCH, () -> onGameActor(gameId, () -> applyActionsInternal(gameId, actions)));
+  }
+
+  /** As {@link #applyActions(String, List)}, answered as a delta against a base version. */
+  public GameStateDeltaDTO applyActions(
+      String gameId, List<GameActionDTO> actions, long baseVersion, Integer baseEpoch) {
+    return tryApplyActions(gameId, actions, baseVersion, baseEpoch).orThrow();
+  }
+
+  public ActionResult<GameStateDeltaDTO> tryApplyActions(
+      String gameId, List<GameActionDTO> actions, long baseVersion, Integer baseEpoch) {
+    return gameMetrics.recordAction(
+        Operation.BATCH,
+        () ->
+            onGameActor(
+                gameId,
+                () ->
+                    delta(
+                        gameId,
+                        baseVersion,
+                        baseEpoch,
+                        applyActionsInternal(gameId, actions))));
+  }
+
+  private ActionResult<GameStateDTO> applyActionsInternal(
+      String gameId, List<GameActionDTO> actions) {
+    if (actions == null || actions.isEmpty()) {
+      return ActionResult.rejected(Rejection.EMPTY_BATCH);
+    }
+    if (actions.size() > maxBatchActions) {
+      return ActionResult.rejected(Rejection.BATCH_TOO_LONG);
+    }
+    GameState game = findGame(gameId);
+
+    GameState before = new GameState(gameId);
+    before.copyFrom(game);
+    int historySize = game.getHistory() == null ? 0 : game.getHistory().size();
+    // Counted only if the whole batch is published
+    RuleEvents events = new RuleEvents();
+    for (int i = 0; i < actions.size(); i++) {
+      Rejection rejection;
+      try {
+        rejection = applyAction(game, actions.get(i), events);
+      } catch (RuntimeException e) {
+        rollBack(game, before, historySize);
+        if (e instanceof InvalidActionException) {
+          throw new BatchActionException(i, e.getMessage(), e);
+        }
+        throw e;
       }
-      if (game.isGameFinished()) {
-        System.out.println("🎊 [GameService] Game finished!");
-        game.setEnd(true);
+      if (rejection != null) {
+        rollBack(game, before, historySize);
+        return ActionResult.rejected(rejection, i);
       }
     }
+    return ActionResult.ok(publish(game, actions.get(actions.size() - 1).getType(), events));
+  }
 
-    System.out.println("✅ [GameService] Token moved to: " + movedToken.getCurrentPosition());
-    return GameStateMapper.mapToDTO(game);
+  private static void rollBack(GameState game, GameState before, int historySize) {
+    game.copyFrom(before);
+    if (game.getHistory() != null) {
+      game.getHistory().truncate(historySize);
+    }
+  }
+
+  /**
+   * Applies an action a bot decided on from the state published as {@code expectedVersion}. It is
+   * dropped if the game has moved on since, so a slow decision never lands on a newer position.
+   */
+  public void playBotAction(String gameId, long expectedVersion, GameActionDTO action) {
+    gameMetrics.record(
+        Operation.BOT,
+        () ->
+            onGameActor(
+                gameId,
+                () -> {
+                  GameState game = gameStore.find(gameId);
+                  if (game == null || game.getVersion() != expectedVersion) {
+                    logger.debug("Dropping bot action for stale version {}", expectedVersion);
+                    return null;
+                  }
+                  if (!game.getPlayers().get(action.getPlayerIndex()).isBot()) {
+                    throw new InvalidActionException(
+                        "Seat " + action.getPlayerIndex() + " is not a bot");
+                  }
+                  ActionResult<GameStateDTO> result =
+                      applyActionsInternal(gameId, List.of(action));
+                  if (result.isRejected()) {
+                    logger.debug("Bot action refused: {}", result.getRejection());
+                  }
+                  return result;
+                }));
+  }
+
+  /**
+   * Acts for the seat whose turn deadline passed: plays the rest of its turn, rolling and moving
+   * the token {@link BuiltInStrategy#AGGRESSIVE} picks until the turn passes, or with {@code
+   * ludo.turn-timer.on-expiry=skip} passes the turn unplayed. Called from the timer thread, so it
+   * only queues the work on the game's mailbox. Games not in the registry are left alone.
+   */
+  public void expireTurn(String gameId, TimingWheel.Timer<String> timer, long firedTick) {
+    if (!gameStore.exists(gameId)) {
+      return;
+    }
+    gameActors
+        .submit(gameId, () -> expireTurnInternal(gameId, timer, firedTick))
+        .whenComplete(
+            (played, e) -> {
+              if (e != null) {
+                logger.warn("Timed out turn in game {} failed: {}", gameId, e.toString());
+              }
+            });
+  }
+
+  private boolean expireTurnInternal(
+      String gameId, TimingWheel.Timer<String> timer, long firedTick) {
+    GameState game = gameStore.find(gameId);
+    // Acted, finished or reloaded since the timer came due
+    if (game == null || game.isEnd() || !turnTimers.isDue(game, timer, firedTick)) {
+      return false;
+    }
+    int seat = game.getCurrentPlayerIndex();
+    gameMetrics.turnTimedOut();
+    if (turnTimers.skipsTurn()) {
+      logger.debug("Seat {} timed out, turn skipped", seat);
+      game.clearDice();
+      ludoRule.changeTurn(game);
+      publish(game, GameEventType.TIMEOUT);
+      return true;
+    }
+
+    logger.debug("Seat {} timed out, playing its turn", seat);
+    // The turn passes after a move without a six, a hand no token can use, or three sixes
+    for (int step = 0;
+        step < maxTimedOutSteps && !game.isEnd() && game.getCurrentPlayerIndex() == seat;
+        step++) {
+      GameActionDTO action = timedOutAction(game, seat);
+      RuleEvents events = new RuleEvents();
+      Rejection rejection = applyAction(game, action, events);
+      if (rejection != null) {
+        logger.warn("Could not play timed out turn: {}", rejection);
+        break;
+      }
+      publish(game, action.getType(), events);
+    }
+    if (!game.isEnd() && game.getCurrentPlayerIndex() == seat) {
+      // Still this seat's turn: give it another deadline rather than none, published so clients
+      // see it
+      turnTimers.reset(game);
+      publish(game, GameEventType.TIMEOUT);
+    }
+    return true;
+  }
+
+  private static GameActionDTO timedOutAction(GameState game, int seat) {
+    DiceRolls dice = game.getCurrentDiceRolls();
+    if (dice.mustRoll()) {
+      return new GameActionDTO(GameEventType.ROLL, seat, null);
+    }
+    int move = dice.getMove(dice.firstUnused());
+    int token =
+        BuiltInStrategy.AGGRESSIVE.chooseToken(
+            game, seat, move, game.getMovableTokens(), new SplittableRandom());
+    return new GameActionDTO(GameEventType.MOVE, seat, token);
+  }
+
+  private Rejection applyAction(GameState game, GameActionDTO action, RuleEvents events) {
+    if (action == null || action.getType() == null || action.getPlayerIndex() == null) {
+      return Rejection.INCOMPLETE_ACTION;
+    }
+    switch (action.getType()) {
+      case ROLL:
+        return applyRoll(game, action.getPlayerIndex(), events);
+      case MOVE:
+        if (action.getTokenIndex() == null) {
+          return Rejection.MISSING_TOKEN_INDEX;
+        }
+        return applyMove(game, action.getPlayerIndex(), action.getTokenIndex(), events);
+      default:
+        return Rejection.NOT_BATCHABLE;
+    }
+  }
+
+  /**
+   * The game's latest published state, already serialized. Served from the snapshot cached by the
+   * last change without entering the mailbox; only a game not published since it was created or
+   * restored has its first snapshot built there.
+   */
+  public GameSnapshot getGameStateSnapshot(String gameId) {
+    return gameMetrics.record(Operation.STATE, () -> getGameStateSnapshotInternal(gameId));
+  }
+
+  private GameSnapshot getGameStateSnapshotInternal(String gameId) {
+    GameState game = gameId == null ? null : gameStore.find(gameId);
+    GameSnapshot snapshot = game == null ? null : game.getSnapshot();
+    if (snapshot != null) {
+      game.setLastActivityMillis(System.currentTimeMillis());
+      return snapshot;
+    }
+    return onGameActor(
+        gameId,
+        () -> {
+          GameState current = gameStore.find(gameId);
+          if (current == null) {
+            throw new GameNotFoundException("Game not found");
+          }
+          GameSnapshot cached = current.getSnapshot();
+          if (cached != null && cached.getVersion() == current.getVersion()) {
+            return cached;
+          }
+          return snapshot(current, GameStateMapper.mapToDTO(current));
+        });
+  }
+
+  /**
+   * Completes with the game's state as soon as it differs from {@code knownEpoch} and {@code
+   * knownVersion}, for long-poll readers. Unknown games fail at once with {@link
+   * GameNotFoundException}.
+   */
+  public CompletableFuture<GameSnapshot> awaitGameState(
+      String gameId, int knownEpoch, long knownVersion) {
+    getGameStateSnapshot(gameId);
+    return gameStateWaiters.await(
+        gameId, knownEpoch, knownVersion, () -> getGameStateSnapshotInternal(gameId));
   }
 
   public GameStateDTO getGameState(String gameId) {
+    return gameMetrics.record(Operation.STATE, () -> onGameActor(gameId, () -> getGameStateInternal(gameId)));
+  }
 
-    GameState game = games.get(gameId);
+  private GameStateDTO getGameStateInternal(String gameId) {
+
+    GameState game = gameStore.find(gameId);
     if (game == null) {
-      System.out.println("❌ [GameService] Game not found: " + gameId);
+      logger.debug("Game not found");
       throw new GameNotFoundException("Game not found");
     }
 
     return GameStateMapper.mapToDTO(game);
   }
 
+  /**
+   * Up to {@code limit} events of the game's history starting at event {@code from}. Only the
+   * page is copied, on the game's mailbox; it is mapped after leaving it.
+   */
+  public GameHistoryPageDTO getHistory(String gameId, int from, int limit) {
+    return gameMetrics.record(Operation.HISTORY, () -> getHistoryInternal(gameId, from, limit));
+  }
+
+  private GameHistoryPageDTO getHistoryInternal(String gameId, int from, int limit) {
+    if (from < 0 || limit < 1) {
+      throw new InvalidActionException("from must be 0 or more and limit 1 or more");
+    }
+    GameHistoryPageDTO page = new GameHistoryPageDTO();
+    long[] events =
+        onGameActor(
+            gameId,
+            () -> {
+              GameState game = findGame(gameId);
+              GameHistory history = history(game);
+              int to = Math.min(history.size(), from + Math.min(limit, maxHistoryPage));
+              page.setVersion(game.getVersion());
+              page.setTotal(history.size());
+              return history.copy(Math.min(from, to), to);
+            });
+    page.setGameId(gameId);
+    page.setFrom(from);
+    List<HistoryEventDTO> dtos = new ArrayList<>(events.length);
+    for (int i = 0; i < events.length; i++) {
+      dtos.add(GameStateMapper.mapHistoryEvent(from + i, events[i]));
+    }
+    page.setEvents(dtos);
+    if (from + events.length < page.getTotal()) {
+      page.setNext(from + events.length);
+    }
+    return page;
+  }
+
+  /**
+   * The game as it was published at {@code version}, rebuilt from its history. The events up to
+   * that version are copied on the mailbox and replayed after leaving it.
+   */
+  public GameStateDTO getGameStateAt(String gameId, long version) {
+    return gameMetrics.record(
+        Operation.HISTORY,
+        () -> {
+          List<Player> players = new ArrayList<>();
+          int[] epoch = new int[1];
+          long[] events =
+              onGameActor(
+                  gameId,
+                  () -> {
+                    GameState game = findGame(gameId);
+                    GameHistory history = history(game);
+                    if (version < 0 || version > game.getVersion()) {
+                      throw new InvalidActionException(
+                          "Version must be between 0 and " + game.getVersion());
+                    }
+                    players.addAll(game.getPlayers());
+                    epoch[0] = game.getEpoch();
+                    return history.copy(0, history.sizeAt(version));
+                  });
+          GameState replayed = GameReplayer.replay(gameId, players, events, version);
+          replayed.setEpoch(epoch[0]);
+          return GameStateMapper.mapToDTO(replayed);
+        });
+  }
+
+  private static GameHistory history(GameState game) {
+    if (game.getHistory() == null) {
+      throw new InvalidActionException("No history is kept for this game");
+    }
+    return game.getHistory();
+  }
+
   // For testing: Add a specific GameState to the games map
   public void addTestGameState() {
     String gameId = "test1";
-    List<Player> players = new ArrayList<>();
-    players.add(new Player("f55c037e-0de0-46b8-a401-dea976525c55", "Alice", "GREEN"));
-    players.add(new Player("553789bd-fde1-41b7-b5c8-0ff224963602", "bob", "BLUE"));
-    players.add(new Player("fb8f7502-f561-4d45-9bd1-30a83b02173e", "john", "RED"));
-    players.add(new Player("d2dc1a04-1898-4d3b-8526-e13d6ffa6361", "Kapil", "YELLOW"));
+    GameState gameState = new GameState(gameId);
+    gameState.getPlayers().add(new Player("f55c037e-0de0-46b8-a401-dea976525c55", "Alice", "GREEN"));
+    gameState.getPlayers().add(new Player("553789bd-fde1-41b7-b5c8-0ff224963602", "bob", "BLUE"));
+    gameState.getPlayers().add(new Player("fb8f7502-f561-4d45-9bd1-30a83b02173e", "john", "RED"));
+    gameState.getPlayers().add(new Player("d2dc1a04-1898-4d3b-8526-e13d6ffa6361", "Kapil", "YELLOW"));
 
-    List<Dice> currentDiceRolls = new ArrayList<>();
-    currentDiceRolls.add(new Dice(5, false));
+    gameState.getCurrentDiceRolls().add(5);
 
-    Map<Integer, List<Token>> playerPositions = new HashMap<>();
     for (int i = 0; i < 4; i++) {
-      List<Token> tokens = new ArrayList<>();
-      for (int j = 0; j < 5; j++) {
-        tokens.add(new Token(j, -1, com.example.Ludo.metadata.core.enums.Color.values()[i]));
-      }
-      playerPositions.put(i, tokens);
+      gameState.initializeTokens(i, Color.values()[i]);
     }
 
-    GameState gameState =
-        new GameState(
-            gameId,
-            true,
-            false,
-            "f55c037e-0de0-46b8-a401-dea976525c55",
-            0,
-            players,
-            currentDiceRolls,
-            playerPositions,
-            new ArrayList<>(),
-            null // lastDiceRoll
-        );
-    games.put(gameId, gameState);
+    gameState.setStarted(true);
+    gameState.setCurrentPlayerId("f55c037e-0de0-46b8-a401-dea976525c55");
+    gameState.setCurrentPlayerIndex(0);
+    gameStore.create(gameState);
   }
 }
@@ -0,0 +1,25 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+/** Serializes game state once per version, with the same ObjectMapper the REST layer uses. */
+@Component
+public class GameStateJson {
+  private final ObjectWriter writer;
+
+  public GameStateJson(ObjectMapper objectMapper) {
+    this.writer = objectMapper.writerFor(GameStateDTO.class);
+  }
+
+  public byte[] serialize(GameStateDTO dto) {
+    try {
+      return writer.writeValueAsBytes(dto);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize game " + dto.getGameId(), e);
+    }
+  }
+}
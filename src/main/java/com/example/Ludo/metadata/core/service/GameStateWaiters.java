@@ -0,0 +1,92 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.model.GameSnapshot;
+import com.example.Ludo.metadata.exception.GameNotFoundException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Long-poll readers waiting for a game to move past a version they already have. A waiter is just
+ * a pending future, so a held request costs no thread; {@link GameEventPublisher} completes them
+ * with each new snapshot.
+ */
+@Component
+public class GameStateWaiters {
+  private final Map<String, Set<CompletableFuture<GameSnapshot>>> waiters = new ConcurrentHashMap<>();
+
+  /**
+   * Completes with the first snapshot whose epoch or version differs from {@code knownEpoch} and
+   * {@code knownVersion}: at once if {@code current} already has one, otherwise when the game is
+   * next published. A different epoch means another game under the same id. Cancelling the future
+   * (e.g. on timeout) unregisters it; it fails with a {@link GameNotFoundException} if the game is
+   * dropped meanwhile. Whatever {@code current} throws is rethrown, the waiter unregistered.
+   */
+  public CompletableFuture<GameSnapshot> await(
+      String gameId, int knownEpoch, long knownVersion, Supplier<GameSnapshot> current) {
+    CompletableFuture<GameSnapshot> next = new CompletableFuture<>();
+    waiters.compute(
+        gameId,
+        (id, pending) -> {
+          Set<CompletableFuture<GameSnapshot>> set =
+              pending != null ? pending : ConcurrentHashMap.newKeySet();
+          set.add(next);
+          return set;
+        });
+    next.whenComplete((snapshot, error) -> unregister(gameId, next));
+
+    // Checked after registering, so a publish racing with this call cannot be missed
+    GameSnapshot snapshot;
+    try {
+      snapshot = current.get();
+    } catch (RuntimeException e) {
+      next.completeExceptionally(e);
+      throw e;
+    }
+    if (snapshot != null
+        && (snapshot.getEpoch() != knownEpoch || snapshot.getVersion() != knownVersion)) {
+      next.complete(snapshot);
+    }
+    return next;
+  }
+
+  public void publish(String gameId, GameSnapshot snapshot) {
+    Set<CompletableFuture<GameSnapshot>> pending = waiters.get(gameId);
+    if (pending != null) {
+      for (CompletableFuture<GameSnapshot> waiter : pending) {
+        waiter.complete(snapshot);
+      }
+    }
+  }
+
+  /** Fails every waiter on a game that is gone for good, so none is held to its timeout. */
+  public void gone(String gameId) {
+    Set<CompletableFuture<GameSnapshot>> pending = waiters.get(gameId);
+    if (pending != null) {
+      GameNotFoundException notFound = new GameNotFoundException("Game not found");
+      for (CompletableFuture<GameSnapshot> waiter : pending) {
+        waiter.completeExceptionally(notFound);
+      }
+    }
+  }
+
+  public int waiterCount() {
+    int count = 0;
+    for (Set<CompletableFuture<GameSnapshot>> pending : waiters.values()) {
+      count += pending.size();
+    }
+    return count;
+  }
+
+  private void unregister(String gameId, CompletableFuture<GameSnapshot> waiter) {
+    waiters.computeIfPresent(
+        gameId,
+        (id, pending) -> {
+          pending.remove(waiter);
+          return pending.isEmpty() ? null : pending;
+        });
+  }
+}
@@ -1,16 +1,15 @@
 package com.example.Ludo.metadata.core.service;
 
-import static com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
 
-import com.example.Ludo.metadata.core.Utils.LudoUtils;
 import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
 import com.example.Ludo.metadata.core.interfaces.GameRules;
-import com.example.Ludo.metadata.core.model.Dice;
+import com.example.Ludo.metadata.core.model.DiceRolls;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Token;
 import com.example.Ludo.metadata.exception.InvalidActionException;
-import java.util.List;
-import java.util.Objects;
+import com.example.Ludo.metadata.exception.Rejection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -21,85 +20,65 @@ public class LudoRule implements GameRules {
   private static final int PLAYER_COUNT = ApplicationConstants.maxPlayersFour;
 
   /**
-   * Checks if the move is valid for the given player and token.
+   * Checks if the move is valid for the given player and token: a lookup in the game's cached
+   * legal moves (see {@link GameState#getMovableTokens()}).
    */
   @Override
   public boolean isValidMove(GameState gameState, int playerIndex, int tokenIndex) {
-    if (!Objects.equals(gameState.getCurrentPlayerIndex(), playerIndex)) {
-      System.out.println("❌ [LudoRule] Wrong player turn");
-      throw new InvalidActionException("Not a turn for this playerIndex");
+    return checkMove(gameState, playerIndex, tokenIndex) == null;
+  }
+
+  @Override
+  public Rejection checkMove(GameState gameState, int playerIndex, int tokenIndex) {
+    if (gameState.getCurrentPlayerIndex() != playerIndex) {
+      return Rejection.NOT_YOUR_TURN;
     }
-    
     if (gameState.isEnd()) {
-      System.out.println("❌ [LudoRule] Game ended");
-      throw new InvalidActionException("Game has ended");
+      return Rejection.GAME_ENDED;
     }
-
-    int used = 0;
-    for (Dice dice : gameState.getCurrentDiceRolls()) {
-      if (dice.isUsed()) {
-        used++;
-      } else {
-        Token result = LudoUtils.findTokenByIndex(gameState, playerIndex, tokenIndex);
-        if (result == null) {
-          System.out.println("❌ [LudoRule] Token not found - Player: " + playerIndex + ", Token: " + tokenIndex);
-          throw new InvalidActionException("Token not found for player or token index");
-        }
-
-        if (canMoveToken(result, dice)) {
-          System.out.println("✅ [LudoRule] Valid move with dice: " + dice.getMove());
-          return true;
-        }
-      }
+    if (!gameState.hasTokens(playerIndex) || tokenIndex < 0 || tokenIndex >= tokensPerPlayer) {
+      return Rejection.TOKEN_NOT_FOUND;
     }
-
-    if (used == 3) {
-      System.out.println("🚫 [LudoRule] All dice used");
+    if (gameState.getCurrentDiceRolls().mustRoll()) {
+      return Rejection.MUST_ROLL;
     }
-
-    System.out.println("❌ [LudoRule] No valid move found");
-    throw new InvalidActionException("Invalid move for player or token");
+    return gameState.isMovable(tokenIndex) ? null : Rejection.ILLEGAL_MOVE;
   }
 
   /**
-   * Checks if a token can be moved with the given dice.
+   * Cuts the opponent's token if possible. Reads the occupancy index of the target cell instead of
+   * scanning every token on the board.
    */
-  private boolean canMoveToken(Token token, Dice dice) {
-    if (token.isOpen() && token.getGlobalPosition() + dice.getMove() < endPosition + 1) {
-      return true;
-    } else if (!token.isOpen() && dice.getMove() == 6) {
-      return true;
-    } else {
+  @Override
+  public boolean cutIfPossible(GameState gameState, Token token) {
+    int target = token.getGlobalPosition();
+    if (ApplicationConstants.isSafeCell(target)) {
       return false;
     }
-  }
 
-  /**
-   * Cuts the opponent's token if possible.
-   */
-  @Override
-  public boolean cutIfPossible(GameState gameState, Token token) {
-    boolean flag = false;
-    int cutsCount = 0;
-
-    for (var playerPositions : gameState.getPlayerPositions().values()) {
-      for (Token playerToken : playerPositions) {
-        if (playerToken.getColor() != token.getColor()
-            && token.getGlobalPosition() == playerToken.getGlobalPosition()
-            && !playerToken.isSafeCell()) {
-
-          playerToken.setCurrentPosition(-1);
-          flag = true;
-          cutsCount++;
-        }
+    int victims = gameState.getCellOccupancy(target);
+    for (int p = 0; p < ApplicationConstants.maxPlayersFour; p++) {
+      if (gameState.getSeatColor(p) == token.getColor()) {
+        victims &= ~GameState.seatMask(p);
       }
     }
+    if (victims == 0) {
+      return false;
+    }
 
-    if (cutsCount > 0) {
-      System.out.println("✂️ [LudoRule] Cut " + cutsCount + " opponent token(s)");
+    int cutsCount = Integer.bitCount(victims);
+    while (victims != 0) {
+      int slot = Integer.numberOfTrailingZeros(victims);
+      victims &= victims - 1;
+      int seat = slot / ApplicationConstants.tokensPerPlayer;
+      int tokenIndex = slot % ApplicationConstants.tokensPerPlayer;
+      gameState.record(
+          HistoryEventType.CUT, seat, tokenIndex, 0, gameState.getTokenPosition(seat, tokenIndex), -1);
+      gameState.setTokenPosition(seat, tokenIndex, -1);
     }
 
-    return flag;
+    logger.debug("Cut {} opponent token(s)", cutsCount);
+    return true;
   }
 
   /**
@@ -107,12 +86,11 @@ public class LudoRule implements GameRules {
    */
   @Override
   public boolean isExtraTurn(GameState gameState) {
-    List<Dice> rolls = gameState.getCurrentDiceRolls();
-    int sixes = (int) rolls.stream().filter(Dice::isSix).count();
-    boolean isExtra = sixes == rolls.size();
+    DiceRolls rolls = gameState.getCurrentDiceRolls();
+    boolean isExtra = rolls.countSixes() == rolls.size();
 
     if (isExtra) {
-      System.out.println("🔄 [LudoRule] Extra turn - all dice are sixes");
+      logger.debug("Extra turn - all dice are sixes");
     }
 
     return isExtra;
@@ -124,7 +102,7 @@ public class LudoRule implements GameRules {
   @Override
   public boolean changeTurn(GameState gameState) {
     if (gameState.isGameFinished()) {
-      System.out.println("❌ [LudoRule] Cannot change turn - game finished");
+      logger.debug("Cannot change turn - game finished");
       throw new InvalidActionException("Cannot change turn, Game is already finished");
     }
 
@@ -135,19 +113,16 @@ public class LudoRule implements GameRules {
       int currentPlayerIndex = (gameState.getCurrentPlayerIndex() + increment) % actualPlayerCount;
 
       if (!gameState.hasPlayerWon(currentPlayerIndex)) {
-        String newPlayerId = gameState.getPlayers().get(currentPlayerIndex).getId();
         String newPlayerName = gameState.getPlayers().get(currentPlayerIndex).getName();
+        gameState.passTurnTo(currentPlayerIndex);
 
-        gameState.setCurrentPlayerId(newPlayerId);
-        gameState.setCurrentPlayerIndex(currentPlayerIndex);
-
-        System.out.println("🔄 [LudoRule] Turn changed to: " + newPlayerName + " (Index: " + currentPlayerIndex + ")");
+        logger.debug("Turn changed to {} (index {})", newPlayerName, currentPlayerIndex);
         break;
       }
 
       increment++;
       if (increment > actualPlayerCount) {
-        System.out.println("❌ [LudoRule] Unable to find next player");
+        logger.warn("Unable to find next player");
         throw new InvalidActionException("[Unexpected] Unable to change turn gameId: " + gameState.getGameId());
       }
     }
@@ -5,30 +5,45 @@ import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Player;
 import com.example.Ludo.metadata.exception.InvalidActionException;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PlayerService {
+  private static final Logger logger = LoggerFactory.getLogger(PlayerService.class);
   public Player addPlayer(GameState game, String playerName) {
+    return addPlayer(game, playerName, false);
+  }
+
+  /** Seats a bot, named after its place among the game's bots. */
+  public Player addBot(GameState game) {
+    long bots = game.getPlayers().stream().filter(Player::isBot).count();
+    return addPlayer(game, "Bot " + (bots + 1), true);
+  }
+
+  private Player addPlayer(GameState game, String playerName, boolean bot) {
     int playerSize = game.getPlayers().size();
 
     if (playerSize >= ApplicationConstants.maxPlayersFour) {
-      System.out.println("❌ [PlayerService] Game full (" + playerSize + "/" + ApplicationConstants.maxPlayersFour + ")");
+      logger.debug("Game full ({}/{})", playerSize, ApplicationConstants.maxPlayersFour);
       throw new InvalidActionException("Game Player size exceeded");
     }
 
     if (playerName == null || playerName.trim().isEmpty()) {
-      System.out.println("❌ [PlayerService] Empty player name");
+      logger.debug("Empty player name");
       throw new InvalidActionException("Player name cannot be empty");
     }
 
     String playerId = UUID.randomUUID().toString();
     String playerColor = ApplicationConstants.colors.get(playerSize);
 
-    Player newPlayer = new Player(playerId, playerName, playerColor);
+    Player newPlayer = new Player(playerId, playerName, playerColor, bot);
     game.getPlayers().add(newPlayer);
 
-    System.out.println("👤 [PlayerService] Added " + playerName + " (" + playerColor + ") - Count: " + game.getPlayers().size());
+    if (logger.isDebugEnabled()) {
+      logger.debug("Added {} ({}) - count {}", playerName, playerColor, game.getPlayers().size());
+    }
     return newPlayer;
   }
 }
@@ -4,24 +4,28 @@ import com.example.Ludo.metadata.core.Utils.LudoUtils;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Token;
 import com.example.Ludo.metadata.exception.InvalidActionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TokenService {
+  private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
   public Token moveToken(GameState gameState, int playerIndex, int tokenIndex, int move) {
     Token token = LudoUtils.findTokenByIndex(gameState, playerIndex, tokenIndex);
     if (token == null) {
-      System.out.println("❌ [TokenService] Token not found - Player: " + playerIndex + ", Token: " + tokenIndex);
+      logger.debug("Token not found - player {}, token {}", playerIndex, tokenIndex);
       throw new InvalidActionException("Token not found for the given index");
     }
 
     if (move < 1) {
-      System.out.println("❌ [TokenService] Invalid move: " + move);
+      logger.debug("Invalid move: {}", move);
       throw new InvalidActionException("Move value must be positive");
     }
 
     if (token.isFinished()) {
-      System.out.println("❌ [TokenService] Token already finished");
+      logger.debug("Token already finished");
       throw new InvalidActionException("Cannot move a finished token");
     }
 
@@ -29,29 +33,31 @@ public class TokenService {
     int newPosition = currentPosition + move;
 
     if (token.isOpen() && newPosition > com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition) {
-      System.out.println("❌ [TokenService] Move exceeds end - New: " + newPosition + ", End: " + com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition);
+      logger.debug("Move exceeds end - new {}, end {}", newPosition, com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition);
       throw new InvalidActionException("Move exceeds end position for token");
     }
 
     // Opening token with 6
     if (!token.isOpen() && move == 6) {
       token.setCurrentPosition(0);
-      System.out.println("🔓 [TokenService] Token opened - moved to position 0");
+      gameState.setTokenPosition(playerIndex, tokenIndex, 0);
+      logger.debug("Token opened - moved to position 0");
       return token;
     }
 
     if (!token.isOpen()) {
-      System.out.println("❌ [TokenService] Token not open - need 6 to open");
+      logger.debug("Token not open - need 6 to open");
       throw new InvalidActionException("Token must be opened with a 6 before moving");
     }
 
     token.setCurrentPosition(newPosition);
+    gameState.setTokenPosition(playerIndex, tokenIndex, newPosition);
 
     if (newPosition == com.example.Ludo.metadata.core.constants.ApplicationConstants.endPosition) {
-      System.out.println("🏁 [TokenService] Token reached finish!");
+      logger.debug("Token reached finish");
     }
 
-    System.out.println("🚀 [TokenService] Token moved " + currentPosition + " → " + newPosition);
+    logger.debug("Token moved {} -> {}", currentPosition, newPosition);
     return token;
   }
 }
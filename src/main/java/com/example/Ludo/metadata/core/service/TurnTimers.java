@@ -0,0 +1,206 @@
+package com.example.Ludo.metadata.core.service;
+
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.timer.TimingWheel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives every turn a deadline, after which {@link GameService#expireTurn} acts for the seat.
+ * All games share one {@link TimingWheel} turned by a single "turn-timer" thread, instead of a
+ * scheduled task per game: each game keeps one reusable timer, a new turn moves it in O(1), and
+ * actions within a turn leave it alone. A tick costs the same whether ten or a million turns are
+ * pending.
+ *
+ * <p>Deadlines live in memory only. Games recovered from the store at startup or restored from the
+ * cold store get a fresh one; an evicted game's timer is taken off the wheel.
+ */
+@Component
+public class TurnTimers {
+  private static final Logger logger = LoggerFactory.getLogger(TurnTimers.class);
+  // 4 levels of 256 slots: 100 ms ticks reach 25.6 s on level 0 and 13 years on level 3
+  private static final int SLOT_BITS = 8;
+  private static final int LEVELS = 4;
+
+  private final GameStore gameStore;
+  private final GameActorExecutor gameActors;
+  private final boolean enabled;
+  private final boolean skip;
+  private final long timeoutMillis;
+  private final long tickNanos;
+  private final long startNanos = System.nanoTime();
+  private final TimingWheel<String> wheel;
+  private Thread ticker;
+  private volatile boolean running;
+
+  // Lazy: GameService calls back into this class on every publish
+  @Lazy @Autowired private GameService gameService;
+
+  public TurnTimers(
+      GameStore gameStore,
+      GameActorExecutor gameActors,
+      @Value("${ludo.turn-timer.enabled:true}") boolean enabled,
+      @Value("${ludo.turn-timer.timeout-ms:30000}") long timeoutMillis,
+      @Value("${ludo.turn-timer.tick-ms:100}") long tickMillis,
+      @Value("${ludo.turn-timer.on-expiry:play}") String onExpiry) {
+    if (timeoutMillis <= 0 || tickMillis <= 0) {
+      throw new IllegalArgumentException("Turn timeout and tick must be positive");
+    }
+    if (!"play".equals(onExpiry) && !"skip".equals(onExpiry)) {
+      throw new IllegalArgumentException("ludo.turn-timer.on-expiry must be play or skip: " + onExpiry);
+    }
+    this.gameStore = gameStore;
+    this.gameActors = gameActors;
+    this.enabled = enabled;
+    this.skip = "skip".equals(onExpiry);
+    this.timeoutMillis = timeoutMillis;
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    this.wheel = new TimingWheel<>(SLOT_BITS, LEVELS, this::expired);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      logger.info("Turn timers disabled");
+      return;
+    }
+    running = true;
+    ticker = new Thread(this::run, "turn-timer");
+    ticker.setDaemon(true);
+    ticker.start();
+    logger.info(
+        "Turn timers: {} ms per turn, {} ms ticks, idle turns {}",
+        timeoutMillis,
+        TimeUnit.NANOSECONDS.toMillis(tickNanos),
+        skip ? "skipped" : "played");
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (ticker != null) {
+      LockSupport.unpark(ticker);
+      ticker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  /** Starts the clock for games recovered from the store, which had no deadline in memory. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void armRecoveredGames() {
+    if (!enabled) {
+      return;
+    }
+    int armed = 0;
+    for (GameState game : gameStore.findAll()) {
+      if (game.isStarted() && !game.isEnd()) {
+        gameActors.submit(game.getGameId(), () -> arm(game));
+        armed++;
+      }
+    }
+    if (armed > 0) {
+      logger.info("Armed turn timers for {} recovered games", armed);
+    }
+  }
+
+  /**
+   * Called on the game's mailbox after each published change. A new turn (another seat to act)
+   * gets a fresh deadline; a finished game's timer is disarmed.
+   *
+   * @return whether a deadline was set
+   */
+  public boolean arm(GameState game) {
+    if (!enabled) {
+      return false;
+    }
+    TimingWheel.Timer<String> timer = game.getTurnTimer();
+    if (!game.isStarted() || game.isEnd()) {
+      if (timer != null && game.getTurnDeadlineMillis() != 0) {
+        wheel.cancel(timer);
+        reset(game);
+      }
+      return false;
+    }
+    int seat = game.getCurrentPlayerIndex();
+    if (seat == game.getTurnDeadlineSeat() && game.getTurnDeadlineMillis() != 0) {
+      return false; // still the same turn, e.g. a move or a bonus roll after a six
+    }
+    if (timer == null) {
+      timer = wheel.newTimer(game.getGameId());
+      game.setTurnTimer(timer);
+    }
+    // Rounded up, so a turn never times out early
+    long deadlineNanos =
+        System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    long deadlineTick = (deadlineNanos + tickNanos - 1) / tickNanos;
+    game.setTurnDeadlineMillis(System.currentTimeMillis() + timeoutMillis);
+    game.setTurnDeadlineTick(deadlineTick);
+    game.setTurnDeadlineSeat(seat);
+    wheel.schedule(timer, deadlineTick);
+    return true;
+  }
+
+  /**
+   * Whether {@code timer}, fired at {@code firedTick}, is still the deadline of {@code game}'s
+   * current turn. It is not if the game was evicted and reloaded (a new timer) or a new turn
+   * started after the timer came due but before the game's mailbox got to it.
+   */
+  public boolean isDue(GameState game, TimingWheel.Timer<String> timer, long firedTick) {
+    return game.getTurnTimer() == timer
+        && game.getTurnDeadlineMillis() != 0
+        && game.getTurnDeadlineTick() <= firedTick;
+  }
+
+  /** Takes an evicted game's timer off the wheel, so it never fires against a missing game. */
+  public void cancel(GameState game) {
+    TimingWheel.Timer<String> timer = game.getTurnTimer();
+    if (timer != null) {
+      wheel.cancel(timer);
+      reset(game);
+    }
+  }
+
+  /** Forgets the current turn's deadline, so the next {@link #arm} starts a new one. */
+  public void reset(GameState game) {
+    game.setTurnDeadlineMillis(0);
+    game.setTurnDeadlineSeat(-1);
+  }
+
+  /** Whether a timed out turn is passed on unplayed rather than played for the seat. */
+  public boolean skipsTurn() {
+    return skip;
+  }
+
+  /** Turns waiting for their deadline. */
+  public int pending() {
+    return wheel.size();
+  }
+
+  private void run() {
+    while (running) {
+      long elapsed = System.nanoTime() - startNanos;
+      try {
+        // Catches up tick by tick after a pause, so no timer is skipped
+        wheel.advance(elapsed / tickNanos);
+      } catch (RuntimeException e) {
+        logger.error("Turn timer tick failed", e);
+      }
+      LockSupport.parkNanos(tickNanos - (System.nanoTime() - startNanos) % tickNanos);
+    }
+  }
+
+  // On the ticker thread: hands the turn to the game's mailbox and moves on
+  private void expired(TimingWheel.Timer<String> timer) {
+    gameService.expireTurn(timer.payload(), timer, wheel.tick());
+  }
+}
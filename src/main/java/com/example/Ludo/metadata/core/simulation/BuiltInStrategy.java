@@ -0,0 +1,75 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
+
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Token;
+import java.util.SplittableRandom;
+
+/** Simple policies to play simulated games with, selectable by name from the command line. */
+public enum BuiltInStrategy implements PlayerStrategy {
+  /** Any movable token, uniformly. */
+  RANDOM {
+    @Override
+    public int chooseToken(
+        GameState game, int playerIndex, int move, int movable, SplittableRandom random) {
+      int pick = random.nextInt(Integer.bitCount(movable));
+      for (int i = 0; i < pick; i++) {
+        movable &= movable - 1;
+      }
+      return Integer.numberOfTrailingZeros(movable);
+    }
+  },
+
+  /** The token furthest along, to bring tokens home one at a time; opens a token only if needed. */
+  FURTHEST {
+    @Override
+    public int chooseToken(
+        GameState game, int playerIndex, int move, int movable, SplittableRandom random) {
+      int best = -1;
+      int bestPosition = Integer.MIN_VALUE;
+      for (int t = 0; t < tokensPerPlayer; t++) {
+        int position = game.getTokenPosition(playerIndex, t);
+        if ((movable & (1 << t)) != 0 && position > bestPosition) {
+          best = t;
+          bestPosition = position;
+        }
+      }
+      return best;
+    }
+  },
+
+  /** A move that cuts an opponent if there is one, else opens a token, else {@link #FURTHEST}. */
+  AGGRESSIVE {
+    @Override
+    public int chooseToken(
+        GameState game, int playerIndex, int move, int movable, SplittableRandom random) {
+      int opening = -1;
+      for (int t = 0; t < tokensPerPlayer; t++) {
+        if ((movable & (1 << t)) == 0) {
+          continue;
+        }
+        int position = game.getTokenPosition(playerIndex, t);
+        if (position < 0) {
+          opening = t;
+        } else if (cuts(game, playerIndex, position + move)) {
+          return t;
+        }
+      }
+      if (opening >= 0) {
+        return opening;
+      }
+      return FURTHEST.chooseToken(game, playerIndex, move, movable, random);
+    }
+  };
+
+  // Same test LudoRule.cutIfPossible applies to the landing cell
+  private static boolean cuts(GameState game, int playerIndex, int target) {
+    int cell = Token.globalPosition(game.getSeatColor(playerIndex), target);
+    if (ApplicationConstants.isSafeCell(cell)) {
+      return false;
+    }
+    return (game.getCellOccupancy(cell) & ~GameState.seatMask(playerIndex)) != 0;
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.model.DiceRolls;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
+import java.util.SplittableRandom;
+
+/**
+ * Plays whole games on a bare {@link GameState}, with no Spring, mailbox, store or DTOs. Rolls and
+ * moves go through {@link TurnSteps}, i.e. the same steps, {@code GameRules} and {@code
+ * TokenService} as {@code GameService}, so a rule change shows up here exactly as it would on the
+ * server. Hands that no token can use are forfeited by the rules and counted as stuck turns.
+ */
+public final class GameSimulator {
+  // Games still running after this many rolls are counted as aborted
+  static final int MAX_ROLLS_PER_GAME = 10_000;
+
+  private final TurnSteps steps;
+
+  public GameSimulator() {
+    this(new TurnSteps());
+  }
+
+  public GameSimulator(TurnSteps steps) {
+    this.steps = steps;
+  }
+
+  /** Plays one game to the end, with dice drawn from {@code seed}, and adds it to {@code stats}. */
+  public void play(PlayerStrategy[] strategies, long seed, SimulationStats stats) {
+    SplittableRandom random = new SplittableRandom(seed);
+    GameState game = newGame(strategies.length);
+    int rolls = 0;
+    int turns = 0;
+    try {
+      while (!game.isEnd()) {
+        if (rolls >= MAX_ROLLS_PER_GAME) {
+          stats.aborted(rolls, turns);
+          return;
+        }
+        int player = game.getCurrentPlayerIndex();
+        DiceRolls dice = game.getCurrentDiceRolls();
+        int outcome;
+        if (dice.mustRoll()) {
+          rolls++;
+          outcome = steps.roll(game, random.nextInt(1, 7));
+        } else {
+          int move = dice.getMove(dice.firstUnused());
+          int movable = game.getMovableTokens();
+          outcome =
+              steps.move(game, strategies[player].chooseToken(game, player, move, movable, random));
+        }
+        if ((outcome & TurnSteps.TURN_PASSED) != 0) {
+          turns++;
+        }
+        if ((outcome & TurnSteps.CUT) != 0) {
+          stats.cut();
+        }
+        if ((outcome & TurnSteps.THREE_SIXES) != 0) {
+          stats.threeSixes();
+        }
+        if ((outcome & TurnSteps.FORFEITED) != 0) {
+          stats.stuckTurn();
+        }
+      }
+    } catch (RuntimeException e) {
+      stats.ruleError(e, rolls, turns);
+      return;
+    }
+    int firstSeat = game.getPlayers().indexOf(game.getWinners().get(0));
+    stats.finished(firstSeat, game.getSeatColor(firstSeat), rolls, turns + 1);
+  }
+
+  /** A started game with {@code playerCount} seats, coloured the way players join on the server. */
+  public static GameState newGame(int playerCount) {
+    GameState game = new GameState("SIM");
+    for (int p = 0; p < playerCount; p++) {
+      String color = ApplicationConstants.colors.get(p);
+      game.getPlayers().add(new Player("p" + p, "Player " + p, color));
+      game.initializeTokens(p, Color.valueOf(color));
+    }
+    game.setStarted(true);
+    game.setCurrentPlayerId(game.getPlayers().get(0).getId());
+    game.setCurrentPlayerIndex(0);
+    return game;
+  }
+}
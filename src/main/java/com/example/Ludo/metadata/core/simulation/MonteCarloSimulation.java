@@ -0,0 +1,64 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many independent games on a fork-join pool. Game {@code i} always gets the same dice for a
+ * given seed, however the range is split, so a run is reproducible at any parallelism.
+ */
+public final class MonteCarloSimulation {
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  // Games one leaf task plays before it stops splitting
+  private static final int LEAF_GAMES = 512;
+
+  private final GameSimulator simulator;
+  private final PlayerStrategy[] strategies;
+  private final long seed;
+
+  /** One strategy per seat; the number of strategies is the number of players. */
+  public MonteCarloSimulation(GameSimulator simulator, PlayerStrategy[] strategies, long seed) {
+    if (strategies.length < 2 || strategies.length > 4) {
+      throw new IllegalArgumentException("A game needs 2 to 4 players, got " + strategies.length);
+    }
+    this.simulator = simulator;
+    this.strategies = strategies.clone();
+    this.seed = seed;
+  }
+
+  public SimulationStats run(long games, ForkJoinPool pool) {
+    return pool.invoke(new Games(0, games));
+  }
+
+  private final class Games extends RecursiveTask<SimulationStats> {
+    private final long from;
+    private final long to;
+
+    Games(long from, long to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+      if (to - from <= LEAF_GAMES) {
+        SimulationStats stats = new SimulationStats();
+        for (long game = from; game < to; game++) {
+          simulator.play(strategies, mix64(seed + game * GOLDEN_GAMMA), stats);
+        }
+        return stats;
+      }
+      long middle = (from + to) >>> 1;
+      Games left = new Games(from, middle);
+      left.fork();
+      SimulationStats right = new Games(middle, to).compute();
+      return left.join().merge(right);
+    }
+  }
+
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.SplittableRandom;
+
+/** Picks which token a simulated player moves. */
+public interface PlayerStrategy {
+  /**
+   * @param movable bitmask of the tokens ({@code 1 << tokenIndex}) the rules accept for {@code
+   *     move}; never empty
+   * @return the index of one of the movable tokens
+   */
+  int chooseToken(GameState game, int playerIndex, int move, int movable, SplittableRandom random);
+}
@@ -0,0 +1,189 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxPlayersFour;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import java.util.Locale;
+
+/**
+ * Totals over a batch of simulated games. Not thread-safe: each fork-join leaf fills its own and
+ * the results are {@link #merge merged}.
+ */
+public final class SimulationStats {
+  // Game lengths are bucketed per turn up to this, anything longer lands in the last bucket
+  private static final int LENGTH_BUCKETS = 4096;
+
+  private long games;
+  private long aborted;
+  private long ruleErrors;
+  private String firstRuleError;
+  private long rolls;
+  private long turns;
+  private long cuts;
+  private long threeSixes;
+  private long stuckTurns;
+  private int shortestGame = Integer.MAX_VALUE;
+  private int longestGame;
+  private final long[] gameLengths = new long[LENGTH_BUCKETS];
+  private final long[] winsBySeat = new long[maxPlayersFour];
+  private final long[] winsByColor = new long[Color.values().length];
+
+  void finished(int firstSeat, Color firstColor, int rollCount, int turnCount) {
+    games++;
+    rolls += rollCount;
+    turns += turnCount;
+    shortestGame = Math.min(shortestGame, turnCount);
+    longestGame = Math.max(longestGame, turnCount);
+    gameLengths[Math.min(turnCount, LENGTH_BUCKETS - 1)]++;
+    winsBySeat[firstSeat]++;
+    winsByColor[firstColor.ordinal()]++;
+  }
+
+  void aborted(int rollCount, int turnCount) {
+    aborted++;
+    rolls += rollCount;
+    turns += turnCount;
+  }
+
+  void ruleError(RuntimeException e, int rollCount, int turnCount) {
+    ruleErrors++;
+    if (firstRuleError == null) {
+      firstRuleError = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+    aborted(rollCount, turnCount);
+  }
+
+  void cut() {
+    cuts++;
+  }
+
+  void threeSixes() {
+    threeSixes++;
+  }
+
+  void stuckTurn() {
+    stuckTurns++;
+  }
+
+  SimulationStats merge(SimulationStats other) {
+    games += other.games;
+    aborted += other.aborted;
+    ruleErrors += other.ruleErrors;
+    if (firstRuleError == null) {
+      firstRuleError = other.firstRuleError;
+    }
+    rolls += other.rolls;
+    turns += other.turns;
+    cuts += other.cuts;
+    threeSixes += other.threeSixes;
+    stuckTurns += other.stuckTurns;
+    shortestGame = Math.min(shortestGame, other.shortestGame);
+    longestGame = Math.max(longestGame, other.longestGame);
+    for (int i = 0; i < LENGTH_BUCKETS; i++) {
+      gameLengths[i] += other.gameLengths[i];
+    }
+    for (int i = 0; i < winsBySeat.length; i++) {
+      winsBySeat[i] += other.winsBySeat[i];
+    }
+    for (int i = 0; i < winsByColor.length; i++) {
+      winsByColor[i] += other.winsByColor[i];
+    }
+    return this;
+  }
+
+  /** Games played to the end. */
+  public long getGames() {
+    return games;
+  }
+
+  /** Games stopped early: over the roll cap, or a rule threw. */
+  public long getAborted() {
+    return aborted;
+  }
+
+  public long getRuleErrors() {
+    return ruleErrors;
+  }
+
+  /** Type and message of the first exception the rules threw, or null. */
+  public String getFirstRuleError() {
+    return firstRuleError;
+  }
+
+  public long getRolls() {
+    return rolls;
+  }
+
+  public long getTurns() {
+    return turns;
+  }
+
+  public long getCuts() {
+    return cuts;
+  }
+
+  public long getThreeSixes() {
+    return threeSixes;
+  }
+
+  /** Turns ended by the simulator because no token could use the die; the rules have no pass. */
+  public long getStuckTurns() {
+    return stuckTurns;
+  }
+
+  /** Finished games whose first winner sat in {@code seat}. */
+  public long getWins(int seat) {
+    return winsBySeat[seat];
+  }
+
+  public long getWins(Color color) {
+    return winsByColor[color.ordinal()];
+  }
+
+  /** Length in turns of finished games at {@code quantile} (0..1), or 0 if none finished. */
+  public int gameLengthAt(double quantile) {
+    long rank = (long) Math.ceil(quantile * games);
+    long seen = 0;
+    for (int i = 0; i < LENGTH_BUCKETS; i++) {
+      seen += gameLengths[i];
+      if (seen >= Math.max(rank, 1)) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  public String report() {
+    StringBuilder out = new StringBuilder();
+    long played = games + aborted;
+    out.append(String.format(Locale.ROOT,
+        "games        %,d finished, %,d aborted (%,d rule errors)%n", games, aborted, ruleErrors));
+    if (firstRuleError != null) {
+      out.append("first error  ").append(firstRuleError).append(System.lineSeparator());
+    }
+    if (games > 0) {
+      out.append(String.format(Locale.ROOT,
+          "length       turns/game min %d, p50 %d, p90 %d, p99 %d, max %d%n",
+          shortestGame, gameLengthAt(0.5), gameLengthAt(0.9), gameLengthAt(0.99), longestGame));
+    }
+    if (played > 0) {
+      out.append(String.format(Locale.ROOT,
+          "per game     %.1f rolls, %.1f turns, %.2f cuts, %.3f three-sixes, %.2f stuck turns%n",
+          (double) rolls / played, (double) turns / played, (double) cuts / played,
+          (double) threeSixes / played, (double) stuckTurns / played));
+    }
+    out.append("wins by seat ");
+    for (int seat = 0; seat < winsBySeat.length; seat++) {
+      out.append(String.format(Locale.ROOT, " %d: %5.2f%%", seat, percent(winsBySeat[seat])));
+    }
+    out.append(System.lineSeparator()).append("wins by color");
+    for (Color color : Color.values()) {
+      out.append(String.format(Locale.ROOT, " %s: %5.2f%%", color, percent(getWins(color))));
+    }
+    return out.append(System.lineSeparator()).toString();
+  }
+
+  private double percent(long count) {
+    return games == 0 ? 0 : 100.0 * count / games;
+  }
+}
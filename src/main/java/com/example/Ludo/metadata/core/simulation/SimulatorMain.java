@@ -0,0 +1,85 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import ch.qos.logback.classic.Level;
+import com.example.Ludo.metadata.core.bot.ExpectimaxStrategy;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command line entry point, run with {@code mvn -P simulate compile exec:exec}. Arguments are
+ * {@code key=value}:
+ *
+ * <pre>
+ *   games=1000000            games to play
+ *   strategies=RANDOM,RANDOM one BuiltInStrategy, or EXPECTIMAX, per seat (2 to 4)
+ *   bot-budget-ms=2          EXPECTIMAX's search time per move
+ *   seed=1                   dice seed; the same seed replays the same games
+ *   parallelism=N            fork-join threads, defaults to the number of cores
+ * </pre>
+ */
+public final class SimulatorMain {
+  private SimulatorMain() {}
+
+  public static void main(String[] args) {
+    long games = 1_000_000;
+    String strategyNames = "RANDOM,RANDOM,RANDOM,RANDOM";
+    long seed = 1;
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    long botBudgetMillis = 2;
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      String key = eq < 0 ? arg : arg.substring(0, eq);
+      String value = eq < 0 ? "" : arg.substring(eq + 1);
+      switch (key) {
+        case "games":
+          games = Long.parseLong(value);
+          break;
+        case "strategies":
+          strategyNames = value;
+          break;
+        case "seed":
+          seed = Long.parseLong(value);
+          break;
+        case "parallelism":
+          parallelism = Integer.parseInt(value);
+          break;
+        case "bot-budget-ms":
+          botBudgetMillis = Long.parseLong(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+
+    // Outside Spring nothing reads logback-spring.xml; the rules' debug logging would dominate
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+        .setLevel(Level.WARN);
+
+    String[] names = strategyNames.split(",");
+    PlayerStrategy[] strategies = new PlayerStrategy[names.length];
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i].trim().toUpperCase(Locale.ROOT);
+      strategies[i] =
+          name.equals("EXPECTIMAX")
+              ? new ExpectimaxStrategy(TimeUnit.MILLISECONDS.toNanos(botBudgetMillis))
+              : BuiltInStrategy.valueOf(name);
+    }
+
+    MonteCarloSimulation simulation =
+        new MonteCarloSimulation(new GameSimulator(), strategies, seed);
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    long start = System.nanoTime();
+    SimulationStats stats = simulation.run(games, pool);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    pool.shutdown();
+
+    System.out.printf(
+        Locale.ROOT,
+        "%,d games of %s in %.2fs on %d threads (%,.0f games/min)%n",
+        games, strategyNames, seconds, parallelism, games / seconds * 60);
+    System.out.print(stats.report());
+  }
+}
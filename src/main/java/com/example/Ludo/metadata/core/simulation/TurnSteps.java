@@ -0,0 +1,130 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import com.example.Ludo.metadata.core.Utils.LudoUtils;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.interfaces.GameRules;
+import com.example.Ludo.metadata.core.model.DiceRolls;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
+import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.core.service.LudoRule;
+import com.example.Ludo.metadata.core.service.TokenService;
+
+/**
+ * What an accepted roll or move does to a {@link GameState}: the hand, cuts, wins and the end of
+ * the turn, through the {@link GameRules} and {@link TokenService} it is given. {@code
+ * GameService} applies its validated actions through here, and the simulator and the bots' search
+ * play through the same steps, so all of them play by the server's rules. Nothing is validated:
+ * callers check whose turn it is and that the move is legal. Changes are recorded in the game's
+ * history when it keeps one.
+ *
+ * <p>Steps return a bitmask of what happened: {@link #TURN_PASSED}, {@link #CUT}, {@link
+ * #THREE_SIXES}, {@link #FORFEITED}, {@link #WON}.
+ */
+public final class TurnSteps {
+  public static final int TURN_PASSED = 1;
+  public static final int CUT = 2;
+  public static final int THREE_SIXES = 4;
+  public static final int FORFEITED = 8;
+  // The mover's last token came home with this move
+  public static final int WON = 16;
+
+  private final GameRules rules;
+  private final TokenService tokenService;
+
+  public TurnSteps() {
+    this(new LudoRule(), new TokenService());
+  }
+
+  public TurnSteps(GameRules rules, TokenService tokenService) {
+    this.rules = rules;
+    this.tokenService = tokenService;
+  }
+
+  /** The current player rolls {@code value}. */
+  public int roll(GameState game, int value) {
+    game.setDiceRollCount(game.getDiceRollCount() + 1);
+    game.getCurrentDiceRolls().add(value);
+    return afterRoll(game);
+  }
+
+  /** Records the die the current player just added to their hand and ends the turn if it must. */
+  public int afterRoll(GameState game) {
+    int player = game.getCurrentPlayerIndex();
+    DiceRolls dice = game.getCurrentDiceRolls();
+    int value = dice.getLastMove();
+    game.record(HistoryEventType.ROLL, player, 0, dice.size() - 1, 0, value);
+
+    // With every token at home only a six is usable
+    boolean allAtHome = game.hasTokens(player) && game.allTokensAtHome(player);
+    boolean hasUsableDice = false;
+    for (int i = 0; i < dice.size() && !hasUsableDice; i++) {
+      hasUsableDice = !dice.isUsed(i) && (!allAtHome || dice.isSix(i));
+    }
+    if (allAtHome && !hasUsableDice && value != 6) {
+      game.clearDice();
+      rules.changeTurn(game);
+      return TURN_PASSED;
+    }
+    if (LudoUtils.handleThreeSixesScenario(game)) {
+      game.clearDice();
+      rules.changeTurn(game);
+      return TURN_PASSED | THREE_SIXES;
+    }
+    return forfeitUnusableHand(game);
+  }
+
+  /** The current player moves {@code token} by their first unused die. */
+  public int move(GameState game, int token) {
+    int player = game.getCurrentPlayerIndex();
+    DiceRolls dice = game.getCurrentDiceRolls();
+    int die = dice.firstUnused();
+    int from = game.getTokenPosition(player, token);
+    Token moved = tokenService.moveToken(game, player, token, dice.getMove(die));
+    dice.markUsed(die);
+    game.record(
+        HistoryEventType.MOVE, player, token, die, from, game.getTokenPosition(player, token));
+    LudoUtils.cleanCurrentDiceRolls(game);
+    int outcome = rules.cutIfPossible(game, moved) ? CUT : 0;
+
+    // Wins first: changeTurn refuses to run once the game is finished
+    if (game.hasPlayerWon(player)) {
+      Player winner = game.getPlayers().get(player);
+      if (!game.getWinners().contains(winner)) {
+        game.getWinners().add(winner);
+        game.record(HistoryEventType.WIN, player);
+        outcome |= WON;
+      }
+      if (game.isGameFinished()) {
+        game.setEnd(true);
+        game.record(HistoryEventType.END, player);
+      }
+    }
+
+    // A spent hand ends the turn unless it held a six, which earns another roll
+    if (!dice.hasUnused() && !game.isEnd()) {
+      boolean hasSixes = dice.countSixes() > 0;
+      game.clearDice();
+      if (!hasSixes) {
+        rules.changeTurn(game);
+        outcome |= TURN_PASSED;
+      }
+    }
+    return outcome | forfeitUnusableHand(game);
+  }
+
+  /**
+   * Ends a hand no token can use and passes the turn. Without this a player with no legal move
+   * could never act. The last die of such a hand is never a six, so, as after a spent hand, there
+   * is no roll to come: sixes already played do not earn one.
+   */
+  private int forfeitUnusableHand(GameState game) {
+    DiceRolls dice = game.getCurrentDiceRolls();
+    if (game.isEnd() || dice.mustRoll() || game.getMovableTokens() != 0) {
+      return 0;
+    }
+    game.clearDice();
+    rules.changeTurn(game);
+    return FORFEITED | TURN_PASSED;
+  }
+}
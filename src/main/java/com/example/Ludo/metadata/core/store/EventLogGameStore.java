@@ -0,0 +1,663 @@
+package com.example.Ludo.metadata.core.store;
+
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps games in memory and appends every change to a memory-mapped segment log, so games survive
+ * a restart.
+ *
+ * <p>Each record carries the game's full packed state after the change (see {@link
+ * GameStateCodec}), so recovery never re-runs game rules: the last record for a game wins. The
+ * game's {@link GameHistory} is logged incrementally: a record carries only the events published
+ * with its change (all of them when the game is created or restored). The writer keeps only each
+ * game's latest encoded state and how many of its events are logged; a snapshot copies those
+ * events from the live game, whose history never changes below what it has published. Records
+ * are encoded on the game's mailbox thread and handed to a single writer thread, which copies
+ * whatever has queued up into the mapped segment and forces it once per batch (group commit). A
+ * caller therefore pays for one encode and a queue offer, never for a disk sync.
+ *
+ * <p>Every {@code snapshotEveryRecords} records, every {@code snapshotIntervalMs} if anything was
+ * written, and once more on shutdown, the writer rolls to a new segment, writes a snapshot of the
+ * latest state of every live game and deletes the segments the snapshot covers. Startup maps the
+ * newest snapshot and the segments after it, keeps the last record per game and decodes those on
+ * {@code recoveryThreads} threads; after a clean shutdown there is no tail to replay at all.
+ *
+ * <pre>
+ *   segment record: length:4 crc32:4 body
+ *   body:           type|0x40:1 historyFrom:4 count:4 (event:8)* encodedState   (a change)
+ *                   type:1 gameId                                               (REMOVE)
+ *   snapshot:       count:4 (length:4 body)*  crc32:4   (bodies of type CREATE, historyFrom 0)
+ * </pre>
+ *
+ * A {@code historyFrom} of -1 marks a game without history. Bodies without the 0x40 flag and
+ * snapshot entries that are a bare encoded state, as written before history was logged, load as
+ * games without history. A record with a zero length or a bad checksum marks the end of a segment,
+ * so a torn write at the tail is dropped on recovery. A record too big for a segment is refused
+ * before anything is written, and after any failed write the writer moves on to a new segment, so
+ * records written after a torn one are never hidden behind it.
+ */
+@Component
+@ConditionalOnProperty(name = "ludo.store.type", havingValue = "eventlog")
+public class EventLogGameStore implements GameStore {
+  private static final Logger logger = LoggerFactory.getLogger(EventLogGameStore.class);
+  private static final Pattern SEGMENT = Pattern.compile("segment-(\\d+)\\.log");
+  private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.bin");
+  private static final int RECORD_HEADER = 8;
+  // Set on the type byte of bodies that carry history events before the state
+  private static final int WITH_HISTORY = 0x40;
+  private static final int NO_HISTORY = -1;
+  // Queued by close() so that the last snapshot covers everything and restart has no tail
+  private static final Object SNAPSHOT_NOW = new Object();
+
+  private final Map<String, GameState> games = new ConcurrentHashMap<>();
+  private final BlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final long flushIntervalMs;
+  private final int snapshotEveryRecords;
+  private final long snapshotIntervalNanos;
+  private final int recoveryThreads;
+
+  // Writer-thread state: each game's latest encoded state and how many history events are logged
+  private final Map<String, LoggedState> latest = new HashMap<>();
+  // Histories rebuilt from the log, only until recovery hands them to their games
+  private final Map<String, GameHistory> histories = new HashMap<>();
+  private final CRC32 crc = new CRC32();
+  private long segmentNumber;
+  private FileChannel segmentChannel;
+  private MappedByteBuffer segment;
+  // Set after a failed write, which may have left part of a record in the segment
+  private boolean segmentTorn;
+  // Reported to the next barrier, so flush() fails if anything saved before it was lost
+  private Exception failedSinceBarrier;
+  private int recordsSinceSnapshot;
+  private long lastSnapshotNanos = System.nanoTime();
+
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public EventLogGameStore(
+      String directory, int segmentSizeMb, long flushIntervalMs, int snapshotEveryRecords) {
+    this(directory, segmentSizeMb, flushIntervalMs, snapshotEveryRecords, 0, 0);
+  }
+
+  @Autowired
+  public EventLogGameStore(
+      @Value("${ludo.store.dir:./data/games}") String directory,
+      @Value("${ludo.store.segment-size-mb:64}") int segmentSizeMb,
+      @Value("${ludo.store.flush-interval-ms:5}") long flushIntervalMs,
+      @Value("${ludo.store.snapshot-every-records:100000}") int snapshotEveryRecords,
+      @Value("${ludo.store.snapshot-interval-ms:60000}") long snapshotIntervalMs,
+      @Value("${ludo.store.recovery-threads:0}") int recoveryThreads) {
+    this.directory = Paths.get(directory);
+    this.segmentBytes = segmentSizeMb * 1024 * 1024;
+    this.flushIntervalMs = flushIntervalMs;
+    this.snapshotEveryRecords = snapshotEveryRecords;
+    this.snapshotIntervalNanos =
+        snapshotIntervalMs > 0 ? TimeUnit.MILLISECONDS.toNanos(snapshotIntervalMs) : Long.MAX_VALUE;
+    this.recoveryThreads =
+        recoveryThreads > 0 ? recoveryThreads : Runtime.getRuntime().availableProcessors();
+    try {
+      Files.createDirectories(this.directory);
+      recover();
+      openSegment(segmentNumber + 1);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open game log in " + this.directory, e);
+    }
+    writer = new Thread(this::writeLoop, "game-log-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public GameState find(String gameId) {
+    return games.get(gameId);
+  }
+
+  @Override
+  public boolean exists(String gameId) {
+    return games.containsKey(gameId);
+  }
+
+  @Override
+  public boolean create(GameState game) {
+    if (games.putIfAbsent(game.getGameId(), game) != null) {
+      return false;
+    }
+    save(game, GameEventType.CREATE);
+    return true;
+  }
+
+  @Override
+  public void save(GameState game, GameEventType event) {
+    GameHistory history = game.getHistory();
+    int from = NO_HISTORY;
+    if (history != null) {
+      // Earlier versions' events are in the log already, unless the game is new to it
+      from = event == GameEventType.CREATE ? 0 : history.sizeAt(game.getVersion() - 1);
+    }
+    int to = history == null ? 0 : history.size();
+    pending.offer(body(event, from, history, to, GameStateCodec.encode(game)));
+  }
+
+  @Override
+  public void remove(String gameId) {
+    if (games.remove(gameId) != null) {
+      pending.offer(record(GameEventType.REMOVE, gameId.getBytes(StandardCharsets.UTF_8)));
+    }
+  }
+
+  @Override
+  public Collection<GameState> findAll() {
+    return Collections.unmodifiableCollection(games.values());
+  }
+
+  @Override
+  public int size() {
+    return games.size();
+  }
+
+  /** Blocks until everything saved so far is written and forced to disk. */
+  public void flush() {
+    CompletableFuture<Void> barrier = new CompletableFuture<>();
+    pending.offer(barrier);
+    barrier.join();
+  }
+
+  /** Writes what is pending and a final snapshot, so the next start has no log tail to replay. */
+  @PreDestroy
+  public void close() {
+    pending.offer(SNAPSHOT_NOW);
+    halt();
+  }
+
+  // Stops after writing what is pending but without a final snapshot, as a crash after the last
+  // flush would leave things
+  void halt() {
+    flush();
+    running = false;
+    writer.interrupt();
+    try {
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+      segmentChannel.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      logger.error("Failed to close segment", e);
+    }
+  }
+
+  private static byte[] record(GameEventType event, byte[] payload) {
+    byte[] body = new byte[payload.length + 1];
+    body[0] = event.getCode();
+    System.arraycopy(payload, 0, body, 1, payload.length);
+    return body;
+  }
+
+  // The history events from historyFrom up to to, then the state
+  private static byte[] body(
+      GameEventType event, int from, GameHistory history, int to, byte[] state) {
+    int count = from == NO_HISTORY ? 0 : to - from;
+    ByteBuffer body = ByteBuffer.allocate(9 + count * 8 + state.length);
+    body.put((byte) (event.getCode() | WITH_HISTORY)).putInt(from).putInt(count);
+    for (int i = 0; i < count; i++) {
+      body.putLong(history.get(from + i));
+    }
+    return body.put(state).array();
+  }
+
+  // ---- writer thread ----
+
+  private void writeLoop() {
+    List<Object> batch = new ArrayList<>();
+    while (running) {
+      try {
+        Object first = pending.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (snapshotDue(false)) {
+            snapshot();
+          }
+          continue;
+        }
+        batch.add(first);
+        pending.drainTo(batch);
+        writeBatch(batch);
+      } catch (InterruptedException e) {
+        if (!running) {
+          break;
+        }
+      } catch (IOException | RuntimeException e) {
+        logger.error("Write failed", e);
+        segmentTorn = true;
+        failBarriers(batch, e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  // Barriers complete after any snapshot the batch triggers, so close() waits for the last one
+  @SuppressWarnings("unchecked")
+  private void writeBatch(List<Object> batch) throws IOException {
+    boolean snapshotNow = false;
+    for (Object item : batch) {
+      if (item instanceof byte[]) {
+        // One record that cannot be written must not take the rest of the batch with it
+        try {
+          append((byte[]) item);
+        } catch (IOException | RuntimeException e) {
+          logger.error("Dropping a record that could not be written", e);
+          segmentTorn = true;
+          failedSinceBarrier = e;
+        }
+      } else if (item == SNAPSHOT_NOW) {
+        snapshotNow = true;
+      }
+    }
+    segment.force();
+    if (snapshotDue(snapshotNow)) {
+      snapshot();
+    }
+    for (Object item : batch) {
+      if (item instanceof CompletableFuture) {
+        if (failedSinceBarrier == null) {
+          ((CompletableFuture<Void>) item).complete(null);
+        } else {
+          ((CompletableFuture<Void>) item).completeExceptionally(failedSinceBarrier);
+          failedSinceBarrier = null;
+        }
+      }
+    }
+  }
+
+  private boolean snapshotDue(boolean requested) {
+    if (recordsSinceSnapshot == 0) {
+      return false;
+    }
+    return requested
+        || recordsSinceSnapshot >= snapshotEveryRecords
+        || System.nanoTime() - lastSnapshotNanos >= snapshotIntervalNanos;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void failBarriers(List<Object> batch, Exception e) {
+    for (Object item : batch) {
+      if (item instanceof CompletableFuture) {
+        ((CompletableFuture<Void>) item).completeExceptionally(e);
+      }
+    }
+  }
+
+  // Checks the size before writing anything, and leaves room for the zero length that ends a segment
+  private void append(byte[] body) throws IOException {
+    int length = RECORD_HEADER + body.length;
+    if (length + RECORD_HEADER > segmentBytes) {
+      throw new IOException(
+          "Record of " + body.length + " bytes does not fit a " + segmentBytes + "-byte segment");
+    }
+    if (segmentTorn || segment.remaining() < length + RECORD_HEADER) {
+      segment.force();
+      openSegment(segmentNumber + 1);
+    }
+    crc.reset();
+    crc.update(body);
+    segment.putInt(body.length);
+    segment.putInt((int) crc.getValue());
+    segment.put(body);
+    track(body);
+    recordsSinceSnapshot++;
+  }
+
+  private void openSegment(long number) throws IOException {
+    if (segmentChannel != null) {
+      segmentChannel.close();
+    }
+    segmentNumber = number;
+    segmentChannel =
+        FileChannel.open(
+            segmentPath(number),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    segmentTorn = false;
+  }
+
+  /** Rolls to a fresh segment, writes every game's latest state and drops older files. */
+  private void snapshot() throws IOException {
+    segment.force();
+    openSegment(segmentNumber + 1);
+
+    Path temp = directory.resolve("snapshot.tmp");
+    CRC32 snapshotCrc = new CRC32();
+    try (DataOutputStream out =
+        new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+      out.writeInt(latest.size());
+      for (Map.Entry<String, LoggedState> entry : latest.entrySet()) {
+        LoggedState logged = entry.getValue();
+        GameHistory history = loggedHistory(entry.getKey(), logged.historySize);
+        byte[] body =
+            body(
+                GameEventType.CREATE,
+                history == null ? NO_HISTORY : 0,
+                history,
+                logged.historySize,
+                logged.state);
+        out.writeInt(body.length);
+        out.write(body);
+        snapshotCrc.update(body);
+      }
+      out.writeInt((int) snapshotCrc.getValue());
+    }
+    Files.move(
+        temp,
+        snapshotPath(segmentNumber),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    recordsSinceSnapshot = 0;
+    lastSnapshotNanos = System.nanoTime();
+
+    deleteFilesBefore(SEGMENT, segmentNumber);
+    deleteFilesBefore(SNAPSHOT, segmentNumber);
+  }
+
+  /**
+   * The live game's history, read off its mailbox: only the first {@code size} events are used,
+   * which were published before the record that logged them was queued and are never truncated.
+   * Null when the game was removed or replaced since; the records that did so follow the snapshot.
+   */
+  private GameHistory loggedHistory(String gameId, int size) {
+    if (size == NO_HISTORY) {
+      return null;
+    }
+    GameState game = games.get(gameId);
+    GameHistory history = game == null ? null : game.getHistory();
+    return history != null && history.size() >= size ? history : null;
+  }
+
+  // ---- recovery ----
+
+  private void recover() throws IOException {
+    long started = System.nanoTime();
+    long snapshotNumber = newest(SNAPSHOT);
+    if (snapshotNumber > 0) {
+      loadSnapshot(snapshotPath(snapshotNumber));
+    }
+    long lastSegment = snapshotNumber;
+    for (long number : numbers(SEGMENT)) {
+      if (number >= snapshotNumber) {
+        replaySegment(segmentPath(number));
+        lastSegment = Math.max(lastSegment, number);
+      }
+    }
+    segmentNumber = lastSegment;
+
+    List<byte[]> states = new ArrayList<>(latest.size());
+    for (LoggedState logged : latest.values()) {
+      states.add(logged.state);
+    }
+    decodeAll(states);
+    histories.clear();
+    logger.info(
+        "Recovered {} game(s) from {} in {} ms",
+        games.size(),
+        directory,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
+  /**
+   * Decodes the recovered states into live games, split evenly over {@code recoveryThreads}
+   * threads. Reading the files is a sequential copy; decoding is where startup time goes.
+   */
+  private void decodeAll(List<byte[]> states) throws IOException {
+    int threads = Math.max(1, Math.min(recoveryThreads, states.size() / 1024));
+    if (threads == 1) {
+      decodeRange(states, 0, states.size());
+      return;
+    }
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            threads,
+            r -> {
+              Thread thread = new Thread(r, "game-log-recovery-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      List<Future<?>> parts = new ArrayList<>(threads);
+      for (int i = 0; i < threads; i++) {
+        int from = (int) ((long) states.size() * i / threads);
+        int to = (int) ((long) states.size() * (i + 1) / threads);
+        parts.add(pool.submit(() -> decodeRange(states, from, to)));
+      }
+      for (Future<?> part : parts) {
+        part.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while recovering games", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Cannot decode recovered games", e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Only read here, so each game takes its rebuilt history as it is
+  private void decodeRange(List<byte[]> states, int from, int to) {
+    for (int i = from; i < to; i++) {
+      GameState game = GameStateCodec.decode(ByteBuffer.wrap(states.get(i)));
+      game.setHistory(histories.get(game.getGameId()));
+      games.put(game.getGameId(), game);
+    }
+  }
+
+  private void loadSnapshot(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      CRC32 snapshotCrc = new CRC32();
+      try {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+          byte[] entry = new byte[in.getInt()];
+          in.get(entry);
+          snapshotCrc.update(entry);
+          if ((entry[0] & WITH_HISTORY) != 0) {
+            apply(entry);
+          } else {
+            putState(entry, null); // a bare state, from before history was logged
+          }
+        }
+        if (in.getInt() != (int) snapshotCrc.getValue()) {
+          throw new IOException("Corrupt snapshot " + path);
+        }
+      } catch (BufferUnderflowException | NegativeArraySizeException e) {
+        throw new IOException("Corrupt snapshot " + path, e);
+      }
+    }
+  }
+
+  private void replaySegment(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      while (buffer.remaining() >= RECORD_HEADER) {
+        int length = buffer.getInt();
+        int expectedCrc = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+          break;
+        }
+        byte[] body = new byte[length];
+        buffer.get(body);
+        crc.reset();
+        crc.update(body);
+        if ((int) crc.getValue() != expectedCrc) {
+          logger.warn("Dropping torn record in {}", path.getFileName());
+          break;
+        }
+        apply(body);
+      }
+    }
+  }
+
+  // Recovery: rebuilds the game's history from the events the record carries
+  private void apply(byte[] body) {
+    if ((body[0] & WITH_HISTORY) == 0) {
+      if (GameEventType.fromCode(body[0]) == GameEventType.REMOVE) {
+        String gameId = new String(body, 1, body.length - 1, StandardCharsets.UTF_8);
+        latest.remove(gameId);
+        histories.remove(gameId);
+      } else {
+        putState(Arrays.copyOfRange(body, 1, body.length), null);
+      }
+      return;
+    }
+    ByteBuffer in = ByteBuffer.wrap(body, 1, body.length - 1);
+    int from = in.getInt();
+    long[] events = new long[in.getInt()];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = in.getLong();
+    }
+    byte[] state = Arrays.copyOfRange(body, in.position(), body.length);
+    putState(state, from == NO_HISTORY ? null : appendHistory(gameIdOf(state), from, events));
+  }
+
+  private void putState(byte[] state, GameHistory history) {
+    String gameId = gameIdOf(state);
+    latest.put(gameId, new LoggedState(state, history == null ? NO_HISTORY : history.size()));
+    if (history == null) {
+      histories.remove(gameId);
+    }
+  }
+
+  // Writing: notes the state and how far the history is logged, leaving the events to the game
+  private void track(byte[] body) {
+    if ((body[0] & WITH_HISTORY) == 0) {
+      if (GameEventType.fromCode(body[0]) == GameEventType.REMOVE) {
+        latest.remove(new String(body, 1, body.length - 1, StandardCharsets.UTF_8));
+      }
+      return;
+    }
+    ByteBuffer in = ByteBuffer.wrap(body);
+    int from = in.getInt(1);
+    int count = in.getInt(5);
+    byte[] state = Arrays.copyOfRange(body, 9 + count * 8, body.length);
+    latest.put(
+        gameIdOf(state), new LoggedState(state, from == NO_HISTORY ? NO_HISTORY : from + count));
+  }
+
+  // Adds the events logged from index from on; null if earlier events were never logged
+  private GameHistory appendHistory(String gameId, int from, long[] events) {
+    GameHistory history = from == 0 ? new GameHistory() : histories.get(gameId);
+    if (history == null || from > history.size()) {
+      return null;
+    }
+    history.truncate(from);
+    for (long event : events) {
+      history.append(event);
+    }
+    histories.put(gameId, history);
+    return history;
+  }
+
+  // The encoded state starts with version:1 then the gameId string
+  private static String gameIdOf(byte[] state) {
+    int length = ((state[1] & 0xFF) << 8) | (state[2] & 0xFF);
+    return new String(state, 3, length, StandardCharsets.UTF_8);
+  }
+
+  private static final class LoggedState {
+    final byte[] state;
+    final int historySize;
+
+    LoggedState(byte[] state, int historySize) {
+      this.state = state;
+      this.historySize = historySize;
+    }
+  }
+
+  // ---- files ----
+
+  private Path segmentPath(long number) {
+    return directory.resolve(String.format("segment-%010d.log", number));
+  }
+
+  private Path snapshotPath(long number) {
+    return directory.resolve(String.format("snapshot-%010d.bin", number));
+  }
+
+  private long newest(Pattern pattern) throws IOException {
+    List<Long> numbers = numbers(pattern);
+    return numbers.isEmpty() ? 0 : numbers.get(numbers.size() - 1);
+  }
+
+  private List<Long> numbers(Pattern pattern) throws IOException {
+    List<Long> numbers = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(
+          file -> {
+            Matcher m = pattern.matcher(file.getFileName().toString());
+            if (m.matches()) {
+              numbers.add(Long.parseLong(m.group(1)));
+            }
+          });
+    }
+    Collections.sort(numbers);
+    return numbers;
+  }
+
+  private void deleteFilesBefore(Pattern pattern, long number) throws IOException {
+    for (long n : numbers(pattern)) {
+      if (n < number) {
+        Files.deleteIfExists(pattern == SEGMENT ? segmentPath(n) : snapshotPath(n));
+      }
+    }
+  }
+}
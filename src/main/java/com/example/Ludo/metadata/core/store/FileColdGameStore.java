@@ -0,0 +1,69 @@
+package com.example.Ludo.metadata.core.store;
+
+import com.example.Ludo.metadata.core.interfaces.ColdGameStore;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** One small file per evicted game, in the {@link GameStateCodec} format with its history. */
+@Component
+@ConditionalOnProperty(name = "ludo.eviction.cold-store", havingValue = "file")
+public class FileColdGameStore implements ColdGameStore {
+  private final Path directory;
+
+  public FileColdGameStore(@Value("${ludo.eviction.cold-store-dir:./data/cold}") String directory) {
+    this.directory = Paths.get(directory);
+    try {
+      Files.createDirectories(this.directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create cold store in " + this.directory, e);
+    }
+  }
+
+  @Override
+  public void offload(GameState game) {
+    try {
+      Files.write(path(game.getGameId()), GameStateCodec.encode(game, true));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot offload game " + game.getGameId(), e);
+    }
+  }
+
+  /** Null for an id that could not name a file here, as for any game that is not stored. */
+  @Override
+  public GameState restore(String gameId) {
+    if (!isStorable(gameId)) {
+      return null;
+    }
+    Path path = path(gameId);
+    try {
+      GameState game = GameStateCodec.decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+      Files.deleteIfExists(path);
+      return game;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot restore game " + gameId, e);
+    }
+  }
+
+  // Ids come from clients, so keep them from escaping the directory
+  private Path path(String gameId) {
+    if (!isStorable(gameId)) {
+      throw new IllegalArgumentException("Invalid game id: " + gameId);
+    }
+    return directory.resolve(gameId + ".game");
+  }
+
+  private static boolean isStorable(String gameId) {
+    return gameId != null && gameId.matches("[A-Za-z0-9_-]{1,64}");
+  }
+}
@@ -0,0 +1,201 @@
+package com.example.Ludo.metadata.core.store;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxPlayersFour;
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.tokensPerPlayer;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.LastDiceRoll;
+import com.example.Ludo.metadata.core.model.Player;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of a {@link GameState}, used by the persistent stores. A started game with
+ * four players is a little over 200 bytes, almost all of it player ids and names. Its history adds
+ * 8 bytes per event and is only written when asked for.
+ *
+ * <pre>
+ *   version:1 gameId:str flags:1 currentPlayerIndex:1 currentPlayerId:str
+ *   playerCount:1 (id:str name:str color:str)*  winnerCount:1 (playerIndex:1)*
+ *   dice:int4  seatColor:1 x4  tokenPosition:1 x16
+ *   hasLastRoll:1 [playerIndex:1 move:1 timestamp:8 rollId:str]  diceRollCount:4 (since version 2)
+ *   stateVersion:8 (since version 3)  botSeats:1 (bitmask by player index, since version 4)
+ *   historySize:4 (-1 = not written) (event:8)* (since version 5)  epoch:4 (since version 6)
+ * </pre>
+ *
+ * Strings are a 2-byte length (-1 for null) followed by UTF-8 bytes.
+ */
+public final class GameStateCodec {
+  private static final byte VERSION = 6;
+  private static final int FLAG_STARTED = 1;
+  private static final int FLAG_END = 2;
+
+  private GameStateCodec() {}
+
+  public static byte[] encode(GameState game) {
+    return encode(game, false);
+  }
+
+  /** As {@link #encode(GameState)}, with the game's history if {@code withHistory} and it has one. */
+  public static byte[] encode(GameState game, boolean withHistory) {
+    GameHistory history = withHistory ? game.getHistory() : null;
+    ByteArrayOutputStream bytes =
+        new ByteArrayOutputStream(256 + (history == null ? 0 : history.size() * 8));
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      writeString(out, game.getGameId());
+      out.writeByte((game.isStarted() ? FLAG_STARTED : 0) | (game.isEnd() ? FLAG_END : 0));
+      out.writeByte(game.getCurrentPlayerIndex());
+      writeString(out, game.getCurrentPlayerId());
+
+      out.writeByte(game.getPlayers().size());
+      for (Player player : game.getPlayers()) {
+        writeString(out, player.getId());
+        writeString(out, player.getName());
+        writeString(out, player.getColor());
+      }
+      out.writeByte(game.getWinners().size());
+      for (Player winner : game.getWinners()) {
+        out.writeByte(game.getPlayers().indexOf(winner));
+      }
+
+      out.writeInt(game.getCurrentDiceRolls().toBits());
+      for (int p = 0; p < maxPlayersFour; p++) {
+        Color color = game.getSeatColor(p);
+        out.writeByte(color == null ? -1 : color.ordinal());
+      }
+      for (int p = 0; p < maxPlayersFour; p++) {
+        for (int t = 0; t < tokensPerPlayer; t++) {
+          out.writeByte(game.hasTokens(p) ? game.getTokenPosition(p, t) : -1);
+        }
+      }
+
+      LastDiceRoll last = game.getLastDiceRoll();
+      out.writeBoolean(last != null);
+      if (last != null) {
+        out.writeByte(last.getPlayerIndex());
+        out.writeByte(last.getMove());
+        out.writeLong(last.getTimestamp());
+        writeString(out, last.getRollId());
+      }
+      out.writeInt(game.getDiceRollCount());
+      out.writeLong(game.getVersion());
+      int botSeats = 0;
+      for (int p = 0; p < game.getPlayers().size(); p++) {
+        botSeats |= game.getPlayers().get(p).isBot() ? 1 << p : 0;
+      }
+      out.writeByte(botSeats);
+      out.writeInt(history == null ? -1 : history.size());
+      for (int i = 0; history != null && i < history.size(); i++) {
+        out.writeLong(history.get(i));
+      }
+      out.writeInt(game.getEpoch());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // cannot happen on a byte array
+    }
+    return bytes.toByteArray();
+  }
+
+  public static GameState decode(ByteBuffer in) {
+    byte version = in.get();
+    if (version < 1 || version > VERSION) {
+      throw new IllegalStateException("Unsupported game state version: " + version);
+    }
+    GameState game = new GameState(readString(in));
+    int flags = in.get();
+    game.setStarted((flags & FLAG_STARTED) != 0);
+    game.setEnd((flags & FLAG_END) != 0);
+    game.setCurrentPlayerIndex(in.get());
+    game.setCurrentPlayerId(readString(in));
+
+    int playerCount = in.get();
+    for (int i = 0; i < playerCount; i++) {
+      game.getPlayers().add(new Player(readString(in), readString(in), readString(in)));
+    }
+    int winnerCount = in.get();
+    for (int i = 0; i < winnerCount; i++) {
+      game.getWinners().add(game.getPlayers().get(in.get()));
+    }
+
+    game.getCurrentDiceRolls().loadBits(in.getInt());
+    for (int p = 0; p < maxPlayersFour; p++) {
+      byte color = in.get();
+      if (color >= 0) {
+        game.initializeTokens(p, Color.values()[color]);
+      }
+    }
+    for (int p = 0; p < maxPlayersFour; p++) {
+      for (int t = 0; t < tokensPerPlayer; t++) {
+        byte position = in.get();
+        if (game.hasTokens(p)) {
+          game.setTokenPosition(p, t, position);
+        }
+      }
+    }
+
+    if (in.get() != 0) {
+      game.setLastDiceRoll(
+          LastDiceRoll.builder()
+              .playerIndex(in.get())
+              .move(in.get())
+              .timestamp(in.getLong())
+              .rollId(readString(in))
+              .build());
+    }
+    if (version >= 2) {
+      game.setDiceRollCount(in.getInt());
+    }
+    if (version >= 3) {
+      game.setVersion(in.getLong());
+    }
+    if (version >= 4) {
+      int botSeats = in.get();
+      for (int p = 0; p < game.getPlayers().size(); p++) {
+        game.getPlayers().get(p).setBot((botSeats & (1 << p)) != 0);
+      }
+    }
+    if (version >= 5) {
+      int historySize = in.getInt();
+      if (historySize >= 0) {
+        GameHistory history = new GameHistory();
+        for (int i = 0; i < historySize; i++) {
+          history.append(in.getLong());
+        }
+        game.setHistory(history);
+      }
+    }
+    if (version >= 6) {
+      game.setEpoch(in.getInt());
+    }
+    return game;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeShort(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("String too long to encode: " + bytes.length + " bytes");
+    }
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer in) {
+    short length = in.getShort();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.Ludo.metadata.core.store;
+
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Heap-only store: fastest, but every game is lost on restart. Used when {@code ludo.store.type}
+ * is {@code memory} or not set at all; the shipped configuration picks {@link EventLogGameStore}.
+ */
+@Component
+@ConditionalOnProperty(name = "ludo.store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryGameStore implements GameStore {
+  private final Map<String, GameState> games = new ConcurrentHashMap<>();
+
+  @Override
+  public GameState find(String gameId) {
+    return games.get(gameId);
+  }
+
+  @Override
+  public boolean exists(String gameId) {
+    return games.containsKey(gameId);
+  }
+
+  @Override
+  public boolean create(GameState game) {
+    return games.putIfAbsent(game.getGameId(), game) == null;
+  }
+
+  @Override
+  public void save(GameState game, GameEventType event) {
+    // Games are mutated in place; nothing to write
+  }
+
+  @Override
+  public void remove(String gameId) {
+    games.remove(gameId);
+  }
+
+  @Override
+  public Collection<GameState> findAll() {
+    return Collections.unmodifiableCollection(games.values());
+  }
+
+  @Override
+  public int size() {
+    return games.size();
+  }
+}
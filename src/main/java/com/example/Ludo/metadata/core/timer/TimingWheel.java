@@ -0,0 +1,227 @@
+package com.example.Ludo.metadata.core.timer;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hierarchical hashed timing wheel (Varghese and Lauck's scheme 7, as in the Linux kernel's
+ * timers). Level 0 has one bucket per tick; each level above has buckets as wide as the whole level
+ * below. A timer sits in the lowest level that spans the time left to its deadline and is moved
+ * down each time the wheel reaches its bucket, so scheduling, rescheduling and expiring a timer are
+ * O(1) and a tick only touches the buckets it reaches.
+ *
+ * <p>Timers are intrusive list nodes meant to be reused: a caller keeps one {@link Timer} per thing
+ * it times and moves it with {@link #schedule}, so re-arming allocates nothing and a timer costs
+ * one small object for its whole life. Any thread may schedule or cancel; the request is pushed on
+ * a lock-free stack and applied by the single thread calling {@link #advance}, which also runs the
+ * expiry callback. A timer rescheduled many times between two ticks is applied once, with its
+ * latest deadline.
+ */
+public final class TimingWheel<T> {
+  private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+  private static final long CANCELLED = Long.MAX_VALUE;
+
+  /** A reusable timer carrying {@code payload} to the expiry callback. */
+  public static final class Timer<T> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Timer> QUEUED =
+        AtomicIntegerFieldUpdater.newUpdater(Timer.class, "queued");
+
+    private final T payload;
+    // Latest requested deadline, from any thread; applied by the wheel thread
+    private volatile long requestedTick = CANCELLED;
+    // 1 while on the change stack, so a timer is pushed at most once per tick
+    private volatile int queued;
+    private Timer<T> nextChange;
+    // Wheel thread only: deadline in effect and links within its bucket (null when in none)
+    private long deadlineTick;
+    private Timer<T> prev;
+    private Timer<T> next;
+
+    private Timer(T payload) {
+      this.payload = payload;
+    }
+
+    public T payload() {
+      return payload;
+    }
+  }
+
+  private final int bits;
+  private final int mask;
+  private final int levels;
+  // Circular lists with a sentinel per bucket, [level][slot]
+  private final Timer<T>[][] buckets;
+  private final AtomicReference<Timer<T>> changes = new AtomicReference<>();
+  private final Consumer<Timer<T>> onExpiry;
+  private long tick;
+  private volatile int size;
+
+  /**
+   * @param slotBits log2 of the buckets per level
+   * @param levels levels of buckets; deadlines up to {@code 2^(slotBits * levels)} ticks ahead are
+   *     placed exactly, later ones are parked and re-placed as the wheel turns
+   * @param onExpiry run on the thread calling {@link #advance} for each timer that comes due
+   */
+  @SuppressWarnings("unchecked")
+  public TimingWheel(int slotBits, int levels, Consumer<Timer<T>> onExpiry) {
+    if (slotBits < 1 || levels < 1 || slotBits * levels > 62) {
+      throw new IllegalArgumentException(
+          "Unsupported wheel of " + levels + " levels of 2^" + slotBits + " slots");
+    }
+    this.bits = slotBits;
+    this.mask = (1 << slotBits) - 1;
+    this.levels = levels;
+    this.onExpiry = onExpiry;
+    this.buckets = new Timer[levels][1 << slotBits];
+    for (Timer<T>[] level : buckets) {
+      for (int i = 0; i < level.length; i++) {
+        Timer<T> sentinel = new Timer<>(null);
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        level[i] = sentinel;
+      }
+    }
+  }
+
+  public Timer<T> newTimer(T payload) {
+    return new Timer<>(payload);
+  }
+
+  /**
+   * (Re)arms {@code timer} to expire at {@code deadlineTick}, replacing any earlier deadline. A
+   * deadline already passed expires on the next tick.
+   */
+  public void schedule(Timer<T> timer, long deadlineTick) {
+    timer.requestedTick = Math.min(deadlineTick, CANCELLED - 1);
+    request(timer);
+  }
+
+  /** Disarms {@code timer}; it can be scheduled again later. */
+  public void cancel(Timer<T> timer) {
+    timer.requestedTick = CANCELLED;
+    request(timer);
+  }
+
+  /** The last tick processed. */
+  public long tick() {
+    return tick;
+  }
+
+  /** Timers placed in the wheel as of the last tick. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Applies pending schedules and cancels, then turns the wheel up to {@code toTick}, expiring
+   * every timer due on the way. Only one thread may call this.
+   *
+   * @return the number of timers expired
+   */
+  public int advance(long toTick) {
+    applyChanges();
+    int expired = 0;
+    while (tick < toTick) {
+      tick++;
+      // Move down the timers of every upper bucket whose window starts now, highest level first
+      for (int level = levels - 1; level > 0; level--) {
+        if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+          cascade(buckets[level][(int) (tick >>> (bits * level)) & mask]);
+        }
+      }
+      expired += expire(buckets[0][(int) tick & mask]);
+    }
+    return expired;
+  }
+
+  private void request(Timer<T> timer) {
+    if (!Timer.QUEUED.compareAndSet(timer, 0, 1)) {
+      return; // already pending; the wheel reads the latest deadline when it gets to it
+    }
+    Timer<T> head;
+    do {
+      head = changes.get();
+      timer.nextChange = head;
+    } while (!changes.compareAndSet(head, timer));
+  }
+
+  private void applyChanges() {
+    Timer<T> timer = changes.getAndSet(null);
+    while (timer != null) {
+      Timer<T> nextChange = timer.nextChange;
+      timer.nextChange = null;
+      // Cleared before reading the deadline, so a later request is pushed again, not lost
+      Timer.QUEUED.set(timer, 0);
+      long requested = timer.requestedTick;
+      if (timer.next != null) {
+        unlink(timer);
+      }
+      if (requested != CANCELLED) {
+        timer.deadlineTick = requested;
+        place(timer, tick + 1);
+      }
+      timer = nextChange;
+    }
+  }
+
+  private void cascade(Timer<T> sentinel) {
+    Timer<T> timer = sentinel.next;
+    while (timer != sentinel) {
+      Timer<T> next = timer.next;
+      unlink(timer);
+      place(timer, tick);
+      timer = next;
+    }
+  }
+
+  private int expire(Timer<T> sentinel) {
+    int expired = 0;
+    Timer<T> timer = sentinel.next;
+    while (timer != sentinel) {
+      Timer<T> next = timer.next;
+      unlink(timer);
+      expired++;
+      try {
+        onExpiry.accept(timer);
+      } catch (RuntimeException e) {
+        logger.warn("Timer callback for {} failed: {}", timer.payload, e.toString());
+      }
+      timer = next;
+    }
+    return expired;
+  }
+
+  // Lowest level that spans the time left, in the bucket the deadline falls in. That bucket is next
+  // reached at or before the deadline, and then the timer moves down or expires.
+  private void place(Timer<T> timer, long earliest) {
+    long deadline = Math.max(timer.deadlineTick, earliest);
+    // Beyond the top level the timer is placed as if due at its end, and placed again from there
+    long delta = Math.min(deadline - tick, (1L << (bits * levels)) - 1);
+    int level = 0;
+    while (delta >= 1L << (bits * (level + 1))) {
+      level++;
+    }
+    link(buckets[level][(int) ((tick + delta) >>> (bits * level)) & mask], timer);
+  }
+
+  private void link(Timer<T> sentinel, Timer<T> timer) {
+    Timer<T> last = sentinel.prev;
+    timer.prev = last;
+    timer.next = sentinel;
+    last.next = timer;
+    sentinel.prev = timer;
+    size++;
+  }
+
+  private void unlink(Timer<T> timer) {
+    timer.prev.next = timer.next;
+    timer.next.prev = timer.prev;
+    timer.prev = null;
+    timer.next = null;
+    size--;
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.Ludo.metadata.exception;
+
+/** An action in a batch was rejected; none of the batch was applied. */
+public class BatchActionException extends InvalidActionException {
+  private final int failedIndex;
+
+  public BatchActionException(int failedIndex, String message, Throwable cause) {
+    super(message, cause);
+    this.failedIndex = failedIndex;
+  }
+
+  /** Position in the batch of the action that failed. */
+  public int getFailedIndex() {
+    return failedIndex;
+  }
+}
@@ -1,11 +1,15 @@
 package com.example.Ludo.metadata.exception;
 
+/**
+ * A request the game rules refuse. This is the client's mistake, not a fault, so no stack trace is
+ * captured for it.
+ */
 public class InvalidActionException extends RuntimeException {
   public InvalidActionException(String message) {
-    super(message);
+    super(message, null, true, false);
   }
 
   public InvalidActionException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, true, false);
   }
 }
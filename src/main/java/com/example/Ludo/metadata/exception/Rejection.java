@@ -0,0 +1,38 @@
+package com.example.Ludo.metadata.exception;
+
+import static com.example.Ludo.metadata.core.constants.ApplicationConstants.maxBatchActions;
+
+/**
+ * Why a roll or move was refused. Validation on the hot path returns one of these instead of
+ * throwing, and {@link RejectionResponses} answers with a response body serialized once per
+ * constant. {@link #toException()} is for callers that do want an exception.
+ */
+public enum Rejection {
+  GAME_NOT_STARTED("Game has not started yet"),
+  GAME_ENDED("Game has ended"),
+  NOT_YOUR_TURN("It's not your turn"),
+  ROLL_NOT_ALLOWED(
+      "You can only roll again if the previous roll was a six and less than 3 rolls in this turn"),
+  MUST_ROLL("Roll the dice before moving a token"),
+  TOKEN_NOT_FOUND("Token not found for player or token index"),
+  ILLEGAL_MOVE("Invalid move for player or token"),
+  EMPTY_BATCH("No actions in batch"),
+  BATCH_TOO_LONG("At most " + maxBatchActions + " actions per batch"),
+  INCOMPLETE_ACTION("Action needs a type and a playerIndex"),
+  MISSING_TOKEN_INDEX("MOVE needs a tokenIndex"),
+  NOT_BATCHABLE("Only ROLL and MOVE can be batched");
+
+  private final String message;
+
+  Rejection(String message) {
+    this.message = message;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public InvalidActionException toException() {
+    return new InvalidActionException(message);
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.Ludo.metadata.exception;
+
+import com.example.Ludo.metadata.core.model.ActionResult;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns {@link ActionResult}s into responses. The error body of every {@link Rejection} is
+ * serialized once, at startup, in the same shape as {@link GlobalExceptionHandler}'s (less the
+ * timestamp) plus a {@code reason}; a rejected request just writes those bytes.
+ */
+@Component
+public class RejectionResponses {
+  private static final String INVALID_ACTION = "INVALID_ACTION";
+  private static final String INVALID_BATCH_ACTION = "INVALID_BATCH_ACTION";
+
+  private final GameMetrics gameMetrics;
+  private final byte[][] actionBodies = new byte[Rejection.values().length][];
+  private final byte[][] batchBodies = new byte[Rejection.values().length][];
+
+  public RejectionResponses(GameMetrics gameMetrics, ObjectMapper objectMapper) {
+    this.gameMetrics = gameMetrics;
+    for (Rejection rejection : Rejection.values()) {
+      actionBodies[rejection.ordinal()] = body(objectMapper, rejection, INVALID_ACTION);
+      batchBodies[rejection.ordinal()] = body(objectMapper, rejection, INVALID_BATCH_ACTION);
+    }
+  }
+
+  /** 200 with the value, or 400 with the rejection's preserialized body. */
+  public ResponseEntity<?> respond(ActionResult<?> result) {
+    if (!result.isRejected()) {
+      return ResponseEntity.ok(result.getValue());
+    }
+    Rejection rejection = result.getRejection();
+    byte[] body;
+    if (result.getFailedIndex() < 0) {
+      gameMetrics.rejected(INVALID_ACTION);
+      body = actionBodies[rejection.ordinal()];
+    } else {
+      gameMetrics.rejected(INVALID_BATCH_ACTION);
+      body = withFailedIndex(batchBodies[rejection.ordinal()], result.getFailedIndex());
+    }
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(body);
+  }
+
+  // Splices "failedIndex" in before the template's closing brace
+  private static byte[] withFailedIndex(byte[] template, int failedIndex) {
+    byte[] suffix = (",\"failedIndex\":" + failedIndex + "}").getBytes(StandardCharsets.US_ASCII);
+    byte[] body = new byte[template.length - 1 + suffix.length];
+    System.arraycopy(template, 0, body, 0, template.length - 1);
+    System.arraycopy(suffix, 0, body, template.length - 1, suffix.length);
+    return body;
+  }
+
+  private static byte[] body(ObjectMapper objectMapper, Rejection rejection, String errorCode) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+    body.put("message", rejection.getMessage());
+    body.put("errorCode", errorCode);
+    body.put("reason", rejection.name());
+    try {
+      return objectMapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize rejection " + rejection, e);
+    }
+  }
+}
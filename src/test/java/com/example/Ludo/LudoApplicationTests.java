@@ -1,10 +1,22 @@
 package com.example.Ludo;
 
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class LudoApplicationTests {
+  // The shipped store is the event log; keep its segments out of the working tree
+  @TempDir static Path storeDir;
+
+  @DynamicPropertySource
+  static void storeProperties(DynamicPropertyRegistry registry) {
+    registry.add("ludo.store.dir", storeDir::toString);
+    registry.add("ludo.store.segment-size-mb", () -> 1);
+  }
 
   @Test
   void contextLoads() {}
@@ -0,0 +1,79 @@
+package com.example.Ludo.metadata.core.bot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.core.service.LudoRule;
+import com.example.Ludo.metadata.core.service.TokenService;
+import com.example.Ludo.metadata.core.simulation.GameSimulator;
+import com.example.Ludo.metadata.core.simulation.PlayerStrategy;
+import com.example.Ludo.metadata.core.simulation.SimulationStats;
+import com.example.Ludo.metadata.core.simulation.TurnSteps;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ExpectimaxStrategyTest {
+  // GREEN (seat 0) can cut BLUE's token with a 3, or run its other token to a safe cell
+  private GameState cutAvailable() {
+    GameState game = GameSimulator.newGame(2);
+    game.setTokenPosition(0, 0, 2);
+    game.setTokenPosition(0, 1, 10);
+    game.setTokenPosition(1, 0, 31);
+    game.getCurrentDiceRolls().add(3);
+    return game;
+  }
+
+  @Test
+  void testPrefersTheCut() {
+    GameState game = cutAvailable();
+    int movable = game.getMovableTokens();
+    ExpectimaxStrategy bot = new ExpectimaxStrategy(TimeUnit.MILLISECONDS.toNanos(50));
+
+    assertEquals(0, bot.chooseToken(game, 0, 3, movable, new SplittableRandom(1)));
+  }
+
+  @Test
+  void testAnswersWithinBudgetWithoutTouchingTheGame() {
+    GameState game = cutAvailable();
+    int movable = game.getMovableTokens();
+    ExpectimaxStrategy bot = new ExpectimaxStrategy(TimeUnit.MILLISECONDS.toNanos(20));
+
+    long start = System.nanoTime();
+    int token = bot.chooseToken(game, 0, 3, movable, new SplittableRandom(1));
+    long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue((movable & (1 << token)) != 0);
+    assertTrue(tookMillis < 1000, "took " + tookMillis + " ms");
+    assertEquals(2, game.getTokenPosition(0, 0));
+    assertEquals(31, game.getTokenPosition(1, 0));
+  }
+
+  @Test
+  void testSearchBugIsThrownNotMistakenForTimeout() {
+    TokenService broken =
+        new TokenService() {
+          @Override
+          public Token moveToken(GameState game, int playerIndex, int tokenIndex, int move) {
+            throw new IllegalStateException("bug");
+          }
+        };
+    ExpectimaxStrategy bot =
+        new ExpectimaxStrategy(
+            new TurnSteps(new LudoRule(), broken), TimeUnit.MILLISECONDS.toNanos(50));
+    GameState game = cutAvailable();
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> bot.chooseToken(game, 0, 3, game.getMovableTokens(), new SplittableRandom(1)));
+  }
+
+  @Test
+  void testWholeGamesPlayWithoutErrors() {
+    PlayerStrategy bot = new ExpectimaxStrategy(TimeUnit.MILLISECONDS.toNanos(1));
+    for (long seed = 0; seed < 5; seed++) {
+      new GameSimulator().play(new PlayerStrategy[] {bot, bot}, seed, new SimulationStats());
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.Ludo.metadata.core.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.service.GameIdAllocator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ShardRingTest {
+  private static final List<String> THREE =
+      List.of("http://localhost:8080", "http://localhost:8090", "http://localhost:8100");
+
+  private static String id(int i) {
+    return String.format("G%05d", i);
+  }
+
+  @Test
+  void testOneNodeOwnsEverything() {
+    ShardRing ring = new ShardRing("", "", 160);
+    assertFalse(ring.isSharded());
+    assertTrue(ring.owns("ABCDE"));
+  }
+
+  @Test
+  void testNodeListIsParsedAndSelfMustBeInIt() {
+    ShardRing ring =
+        new ShardRing(" http://localhost:8080/ ,http://localhost:8090,", "http://localhost:8090/", 8);
+    assertEquals(List.of("http://localhost:8080", "http://localhost:8090"), ring.nodes());
+    assertEquals("http://localhost:8090", ring.self());
+    assertTrue(ring.isSharded());
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> new ShardRing("http://localhost:8080,http://localhost:8090", "http://localhost:9999", 8));
+  }
+
+  @Test
+  void testEveryNodeAgreesOnTheOwnerWhateverTheListOrder() {
+    ShardRing a = new ShardRing(THREE, THREE.get(0), 160);
+    ShardRing b =
+        new ShardRing(List.of(THREE.get(2), THREE.get(0), THREE.get(1)), THREE.get(1), 160);
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(a.ownerOf(id(i)), b.ownerOf(id(i)));
+    }
+    int owned = 0;
+    for (String self : THREE) {
+      ShardRing ring = new ShardRing(THREE, self, 160);
+      for (int i = 0; i < 10_000; i++) {
+        owned += ring.owns(id(i)) ? 1 : 0;
+      }
+    }
+    assertEquals(10_000, owned, "each game is owned by exactly one node");
+  }
+
+  @Test
+  void testGamesSpreadEvenly() {
+    ShardRing ring = new ShardRing(THREE, THREE.get(0), 160);
+    Map<String, Integer> counts = new HashMap<>();
+    int games = 30_000;
+    for (int i = 0; i < games; i++) {
+      counts.merge(ring.ownerOf(id(i)), 1, Integer::sum);
+    }
+    assertEquals(3, counts.size());
+    for (int count : counts.values()) {
+      assertEquals(games / 3.0, count, games / 3.0 * 0.15, "share per node: " + counts);
+    }
+  }
+
+  @Test
+  void testAddingANodeOnlyMovesGamesToIt() {
+    ShardRing before = new ShardRing(THREE.subList(0, 2), THREE.get(0), 160);
+    ShardRing after = new ShardRing(THREE, THREE.get(0), 160);
+    int games = 30_000;
+    int moved = 0;
+    for (int i = 0; i < games; i++) {
+      String was = before.ownerOf(id(i));
+      String is = after.ownerOf(id(i));
+      if (!was.equals(is)) {
+        assertEquals(THREE.get(2), is, "a moved game can only go to the new node");
+        moved++;
+      }
+    }
+    assertEquals(games / 3.0, moved, games / 3.0 * 0.15);
+  }
+
+  @Test
+  void testAllocatorOnlyIssuesOwnedIds() {
+    ShardRing ring = new ShardRing(THREE, THREE.get(1), 160);
+    GameIdAllocator allocator = new GameIdAllocator(ring, 5);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(ring.owns(allocator.allocate()));
+    }
+  }
+}
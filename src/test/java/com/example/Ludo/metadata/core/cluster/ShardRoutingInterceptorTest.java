@@ -0,0 +1,212 @@
+package com.example.Ludo.metadata.core.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class ShardRoutingInterceptorTest {
+  private static final String SELF = "http://localhost:1";
+  private static final String PATH = "/ludo/backend/v1/rollDice/playerIndex";
+
+  private HttpServer owner;
+  private String ownerUrl;
+  private ShardRing ring;
+  private final AtomicReference<String> received = new AtomicReference<>();
+
+  static class Endpoints {
+    void roll() {}
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    owner.createContext(
+        "/",
+        exchange -> {
+          received.set(
+              exchange.getRequestMethod()
+                  + " "
+                  + exchange.getRequestURI()
+                  + " by "
+                  + exchange.getRequestHeaders().getFirst(ShardRoutingInterceptor.FORWARDED_HEADER)
+                  + " "
+                  + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+          byte[] body = "{\"rolled\":6}".getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.getResponseHeaders().add("ETag", "\"v7\"");
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    owner.start();
+    ownerUrl = "http://127.0.0.1:" + owner.getAddress().getPort();
+    ring = new ShardRing(List.of(SELF, ownerUrl), SELF, 160);
+  }
+
+  @AfterEach
+  void tearDown() {
+    owner.stop(0);
+  }
+
+  private ShardRoutingInterceptor interceptor(String routing) {
+    return new ShardRoutingInterceptor(
+        ring, new GameMetrics(new SimpleMeterRegistry(), new InMemoryGameStore()), routing, 2000);
+  }
+
+  private static HandlerMethod handler() throws NoSuchMethodException {
+    return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod("roll"));
+  }
+
+  private String gameOwnedBy(String node) {
+    for (int i = 0; ; i++) {
+      String gameId = String.format("G%04d", i);
+      if (ring.ownerOf(gameId).equals(node)) {
+        return gameId;
+      }
+    }
+  }
+
+  private static MockHttpServletRequest request(String gameId) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+    request.setQueryString("gameId=" + gameId + "&playerIndex=0");
+    request.setParameter("gameId", gameId);
+    request.setParameter("playerIndex", "0");
+    return request;
+  }
+
+  @Test
+  void testOwnedGamePassesThrough() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertTrue(interceptor("forward").preHandle(request(gameOwnedBy(SELF)), response, handler()));
+    assertNull(response.getHeader(ShardRoutingInterceptor.OWNER_HEADER));
+    assertNull(received.get(), "no request may leave the node for its own game");
+  }
+
+  @Test
+  void testRequestWithoutGameIdPassesThrough() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ludo/backend/v1/createGame");
+    assertTrue(interceptor("redirect").preHandle(request, new MockHttpServletResponse(), handler()));
+  }
+
+  @Test
+  void testOtherNodesGameIsRedirectedWithMethodKept() throws Exception {
+    String gameId = gameOwnedBy(ownerUrl);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertFalse(interceptor("redirect").preHandle(request(gameId), response, handler()));
+    assertEquals(307, response.getStatus());
+    assertEquals(
+        ownerUrl + PATH + "?gameId=" + gameId + "&playerIndex=0", response.getHeader("Location"));
+    assertEquals(ownerUrl, response.getHeader(ShardRoutingInterceptor.OWNER_HEADER));
+  }
+
+  @Test
+  void testOtherNodesGameIsForwardedAndTheAnswerRelayed() throws Exception {
+    String gameId = gameOwnedBy(ownerUrl);
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+    request.setContentType("application/x-www-form-urlencoded");
+    request.setParameter("gameId", gameId);
+    request.setParameter("playerIndex", "2");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor("forward").preHandle(request, response, handler()));
+    assertEquals(200, response.getStatus());
+    assertEquals("{\"rolled\":6}", response.getContentAsString());
+    assertEquals("\"v7\"", response.getHeader("ETag"));
+    assertEquals(ownerUrl, response.getHeader(ShardRoutingInterceptor.OWNER_HEADER));
+    // Form fields move to the query string, and the hop is marked so it cannot bounce
+    assertEquals("POST " + PATH + "?gameId=" + gameId + "&playerIndex=2 by " + SELF + " ", received.get());
+  }
+
+  @Test
+  void testJsonBodyIsForwardedAsIs() throws Exception {
+    String gameId = gameOwnedBy(ownerUrl);
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ludo/backend/v1/batch");
+    request.setQueryString("gameId=" + gameId);
+    request.setParameter("gameId", gameId);
+    request.setContentType("application/json");
+    request.setContent("[{\"type\":\"ROLL\"}]".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(interceptor("forward").preHandle(request, new MockHttpServletResponse(), handler()));
+    assertEquals(
+        "POST /ludo/backend/v1/batch?gameId=" + gameId + " by " + SELF + " [{\"type\":\"ROLL\"}]",
+        received.get());
+  }
+
+  @Test
+  void testLongPollIsRedirectedEvenWhenForwarding() throws Exception {
+    String gameId = gameOwnedBy(ownerUrl);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ludo/backend/v1/getGameState");
+    request.setQueryString("gameId=" + gameId + "&waitForVersion=3");
+    request.setParameter("gameId", gameId);
+    request.setParameter("waitForVersion", "3");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor("forward").preHandle(request, response, handler()));
+    assertEquals(307, response.getStatus());
+    assertNull(received.get());
+  }
+
+  @Test
+  void testMatchmakingTicketIsRoutedToTheNodeThatIssuedIt() throws Exception {
+    String ticketId = gameOwnedBy(ownerUrl);
+    MockHttpServletRequest cancel =
+        new MockHttpServletRequest("DELETE", "/ludo/backend/v1/findGame");
+    cancel.setQueryString("ticketId=" + ticketId);
+    cancel.setParameter("ticketId", ticketId);
+
+    assertFalse(interceptor("forward").preHandle(cancel, new MockHttpServletResponse(), handler()));
+    assertEquals(
+        "DELETE /ludo/backend/v1/findGame?ticketId=" + ticketId + " by " + SELF + " ",
+        received.get());
+
+    // Waiting for the match is a long poll, so it is redirected rather than proxied
+    MockHttpServletRequest await = new MockHttpServletRequest("GET", "/ludo/backend/v1/findGame");
+    await.setQueryString("ticketId=" + ticketId);
+    await.setParameter("ticketId", ticketId);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertFalse(interceptor("forward").preHandle(await, response, handler()));
+    assertEquals(307, response.getStatus());
+    assertEquals(ownerUrl, response.getHeader(ShardRoutingInterceptor.OWNER_HEADER));
+  }
+
+  @Test
+  void testForwardedRequestForAnotherNodesGameIsNotBouncedAgain() throws Exception {
+    MockHttpServletRequest request = request(gameOwnedBy(ownerUrl));
+    request.addHeader(ShardRoutingInterceptor.FORWARDED_HEADER, "http://localhost:2");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor("forward").preHandle(request, response, handler()));
+    assertEquals(421, response.getStatus());
+    assertTrue(response.getContentAsString().contains("\"errorCode\":\"MISDIRECTED\""));
+    assertNull(received.get());
+  }
+
+  @Test
+  void testUnreachableOwnerAnswers502() throws Exception {
+    String gameId = gameOwnedBy(ownerUrl);
+    owner.stop(0);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor("forward").preHandle(request(gameId), response, handler()));
+    assertEquals(502, response.getStatus());
+    assertTrue(response.getContentAsString().contains("\"errorCode\":\"NODE_UNAVAILABLE\""));
+  }
+
+  @Test
+  void testUnknownRoutingModeIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> interceptor("teleport"));
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.Ludo.metadata.core.dice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.model.GameState;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class SeededDiceSourceTest {
+
+  private static int[] rolls(SeededDiceSource source, String gameId, int count) {
+    GameState game = new GameState(gameId);
+    int[] values = new int[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = source.roll(game);
+      game.setDiceRollCount(game.getDiceRollCount() + 1);
+    }
+    return values;
+  }
+
+  @Test
+  void testSameSeedAndGameReplayTheSameRolls() {
+    assertArrayEquals(rolls(new SeededDiceSource(7), "ABCDE", 50), rolls(new SeededDiceSource(7), "ABCDE", 50));
+  }
+
+  @Test
+  void testRollsDependOnSeedAndGame() {
+    int[] base = rolls(new SeededDiceSource(7), "ABCDE", 50);
+    assertFalse(Arrays.equals(base, rolls(new SeededDiceSource(8), "ABCDE", 50)));
+    assertFalse(Arrays.equals(base, rolls(new SeededDiceSource(7), "ABCDF", 50)));
+  }
+
+  @Test
+  void testRollsCoverAllFacesRoughlyEvenly() {
+    int[] counts = new int[7];
+    for (int value : rolls(new SeededDiceSource(1), "ABCDE", 60_000)) {
+      assertTrue(value >= 1 && value <= 6);
+      counts[value]++;
+    }
+    for (int face = 1; face <= 6; face++) {
+      assertTrue(Math.abs(counts[face] - 10_000) < 500, "face " + face + ": " + counts[face]);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.Ludo.metadata.core.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.dto.GameStateDeltaDTO.TokenChangeDTO;
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
+import org.junit.jupiter.api.Test;
+
+class GameStateDiffTest {
+
+  private static GameState startedGame() {
+    GameState game = new GameState("ABCDE");
+    game.getPlayers().add(new Player("p1", "Alice", "GREEN"));
+    game.getPlayers().add(new Player("p2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    game.setStarted(true);
+    game.setCurrentPlayerId("p1");
+    return game;
+  }
+
+  @Test
+  void testBetween_OnlyChangedFields() {
+    GameState game = startedGame();
+    game.getCurrentDiceRolls().add(6);
+    GameStateDTO base = GameStateMapper.mapToDTO(game);
+
+    game.setVersion(1);
+    game.setTokenPosition(0, 2, 0);
+    game.getCurrentDiceRolls().clear();
+    GameStateDeltaDTO delta = GameStateDiff.between(base, GameStateMapper.mapToDTO(game), 0);
+
+    assertFalse(delta.isFull());
+    assertEquals(1, delta.getVersion());
+    assertEquals(0, delta.getCurrentDiceRolls().size());
+    assertEquals(1, delta.getTokens().size());
+    TokenChangeDTO token = delta.getTokens().get(0);
+    assertEquals(0, token.getPlayerIndex());
+    assertEquals(2, token.getTokenIndex());
+    assertEquals(0, token.getPosition());
+    assertNull(delta.getStarted());
+    assertNull(delta.getCurrentPlayerId());
+    assertNull(delta.getPlayers());
+    assertNull(delta.getWinners());
+    assertNull(delta.getState());
+  }
+
+  @Test
+  void testBetween_UnknownBaseIsFull() {
+    GameStateDTO current = GameStateMapper.mapToDTO(startedGame());
+    GameStateDeltaDTO delta = GameStateDiff.between(null, current, 7);
+    assertTrue(delta.isFull());
+    assertSame(current, delta.getState());
+    assertEquals(7, delta.getBaseVersion());
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.Ludo.metadata.core.history;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import org.junit.jupiter.api.Test;
+
+class GameHistoryTest {
+
+  @Test
+  void testEventFieldsRoundTrip() {
+    long event = GameHistory.event(HistoryEventType.CUT, 3, 2, 1, 49, -1, 4_000_000_000L);
+
+    assertEquals(HistoryEventType.CUT, GameHistory.type(event));
+    assertEquals(3, GameHistory.seat(event));
+    assertEquals(2, GameHistory.token(event));
+    assertEquals(1, GameHistory.die(event));
+    assertEquals(49, GameHistory.from(event));
+    assertEquals(-1, GameHistory.to(event));
+    assertEquals(4_000_000_000L, GameHistory.version(event));
+  }
+
+  @Test
+  void testAppendsAcrossChunks() {
+    GameHistory history = new GameHistory();
+    for (int i = 0; i < 2000; i++) {
+      history.append(GameHistory.event(HistoryEventType.ROLL, 0, 0, 0, 0, 1 + i % 6, i / 3));
+    }
+
+    assertEquals(2000, history.size());
+    assertEquals(1 + 1999 % 6, GameHistory.to(history.get(1999)));
+    assertEquals(300, GameHistory.version(history.get(900)));
+    assertThrows(IndexOutOfBoundsException.class, () -> history.get(2000));
+  }
+
+  @Test
+  void testSizeAtCountsEventsUpToAVersion() {
+    GameHistory history = new GameHistory();
+    long[] versions = {1, 2, 3, 3, 3, 4, 6};
+    for (long version : versions) {
+      history.append(GameHistory.event(HistoryEventType.TURN, 0, 0, 0, 0, 0, version));
+    }
+
+    assertEquals(0, history.sizeAt(0));
+    assertEquals(2, history.sizeAt(2));
+    assertEquals(5, history.sizeAt(3));
+    assertEquals(6, history.sizeAt(5));
+    assertEquals(7, history.sizeAt(99));
+  }
+
+  @Test
+  void testTruncateDropsTheTail() {
+    GameHistory history = new GameHistory();
+    for (int i = 0; i < 10; i++) {
+      history.append(GameHistory.event(HistoryEventType.ROLL, 0, 0, 0, 0, 6, i));
+    }
+    history.truncate(4);
+    history.append(GameHistory.event(HistoryEventType.END, 1, 0, 0, 0, 0, 4));
+
+    assertEquals(5, history.size());
+    assertEquals(HistoryEventType.END, GameHistory.type(history.get(4)));
+    assertArrayEquals(new long[] {history.get(3), history.get(4)}, history.copy(3, 5));
+  }
+}
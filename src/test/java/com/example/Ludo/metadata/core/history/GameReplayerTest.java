@@ -0,0 +1,202 @@
+package com.example.Ludo.metadata.core.history;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.dice.SeededDiceSource;
+import com.example.Ludo.metadata.core.dto.GameActionDTO;
+import com.example.Ludo.metadata.core.dto.GameHistoryPageDTO;
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.GameStateDeltaDTO;
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.ActionResult;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.service.BotPlayers;
+import com.example.Ludo.metadata.core.service.DiceService;
+import com.example.Ludo.metadata.core.service.GameActorExecutor;
+import com.example.Ludo.metadata.core.service.GameEventPublisher;
+import com.example.Ludo.metadata.core.service.GameEvictionService;
+import com.example.Ludo.metadata.core.service.GameIdAllocator;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.service.GameService;
+import com.example.Ludo.metadata.core.service.GameStateJson;
+import com.example.Ludo.metadata.core.service.GameStateWaiters;
+import com.example.Ludo.metadata.core.service.LudoRule;
+import com.example.Ludo.metadata.core.service.PlayerService;
+import com.example.Ludo.metadata.core.service.TokenService;
+import com.example.Ludo.metadata.core.service.TurnTimers;
+import com.example.Ludo.metadata.core.store.GameStateCodec;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+/** Plays whole games through the real rules and checks every version replays to what was live. */
+class GameReplayerTest {
+  @InjectMocks private GameService gameService;
+  @Spy private LudoRule ludoRule = new LudoRule();
+  @Spy private PlayerService playerService = new PlayerService();
+  @Spy private DiceService diceService = new DiceService(new SeededDiceSource(42));
+  @Spy private TokenService tokenService = new TokenService();
+  @Mock private GameEventPublisher gameEventPublisher;
+  @Mock private GameEvictionService gameEviction;
+  @Mock private BotPlayers botPlayers;
+  @Mock private TurnTimers turnTimers;
+  @Spy private GameActorExecutor gameActors = new GameActorExecutor(1);
+  @Spy private GameStore gameStore = new InMemoryGameStore();
+  @Spy private GameIdAllocator gameIdAllocator = new GameIdAllocator(5);
+  @Spy private GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry(), gameStore);
+  @Spy private GameStateJson gameStateJson = new GameStateJson(new ObjectMapper());
+  @Spy private GameStateWaiters gameStateWaiters = new GameStateWaiters();
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @Test
+  void testEveryVersionReplaysToThePublishedState() {
+    Random random = new Random(7);
+    for (int players = 2; players <= 4; players++) {
+      String gameId = gameService.createGame().getGameId();
+      List<GameState> published = new ArrayList<>();
+      published.add(copyOf(gameId));
+      for (int p = 0; p < players; p++) {
+        gameService.addPlayer(gameId, "P" + p);
+        published.add(copyOf(gameId));
+      }
+      GameStateDTO state = gameService.startGame(gameId);
+      published.add(copyOf(gameId));
+
+      for (int step = 0; !state.isEnd(); step++) {
+        assertTrue(step < 20_000, "game did not finish");
+        int player = state.getCurrentPlayerIndex();
+        List<Integer> movable = state.getMovableTokens();
+        ActionResult<GameStateDTO> result =
+            movable.isEmpty()
+                ? gameService.tryRollTheDice(gameId, player)
+                : gameService.tryMoveTheToken(
+                    gameId, player, movable.get(random.nextInt(movable.size())));
+        assertFalse(result.isRejected(), () -> "rejected: " + result.getRejection());
+        state = result.getValue();
+        published.add(copyOf(gameId));
+      }
+
+      for (GameState expected : published) {
+        GameStateDTO replayed = gameService.getGameStateAt(gameId, expected.getVersion());
+        GameState rebuilt = replayAsState(gameId, expected.getVersion());
+        assertEquals(expected.getVersion(), replayed.getVersion());
+        assertSameRuleState(expected, rebuilt);
+      }
+    }
+  }
+
+  @Test
+  void testRolledBackBatchLeavesNoEvents() {
+    String gameId = gameService.createGame().getGameId();
+    gameService.addPlayer(gameId, "A");
+    gameService.addPlayer(gameId, "B");
+    gameService.startGame(gameId);
+    int before = gameStore.find(gameId).getHistory().size();
+
+    ActionResult<GameStateDTO> result =
+        gameService.tryApplyActions(
+            gameId,
+            List.of(
+                new GameActionDTO(GameEventType.ROLL, 0, null),
+                new GameActionDTO(GameEventType.ROLL, 3, null)));
+
+    assertTrue(result.isRejected());
+    assertEquals(before, gameStore.find(gameId).getHistory().size());
+  }
+
+  @Test
+  void testHistoryPages() {
+    String gameId = gameService.createGame().getGameId();
+    gameService.addPlayer(gameId, "A");
+    gameService.addPlayer(gameId, "B");
+    gameService.startGame(gameId);
+
+    GameHistoryPageDTO first = gameService.getHistory(gameId, 0, 2);
+    assertEquals(3, first.getTotal());
+    assertEquals(2, first.getNext());
+    assertEquals(HistoryEventType.JOIN, first.getEvents().get(1).getType());
+    assertEquals(1, first.getEvents().get(1).getPlayerIndex());
+
+    GameHistoryPageDTO last = gameService.getHistory(gameId, first.getNext(), 2);
+    assertNull(last.getNext());
+    assertEquals(HistoryEventType.START, last.getEvents().get(0).getType());
+    assertEquals(3, last.getEvents().get(0).getVersion());
+
+    assertTrue(gameService.getHistory(gameId, 10, 5).getEvents().isEmpty());
+    assertThrows(InvalidActionException.class, () -> gameService.getHistory(gameId, -1, 5));
+    assertThrows(InvalidActionException.class, () -> gameService.getGameStateAt(gameId, 4));
+  }
+
+  @Test
+  void testMoveDeltaAgainstAReplayedBaseCarriesOnlyTheMove() {
+    String gameId = gameService.createGame().getGameId();
+    gameService.addPlayer(gameId, "A");
+    gameService.addPlayer(gameId, "B");
+    GameStateDTO state = gameService.startGame(gameId);
+    while (state.getMovableTokens().isEmpty()) {
+      state = gameService.rollTheDice(gameId, state.getCurrentPlayerIndex());
+    }
+
+    GameStateDeltaDTO delta =
+        gameService.moveTheToken(
+            gameId,
+            state.getCurrentPlayerIndex(),
+            state.getMovableTokens().get(0),
+            state.getVersion(),
+            state.getEpoch());
+
+    assertFalse(delta.isFull());
+    assertEquals(state.getVersion() + 1, delta.getVersion());
+    assertEquals(1, delta.getTokens().size());
+    assertNull(delta.getPlayers());
+    assertNull(delta.getLastDiceRoll());
+  }
+
+  private GameState copyOf(String gameId) {
+    GameState copy = new GameState(gameId);
+    copy.copyFrom(gameStore.find(gameId));
+    return copy;
+  }
+
+  private GameState replayAsState(String gameId, long version) {
+    GameState live = gameStore.find(gameId);
+    GameHistory history = live.getHistory();
+    return GameReplayer.replay(
+        gameId, live.getPlayers(), history.copy(0, history.sizeAt(version)), version);
+  }
+
+  // The codec covers every rule field; the last roll is compared without its timestamp and id, and
+  // the epoch, which names the game rather than its state, is left out
+  private static void assertSameRuleState(GameState expected, GameState actual) {
+    actual.setEpoch(expected.getEpoch());
+    if (expected.getLastDiceRoll() == null) {
+      assertNull(actual.getLastDiceRoll());
+    } else {
+      assertEquals(
+          expected.getLastDiceRoll().getPlayerIndex(), actual.getLastDiceRoll().getPlayerIndex());
+      assertEquals(expected.getLastDiceRoll().getMove(), actual.getLastDiceRoll().getMove());
+    }
+    expected.setLastDiceRoll(null);
+    actual.setLastDiceRoll(null);
+    assertArrayEquals(
+        GameStateCodec.encode(expected),
+        GameStateCodec.encode(actual),
+        () -> "version " + expected.getVersion());
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.Ludo.metadata.core.matchmaking;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.Ludo.metadata.core.cluster.ShardRing;
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.MatchTicketDTO;
+import com.example.Ludo.metadata.core.dto.PlayerDTO;
+import com.example.Ludo.metadata.core.enums.MatchStatus;
+import com.example.Ludo.metadata.core.service.GameEventPublisher;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.service.GameService;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+class MatchmakerTest {
+  private final GameService gameService = mock(GameService.class);
+  private final GameEventPublisher publisher = mock(GameEventPublisher.class);
+  private final GameMetrics metrics =
+      new GameMetrics(new SimpleMeterRegistry(), new InMemoryGameStore());
+  private final AtomicInteger gamesFormed = new AtomicInteger();
+  private ShardRing ring = new ShardRing();
+  private Matchmaker matchmaker;
+
+  private Matchmaker open(int maxWaiting, long botFillAfterMs) {
+    when(gameService.createMatchedGame(anyList(), anyInt())).thenAnswer(this::formGame);
+    matchmaker =
+        new Matchmaker(
+            gameService, ring, publisher, metrics, maxWaiting, botFillAfterMs, 5);
+    return matchmaker;
+  }
+
+  private GameStateDTO formGame(InvocationOnMock call) {
+    List<String> names = call.getArgument(0);
+    int bots = call.getArgument(1);
+    GameStateDTO game = new GameStateDTO();
+    game.setGameId("G" + gamesFormed.incrementAndGet());
+    List<PlayerDTO> players = new ArrayList<>();
+    for (int i = 0; i < names.size() + bots; i++) {
+      PlayerDTO player = new PlayerDTO();
+      player.setId(game.getGameId() + "-p" + i);
+      player.setName(i < names.size() ? names.get(i) : "Bot " + (i - names.size() + 1));
+      players.add(player);
+    }
+    game.setPlayers(players);
+    return game;
+  }
+
+  @AfterEach
+  void tearDown() {
+    matchmaker.close();
+  }
+
+  private MatchTicketDTO awaitMatch(MatchTicketDTO ticket) throws Exception {
+    return matchmaker.await(ticket.getTicketId()).get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testFullTableIsSeatedInArrivalOrder() throws Exception {
+    open(100, 0);
+    List<MatchTicketDTO> tickets = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      tickets.add(matchmaker.join("P" + i, 4));
+    }
+    assertEquals(MatchStatus.WAITING, tickets.get(0).getStatus());
+
+    for (int i = 0; i < 4; i++) {
+      MatchTicketDTO matched = awaitMatch(tickets.get(i));
+      assertEquals(MatchStatus.MATCHED, matched.getStatus());
+      assertEquals("G1", matched.getGameId());
+      assertEquals(i, matched.getPlayerIndex());
+      assertEquals("G1-p" + i, matched.getPlayerId());
+    }
+    verify(gameService).createMatchedGame(List.of("P0", "P1", "P2", "P3"), 0);
+    verify(publisher, times(4)).publishMatch(any());
+    assertEquals(0, matchmaker.waiting());
+  }
+
+  @Test
+  void testTableSizesAreNotMixed() throws Exception {
+    open(100, 0);
+    MatchTicketDTO two = matchmaker.join("A", 2);
+    MatchTicketDTO four = matchmaker.join("B", 4);
+    MatchTicketDTO twoMore = matchmaker.join("C", 2);
+
+    assertEquals("G1", awaitMatch(two).getGameId());
+    assertEquals("G1", awaitMatch(twoMore).getGameId());
+    Thread.sleep(50);
+    assertEquals(MatchStatus.WAITING, matchmaker.status(four.getTicketId()).getStatus());
+  }
+
+  @Test
+  void testCancelledTicketIsSkipped() throws Exception {
+    open(100, 0);
+    MatchTicketDTO first = matchmaker.join("A", 2);
+    assertEquals(
+        MatchStatus.CANCELLED, matchmaker.cancel(first.getTicketId()).getNow(null).getStatus());
+    MatchTicketDTO second = matchmaker.join("B", 2);
+    MatchTicketDTO third = matchmaker.join("C", 2);
+
+    assertEquals(0, awaitMatch(second).getPlayerIndex());
+    assertEquals(1, awaitMatch(third).getPlayerIndex());
+    verify(gameService).createMatchedGame(List.of("B", "C"), 0);
+    assertEquals(MatchStatus.CANCELLED, matchmaker.status(first.getTicketId()).getStatus());
+  }
+
+  @Test
+  void testCancelDuringSeatingReturnsAtOnceAndTheTicketStaysMatched() throws Exception {
+    open(100, 0);
+    CountDownLatch seating = new CountDownLatch(1);
+    CountDownLatch created = new CountDownLatch(1);
+    when(gameService.createMatchedGame(anyList(), anyInt()))
+        .thenAnswer(
+            call -> {
+              seating.countDown();
+              created.await(5, TimeUnit.SECONDS);
+              return formGame(call);
+            });
+    MatchTicketDTO first = matchmaker.join("A", 2);
+    matchmaker.join("B", 2);
+    assertTrue(seating.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<MatchTicketDTO> cancelled = matchmaker.cancel(first.getTicketId());
+    assertFalse(cancelled.isDone());
+    created.countDown();
+
+    assertEquals(MatchStatus.MATCHED, cancelled.get(5, TimeUnit.SECONDS).getStatus());
+    assertEquals(0, matchmaker.waiting());
+  }
+
+  @Test
+  void testCancelOfAClaimedTicketEndsItWhenTheClaimIsReleased() {
+    open(100, 0);
+    MatchTicket ticket = new MatchTicket("T1", "A", 2);
+    assertTrue(ticket.claim());
+
+    assertFalse(ticket.cancel());
+    assertFalse(ticket.result.isDone());
+    assertTrue(ticket.release());
+    assertEquals(MatchStatus.CANCELLED, ticket.result.getNow(null).getStatus());
+    assertFalse(ticket.claim());
+  }
+
+  @Test
+  void testLongWaitIsToppedUpWithBots() throws Exception {
+    open(100, 30);
+    MatchTicketDTO alone = matchmaker.join("A", 3);
+
+    MatchTicketDTO matched = awaitMatch(alone);
+    assertEquals(MatchStatus.MATCHED, matched.getStatus());
+    assertEquals(2, matched.getBots());
+    verify(gameService).createMatchedGame(List.of("A"), 2);
+  }
+
+  @Test
+  void testJoinsAreBoundedAndValidated() {
+    open(2, 0);
+    matchmaker.join("A", 4);
+    matchmaker.join("B", 4);
+
+    assertThrows(InvalidActionException.class, () -> matchmaker.join("C", 4));
+    assertThrows(InvalidActionException.class, () -> matchmaker.join("D", 5));
+    assertThrows(InvalidActionException.class, () -> matchmaker.join(" ", 2));
+    assertThrows(InvalidActionException.class, () -> matchmaker.status("nope"));
+  }
+
+  @Test
+  void testTicketsAreOnlyIssuedForThisNode() {
+    ring = new ShardRing(List.of("http://a:1", "http://b:1", "http://c:1"), "http://b:1", 160);
+    open(100, 0);
+    for (int i = 0; i < 50; i++) {
+      String ticketId = matchmaker.join("P" + i, 4).getTicketId();
+      assertEquals("http://b:1", ring.ownerOf(ticketId));
+    }
+  }
+
+  @Test
+  void testManyConcurrentJoinsAllGetSeated() throws Exception {
+    open(10_000, 0);
+    int perThread = 500;
+    List<Thread> threads = new ArrayList<>();
+    List<MatchTicketDTO> tickets = java.util.Collections.synchronizedList(new ArrayList<>());
+    for (int t = 0; t < 4; t++) {
+      int thread = t;
+      threads.add(
+          new Thread(
+              () -> {
+                for (int i = 0; i < perThread; i++) {
+                  tickets.add(matchmaker.join("T" + thread + "-" + i, 4));
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (MatchTicketDTO ticket : tickets) {
+      assertEquals(MatchStatus.MATCHED, awaitMatch(ticket).getStatus());
+    }
+    assertEquals(500, gamesFormed.get());
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.Ludo.metadata.core.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.ratelimit.RateLimited.KeyedBy;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class RateLimitInterceptorTest {
+  private final MockEnvironment environment =
+      new MockEnvironment()
+          .withProperty("ludo.ratelimit.roll.per-second", "0.001")
+          .withProperty("ludo.ratelimit.roll.burst", "2");
+  private final RateLimitInterceptor interceptor =
+      new RateLimitInterceptor(
+          environment,
+          new GameMetrics(new SimpleMeterRegistry(), new InMemoryGameStore()),
+          true,
+          1024);
+
+  static class Endpoints {
+    @RateLimited(endpoint = "roll")
+    void roll() {}
+
+    @RateLimited(endpoint = "roll", keyedBy = KeyedBy.GAME)
+    void rollPerGame() {}
+
+    void open() {}
+  }
+
+  private static HandlerMethod handler(String name) throws NoSuchMethodException {
+    return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod(name));
+  }
+
+  private static MockHttpServletRequest request(String gameId, String playerIndex) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/rollDice/playerIndex");
+    request.setParameter("gameId", gameId);
+    if (playerIndex != null) {
+      request.setParameter("playerIndex", playerIndex);
+    }
+    return request;
+  }
+
+  @Test
+  void testOverTheBurstAnswers429WithRetryAfter() throws Exception {
+    HandlerMethod roll = handler("roll");
+    assertTrue(interceptor.preHandle(request("ABCDE", "0"), new MockHttpServletResponse(), roll));
+    assertTrue(interceptor.preHandle(request("ABCDE", "0"), new MockHttpServletResponse(), roll));
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertFalse(interceptor.preHandle(request("ABCDE", "0"), response, roll));
+    assertEquals(429, response.getStatus());
+    assertTrue(Long.parseLong(response.getHeader("Retry-After")) > 0);
+    assertTrue(response.getContentAsString().contains("\"errorCode\":\"RATE_LIMITED\""));
+
+    // Another seat of the same game has its own budget
+    assertTrue(interceptor.preHandle(request("ABCDE", "1"), new MockHttpServletResponse(), roll));
+  }
+
+  @Test
+  void testGameKeyIgnoresTheSeat() throws Exception {
+    HandlerMethod perGame = handler("rollPerGame");
+    assertTrue(interceptor.preHandle(request("FGHIJ", "0"), new MockHttpServletResponse(), perGame));
+    assertTrue(interceptor.preHandle(request("FGHIJ", "1"), new MockHttpServletResponse(), perGame));
+    assertFalse(
+        interceptor.preHandle(request("FGHIJ", "2"), new MockHttpServletResponse(), perGame));
+  }
+
+  @Test
+  void testMethodsWithoutAnnotationAreNotLimited() throws Exception {
+    HandlerMethod open = handler("open");
+    for (int i = 0; i < 100; i++) {
+      assertTrue(interceptor.preHandle(request("ABCDE", "0"), new MockHttpServletResponse(), open));
+    }
+  }
+}
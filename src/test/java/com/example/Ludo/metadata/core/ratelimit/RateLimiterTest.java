@@ -0,0 +1,43 @@
+package com.example.Ludo.metadata.core.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+  private final AtomicLong now = new AtomicLong(123_456_789L);
+  private final RateLimiter limiter = new RateLimiter(2, 3, 1024, now::get);
+
+  @Test
+  void testBurstThenRefillAtTheRate() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire(7));
+    }
+    long wait = limiter.tryAcquire(7);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+
+    now.addAndGet(wait);
+    assertEquals(0, limiter.tryAcquire(7));
+    assertTrue(limiter.tryAcquire(7) > 0);
+  }
+
+  @Test
+  void testKeysHaveTheirOwnBuckets() {
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire(1);
+    }
+    assertTrue(limiter.tryAcquire(1) > 0);
+    assertEquals(0, limiter.tryAcquire(2));
+  }
+
+  @Test
+  void testIdleBucketDoesNotSaveUpPastTheBurst() {
+    now.addAndGet(TimeUnit.HOURS.toNanos(1));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire(7));
+    }
+    assertTrue(limiter.tryAcquire(7) > 0);
+  }
+}
@@ -4,9 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.example.Ludo.metadata.core.model.Dice;
 import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
 import com.example.Ludo.metadata.exception.InvalidActionException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -18,51 +17,31 @@ class DiceServiceTest {
     diceService = new DiceService();
   }
 
+  private GameState newGame(boolean started, boolean end) {
+    GameState game = new GameState("test");
+    game.setStarted(started);
+    game.setEnd(end);
+    game.setCurrentPlayerId("player1");
+    game.setCurrentPlayerIndex(0);
+    game.getPlayers().add(new Player("player1", "Alice", "GREEN"));
+    return game;
+  }
+
   @Test
   void testRollDice_GameEnded_ThrowsException() {
-    GameState game =
-        new GameState(
-            "test",
-            true,
-            true,
-            "player1",
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(true, true);
     assertThrows(InvalidActionException.class, () -> diceService.rollDice(game, 0));
   }
 
   @Test
   void testRollDice_NotPlayersTurn_ThrowsException() {
-    GameState game =
-        new GameState(
-            "test",
-            false,
-            false,
-            "player1",
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(false, false);
     assertThrows(InvalidActionException.class, () -> diceService.rollDice(game, 1));
   }
 
   @Test
   void testRollDice_ValidRoll() {
-    GameState game =
-        new GameState(
-            "test",
-            false,
-            false,
-            "player1",
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(false, false);
     Dice dice = diceService.rollDice(game, 0);
     assertNotNull(dice);
     assertTrue(dice.getMove() >= 1 && dice.getMove() <= 6);
@@ -70,19 +49,18 @@ class DiceServiceTest {
     assertEquals(1, game.getCurrentDiceRolls().size());
   }
 
+  @Test
+  void testRollDice_UsesDiceSourceAndCountsRolls() {
+    DiceService seeded = new DiceService(game -> game.getDiceRollCount() % 6 + 1);
+    GameState game = newGame(false, false);
+    assertEquals(1, seeded.rollDice(game, 0).getMove());
+    assertEquals(2, seeded.rollDice(game, 0).getMove());
+    assertEquals(2, game.getDiceRollCount());
+  }
+
   @Test
   void testRollDice_MultipleRolls() {
-    GameState game =
-        new GameState(
-            "test",
-            false,
-            false,
-            "player1",
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(false, false);
     diceService.rollDice(game, 0);
     diceService.rollDice(game, 0);
     assertEquals(2, game.getCurrentDiceRolls().size());
@@ -0,0 +1,141 @@
+package com.example.Ludo.metadata.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class GameActorExecutorTest {
+  private GameActorExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = new GameActorExecutor(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void testExecute_ReturnsResult() {
+    assertEquals(42, executor.execute("1", () -> 42));
+  }
+
+  @Test
+  void testExecute_RethrowsCommandException() {
+    assertThrows(
+        InvalidActionException.class,
+        () ->
+            executor.execute(
+                "1",
+                () -> {
+                  throw new InvalidActionException("nope");
+                }));
+  }
+
+  @Test
+  void testSubmit_SameGameRunsInOrderWithoutOverlap() {
+    List<Integer> seen = new ArrayList<>(); // deliberately not thread-safe
+    AtomicInteger inFlight = new AtomicInteger();
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+    for (int i = 0; i < 1000; i++) {
+      int n = i;
+      futures.add(
+          executor.submit(
+              "1",
+              () -> {
+                assertEquals(1, inFlight.incrementAndGet());
+                seen.add(n);
+                inFlight.decrementAndGet();
+                return n;
+              }));
+    }
+    futures.forEach(CompletableFuture::join);
+
+    assertEquals(1000, seen.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, seen.get(i));
+    }
+  }
+
+  @Test
+  void testSubmit_DifferentGamesRunInParallel() throws Exception {
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    CompletableFuture<Boolean> first =
+        executor.submit("1", () -> awaitQuietly(bothRunning));
+    CompletableFuture<Boolean> second =
+        executor.submit("2", () -> awaitQuietly(bothRunning));
+
+    assertTrue(first.get(5, TimeUnit.SECONDS));
+    assertTrue(second.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testExecute_NestedCommandOnSameGameRunsInline() {
+    int result = executor.execute("1", () -> executor.execute("1", () -> 7) + 1);
+    assertEquals(8, result);
+  }
+
+  @Test
+  void testExecute_CommandsCarryGameIdInMdc() {
+    assertEquals("ABCDE", executor.execute("ABCDE", () -> MDC.get(GameActorExecutor.MDC_GAME_ID)));
+    assertNull(MDC.get(GameActorExecutor.MDC_GAME_ID));
+  }
+
+  @Test
+  void testRelease_QueuedCommandsMoveToAFreshMailboxWithoutOverlap() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    CountDownLatch queued = new CountDownLatch(1);
+    CompletableFuture<Void> retiring =
+        executor.submit(
+            "1",
+            () -> {
+              awaitQuietly(queued);
+              executor.release("1");
+              return null;
+            });
+    // Queued on the mailbox being retired, then more on its successor while they are handed over
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      if (i == 100) {
+        queued.countDown();
+      }
+      futures.add(
+          executor.submit(
+              "1",
+              () -> {
+                assertEquals(1, inFlight.incrementAndGet());
+                inFlight.decrementAndGet();
+                return 1;
+              }));
+    }
+
+    retiring.get(5, TimeUnit.SECONDS);
+    for (CompletableFuture<Integer> future : futures) {
+      assertEquals(1, future.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, executor.actorCount());
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch) {
+    latch.countDown();
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.Ludo.metadata.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.interfaces.ColdGameStore;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameSnapshot;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.example.Ludo.metadata.exception.GameNotFoundException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GameEvictionServiceTest {
+  private static final long NOW = 1_000_000_000L;
+  private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+  private final GameStore gameStore = new InMemoryGameStore();
+  private final GameActorExecutor gameActors = new GameActorExecutor(1);
+  private final GameIdAllocator gameIdAllocator = new GameIdAllocator(5);
+  private final TurnTimers turnTimers = new TurnTimers(gameStore, gameActors, false, 1000, 100, "play");
+  private final GameStateWaiters gameStateWaiters = new GameStateWaiters();
+
+  @AfterEach
+  void tearDown() {
+    gameActors.shutdown();
+  }
+
+  // TTLs: lobby 30 min, active 120 min, finished 10 min
+  private GameEvictionService eviction(int maxGames, ColdGameStore coldStore) {
+    return new GameEvictionService(
+        gameStore,
+        gameActors,
+        gameIdAllocator,
+        turnTimers,
+        gameStateWaiters,
+        Optional.ofNullable(coldStore),
+        30,
+        120,
+        10,
+        maxGames,
+        1000);
+  }
+
+  private GameState addGame(String gameId, boolean started, boolean end, long idleMinutes) {
+    GameState game = new GameState(gameId);
+    game.setStarted(started);
+    game.setEnd(end);
+    game.setLastActivityMillis(NOW - idleMinutes * MINUTE);
+    gameStore.create(game);
+    return game;
+  }
+
+  @Test
+  void testSweep_EvictsGamesIdlePastTheirPhaseTtl() {
+    addGame("LOBBY", false, false, 31);
+    addGame("LOBBYOK", false, false, 29);
+    addGame("ACTIVE", true, false, 121);
+    addGame("ACTIVEOK", true, false, 60);
+    addGame("DONE", true, true, 11);
+    addGame("DONEOK", true, true, 5);
+
+    assertEquals(3, eviction(100, null).sweep(NOW).join());
+
+    assertFalse(gameStore.exists("LOBBY"));
+    assertFalse(gameStore.exists("ACTIVE"));
+    assertFalse(gameStore.exists("DONE"));
+    assertTrue(gameStore.exists("LOBBYOK"));
+    assertTrue(gameStore.exists("ACTIVEOK"));
+    assertTrue(gameStore.exists("DONEOK"));
+  }
+
+  @Test
+  void testSweep_OverCapEvictsFinishedThenLeastRecentlyActive() {
+    addGame("ACTIVE1", true, false, 1);
+    addGame("ACTIVE2", true, false, 5);
+    addGame("LOBBY1", false, false, 2);
+    addGame("LOBBY2", false, false, 3);
+    addGame("DONE1", true, true, 0);
+
+    assertEquals(3, eviction(2, null).sweep(NOW).join());
+
+    assertEquals(2, gameStore.size());
+    assertTrue(gameStore.exists("ACTIVE1"));
+    assertTrue(gameStore.exists("ACTIVE2"));
+  }
+
+  @Test
+  void testSweep_SkipsGameTouchedAfterItWasPicked() throws Exception {
+    GameState game = addGame("BUSY", false, false, 31);
+    GameEvictionService eviction = eviction(100, null);
+
+    // Hold the game's mailbox so the eviction queues behind a command that touches the game
+    CountDownLatch release = new CountDownLatch(1);
+    gameActors.submit(
+        "BUSY",
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          game.setLastActivityMillis(NOW);
+          return null;
+        });
+    CompletableFuture<Integer> evicted = eviction.sweep(NOW);
+    release.countDown();
+
+    assertEquals(0, evicted.join());
+    assertTrue(gameStore.exists("BUSY"));
+  }
+
+  @Test
+  void testSweep_FreesJoinCodeAndMailbox() {
+    String gameId = gameIdAllocator.allocate();
+    addGame(gameId, false, false, 31);
+    gameActors.execute(gameId, () -> null);
+
+    eviction(100, null).sweep(NOW).join();
+
+    assertEquals(0, gameActors.actorCount());
+    assertEquals(gameId, gameIdAllocator.allocate());
+  }
+
+  @Test
+  void testSweep_DroppedGameFailsItsLongPolls() {
+    addGame("GONE", true, false, 121);
+    CompletableFuture<GameSnapshot> poll =
+        gameStateWaiters.await("GONE", 1, 2, () -> new GameSnapshot(1, 2, new byte[0]));
+
+    eviction(100, null).sweep(NOW).join();
+
+    CompletionException failure = assertThrows(CompletionException.class, poll::join);
+    assertInstanceOf(GameNotFoundException.class, failure.getCause());
+    assertEquals(0, gameStateWaiters.waiterCount());
+  }
+
+  @Test
+  void testSweep_OffloadsToColdStoreAndKeepsJoinCode() {
+    Map<String, GameState> cold = new HashMap<>();
+    ColdGameStore coldStore =
+        new ColdGameStore() {
+          @Override
+          public void offload(GameState game) {
+            cold.put(game.getGameId(), game);
+          }
+
+          @Override
+          public GameState restore(String gameId) {
+            return cold.remove(gameId);
+          }
+        };
+    String gameId = gameIdAllocator.allocate();
+    addGame(gameId, true, false, 121);
+
+    eviction(100, coldStore).sweep(NOW).join();
+
+    assertFalse(gameStore.exists(gameId));
+    assertTrue(cold.containsKey(gameId));
+    assertNotEquals(gameId, gameIdAllocator.allocate());
+  }
+}
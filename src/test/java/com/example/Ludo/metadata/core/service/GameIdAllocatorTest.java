@@ -0,0 +1,54 @@
+package com.example.Ludo.metadata.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class GameIdAllocatorTest {
+
+  @Test
+  void testAllocate_ShortAndTypeable() {
+    GameIdAllocator allocator = new GameIdAllocator(5);
+    String id = allocator.allocate();
+    assertEquals(5, id.length());
+    assertTrue(allocator.isValid(id));
+    assertFalse(id.matches(".*[01ILOU].*"));
+  }
+
+  @Test
+  void testAllocate_NoCollisionsAcrossWholeSpace() {
+    GameIdAllocator allocator = new GameIdAllocator(3); // 27,000 codes
+    Set<String> seen = new HashSet<>();
+    for (int i = 0; i < 27_000; i++) {
+      assertTrue(seen.add(allocator.allocate()));
+    }
+    assertThrows(IllegalStateException.class, allocator::allocate);
+  }
+
+  @Test
+  void testAllocate_ConcurrentCallersGetDistinctIds() {
+    GameIdAllocator allocator = new GameIdAllocator(5);
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+    IntStream.range(0, 100_000).parallel().forEach(i -> assertTrue(seen.add(allocator.allocate())));
+    assertEquals(100_000, seen.size());
+  }
+
+  @Test
+  void testRelease_IdIsReused() {
+    GameIdAllocator allocator = new GameIdAllocator(5);
+    String id = allocator.allocate();
+    allocator.release(id);
+    assertEquals(id, allocator.allocate());
+  }
+
+  @Test
+  void testRelease_IgnoresForeignIds() {
+    GameIdAllocator allocator = new GameIdAllocator(5);
+    allocator.release("test1");
+    assertNotEquals("test1", allocator.allocate());
+  }
+}
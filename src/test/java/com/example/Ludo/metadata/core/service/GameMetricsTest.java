@@ -0,0 +1,75 @@
+package com.example.Ludo.metadata.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.service.GameMetrics.Operation;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.example.Ludo.metadata.exception.InvalidActionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class GameMetricsTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final GameStore gameStore = new InMemoryGameStore();
+  private final GameMetrics gameMetrics = new GameMetrics(registry, gameStore);
+
+  private long timerCount(String operation, String outcome) {
+    return registry
+        .get("ludo.game.operation")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+
+  @Test
+  void testRecord_TagsOutcome() {
+    assertEquals("ok", gameMetrics.record(Operation.ROLL, () -> "ok"));
+    assertThrows(
+        InvalidActionException.class,
+        () ->
+            gameMetrics.record(
+                Operation.ROLL,
+                () -> {
+                  throw new InvalidActionException("not your turn");
+                }));
+
+    assertEquals(1, timerCount("roll", "success"));
+    assertEquals(1, timerCount("roll", "error"));
+    assertEquals(0, timerCount("move", "success"));
+  }
+
+  @Test
+  void testGameGauges() {
+    gameStore.create(new GameState("LOBBY"));
+    GameState started = new GameState("PLAY");
+    started.setStarted(true);
+    gameStore.create(started);
+    GameState finished = new GameState("DONE");
+    finished.setStarted(true);
+    finished.setEnd(true);
+    gameStore.create(finished);
+
+    assertEquals(3, registry.get("ludo.games").tag("state", "live").gauge().value());
+    assertEquals(1, registry.get("ludo.games").tag("state", "started").gauge().value());
+    assertEquals(1, registry.get("ludo.games").tag("state", "finished").gauge().value());
+  }
+
+  @Test
+  void testCounters() {
+    GameMetrics.RuleEvents events = new GameMetrics.RuleEvents();
+    events.cut();
+    events.cut();
+    events.threeSixes();
+    gameMetrics.count(events);
+    gameMetrics.count(new GameMetrics.RuleEvents());
+    gameMetrics.rejected("INVALID_ACTION");
+
+    assertEquals(2, registry.get("ludo.cuts").counter().count());
+    assertEquals(1, registry.get("ludo.three.sixes").counter().count());
+    assertEquals(
+        1, registry.get("ludo.rejected.actions").tag("code", "INVALID_ACTION").counter().count());
+  }
+}
@@ -3,28 +3,62 @@ package com.example.Ludo.metadata.core.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.dto.GameActionDTO;
 import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.dto.GameStateDeltaDTO;
 import com.example.Ludo.metadata.core.enums.Color;
-import com.example.Ludo.metadata.core.model.Dice;
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.interfaces.ColdGameStore;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.ActionResult;
+import com.example.Ludo.metadata.core.model.GameSnapshot;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Player;
 import com.example.Ludo.metadata.core.model.Token;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.example.Ludo.metadata.exception.BatchActionException;
 import com.example.Ludo.metadata.exception.GameNotFoundException;
 import com.example.Ludo.metadata.exception.InvalidActionException;
-import java.lang.reflect.Field;
+import com.example.Ludo.metadata.exception.Rejection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class GameServiceTest {
+  // An id the allocator could have issued, as cold-stored games have
+  private static final String COLD_ID = "K7QX3";
+
   @InjectMocks private GameService gameService;
   @Mock private LudoRule ludoRule;
   @Mock private PlayerService playerService;
   @Mock private DiceService diceService;
   @Mock private TokenService tokenService;
+  @Mock private GameEventPublisher gameEventPublisher;
+  @Mock private GameEvictionService gameEviction;
+  @Mock private BotPlayers botPlayers;
+  @Mock private TurnTimers turnTimers;
+  @Spy private GameActorExecutor gameActors = new GameActorExecutor(1);
+  @Spy private GameStore gameStore = new InMemoryGameStore();
+  @Spy private GameIdAllocator gameIdAllocator = new GameIdAllocator(5);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  @Spy private GameMetrics gameMetrics = new GameMetrics(registry, gameStore);
+  @Spy private GameStateJson gameStateJson = new GameStateJson(new ObjectMapper());
+  @Spy private GameStateWaiters gameStateWaiters = new GameStateWaiters();
 
   @BeforeEach
   void setUp() {
@@ -43,277 +77,209 @@ class GameServiceTest {
     assertThrows(GameNotFoundException.class, () -> gameService.addPlayer("invalid", "Alice"));
   }
 
-  // Utility method to set private 'games' field using reflection
+  // Utility method to register a prepared game with the service's store
   private void setGame(String gameId, GameState game) {
-    try {
-      Field gamesField = GameService.class.getDeclaredField("games");
-      gamesField.setAccessible(true);
-      Map<String, GameState> gamesMap = (Map<String, GameState>) gamesField.get(gameService);
-      gamesMap.put(gameId, game);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    assertEquals(gameId, game.getGameId());
+    gameStore.create(game);
+  }
+
+  private GameState newGame(boolean started, String currentPlayerId, Player... players) {
+    GameState game = new GameState("test");
+    game.setStarted(started);
+    game.setCurrentPlayerId(currentPlayerId);
+    game.setCurrentPlayerIndex(0);
+    game.getPlayers().addAll(Arrays.asList(players));
+    return game;
   }
 
   @Test
   void testAddPlayer_GameStarted() {
     GameState game = mock(GameState.class);
     when(game.isStarted()).thenReturn(true);
+    when(game.getGameId()).thenReturn("test");
     setGame("test", game);
     assertThrows(InvalidActionException.class, () -> gameService.addPlayer("test", "Bob"));
   }
 
   @Test
   void testStartGame_NotEnoughPlayers() {
-    GameState game =
-        new GameState(
-            "test",
-            false,
-            false,
-            null,
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(false, null);
     setGame("test", game);
     assertThrows(InvalidActionException.class, () -> gameService.startGame("test"));
   }
 
   @Test
   void testRollDice_GameNotStarted() {
-    GameState game =
-        new GameState(
-            "test",
-            false,
-            false,
-            null,
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(false, null);
     setGame("test", game);
     assertThrows(InvalidActionException.class, () -> gameService.rollTheDice("test", 0));
   }
 
   @Test
   void testMoveToken_GameNotFound() {
-    assertThrows(
-        GameNotFoundException.class, () -> gameService.moveTheToken("invalid", "player", 0));
+    assertThrows(GameNotFoundException.class, () -> gameService.moveTheToken("invalid", 0, 0));
   }
 
   @Test
   void testMoveToken_GameNotStarted() {
-    GameState game =
-        new GameState(
-            "test",
-            false,
-            false,
-            null,
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(false, null);
     setGame("test", game);
-    assertThrows(InvalidActionException.class, () -> gameService.moveTheToken("test", "player", 0));
+    assertThrows(InvalidActionException.class, () -> gameService.moveTheToken("test", 0, 0));
   }
 
   @Test
   void testMoveToken_NotPlayersTurn() {
     GameState game =
-        new GameState(
-            "test",
+        newGame(
             true,
-            false,
             "player1",
-            0,
-            Arrays.asList(
-                new Player("player1", "Alice", "GREEN"), new Player("player2", "Bob", "BLUE")),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
     setGame("test", game);
-    assertThrows(
-        InvalidActionException.class, () -> gameService.moveTheToken("test", "player2", 0));
+    assertThrows(InvalidActionException.class, () -> gameService.moveTheToken("test", 1, 0));
   }
 
   @Test
   void testMoveToken_ValidOpenTokenMove() {
-    GameState game =
-        new GameState(
-            "test",
-            true,
-            false,
-            "player1",
-            0,
-            Collections.singletonList(new Player("player1", "Alice", "GREEN")),
-            new ArrayList<>(Collections.singletonList(new Dice(6, false))),
-            new HashMap<>(),
-            new ArrayList<>());
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(new Token(0, -1, Color.GREEN));
-    game.getPlayerPositions().put(0, tokens);
+    GameState game = newGame(true, "player1", new Player("player1", "Alice", "GREEN"));
+    game.getCurrentDiceRolls().add(6);
+    game.initializeTokens(0, Color.GREEN);
     setGame("test", game);
     when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
     when(tokenService.moveToken(any(), eq(0), eq(0), eq(6)))
         .thenReturn(new Token(0, 0, Color.GREEN));
-    GameStateDTO dto = gameService.moveTheToken("test", "player1", 0);
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
     assertEquals(0, dto.getCurrentPlayerIndex());
   }
 
   @Test
   void testMoveToken_OutOfBoundary() {
-    GameState game =
-        new GameState(
-            "test",
-            true,
-            false,
-            "player1",
-            0,
-            Arrays.asList(new Player("player1", "Alice", "GREEN")),
-            new ArrayList<>(Collections.singletonList(new Dice(60, false))),
-            new HashMap<>(),
-            new ArrayList<>());
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(new Token(0, 50, Color.GREEN)); // Near boundary
-    game.getPlayerPositions().put(0, tokens);
+    GameState game = newGame(true, "player1", new Player("player1", "Alice", "GREEN"));
+    game.getCurrentDiceRolls().add(6);
+    game.initializeTokens(0, Color.GREEN);
+    game.setTokenPosition(0, 0, 55); // Near boundary
     setGame("test", game);
     when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(false);
-    assertThrows(
-        InvalidActionException.class, () -> gameService.moveTheToken("test", "player1", 0));
+    assertThrows(InvalidActionException.class, () -> gameService.moveTheToken("test", 0, 0));
   }
 
   @Test
   void testMoveToken_CutOpponentToken() {
     GameState game =
-        new GameState(
-            "test",
+        newGame(
             true,
-            false,
             "player1",
-            0,
-            Arrays.asList(
-                new Player("player1", "Alice", "GREEN"), new Player("player2", "Bob", "BLUE")),
-            new ArrayList<>(Collections.singletonList(new Dice(2, false))),
-            new HashMap<>(),
-            new ArrayList<>());
-    List<Token> greenTokens = new ArrayList<>();
-    greenTokens.add(new Token(0, 5, Color.GREEN));
-    List<Token> blueTokens = new ArrayList<>();
-    blueTokens.add(new Token(0, 7, Color.BLUE));
-    game.getPlayerPositions().put(0, greenTokens);
-    game.getPlayerPositions().put(1, blueTokens);
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.getCurrentDiceRolls().add(2);
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    game.setTokenPosition(0, 0, 5);
+    game.setTokenPosition(1, 0, 7);
     setGame("test", game);
     when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
     when(tokenService.moveToken(any(), eq(0), eq(0), eq(2)))
         .thenReturn(new Token(0, 7, Color.GREEN));
     when(ludoRule.cutIfPossible(any(), any())).thenReturn(true);
-    GameStateDTO dto = gameService.moveTheToken("test", "player1", 0);
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
     assertEquals(0, dto.getCurrentPlayerIndex());
   }
 
   @Test
   void testMoveToken_CheckpointNoCut() {
     GameState game =
-        new GameState(
-            "test",
+        newGame(
             true,
-            false,
             "player1",
-            0,
-            Arrays.asList(
-                new Player("player1", "Alice", "GREEN"), new Player("player2", "Bob", "BLUE")),
-            new ArrayList<>(Collections.singletonList(new Dice(2, false))),
-            new HashMap<>(),
-            new ArrayList<>());
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.getCurrentDiceRolls().add(2);
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    game.setTokenPosition(0, 0, 7);
+    game.setTokenPosition(1, 0, 7);
     Token greenToken = spy(new Token(0, 7, Color.GREEN));
     doReturn(true).when(greenToken).isSafeCell();
-    List<Token> greenTokens = new ArrayList<>();
-    greenTokens.add(greenToken);
-    List<Token> blueTokens = new ArrayList<>();
-    blueTokens.add(new Token(0, 7, Color.BLUE));
-    game.getPlayerPositions().put(0, greenTokens);
-    game.getPlayerPositions().put(1, blueTokens);
     setGame("test", game);
     when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
     when(tokenService.moveToken(any(), eq(0), eq(0), eq(2))).thenReturn(greenToken);
     when(ludoRule.cutIfPossible(any(), any())).thenReturn(false);
-    GameStateDTO dto = gameService.moveTheToken("test", "player1", 0);
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
     assertEquals(0, dto.getCurrentPlayerIndex());
   }
 
   @Test
   void testMoveToken_FireCell() {
-    GameState game =
-        new GameState(
-            "test",
-            true,
-            false,
-            "player1",
-            0,
-            Arrays.asList(new Player("player1", "Alice", "GREEN")),
-            new ArrayList<>(Collections.singletonList(new Dice(2, false))),
-            new HashMap<>(),
-            new ArrayList<>());
+    GameState game = newGame(true, "player1", new Player("player1", "Alice", "GREEN"));
+    game.getCurrentDiceRolls().add(2);
+    game.initializeTokens(0, Color.GREEN);
+    game.setTokenPosition(0, 0, 10);
     Token fireToken = spy(new Token(0, 10, Color.GREEN));
     doReturn(true).when(fireToken).isFire();
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(fireToken);
-    game.getPlayerPositions().put(0, tokens);
     setGame("test", game);
     when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
     when(tokenService.moveToken(any(), eq(0), eq(0), eq(2))).thenReturn(fireToken);
-    GameStateDTO dto = gameService.moveTheToken("test", "player1", 0);
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
     assertEquals(0, dto.getCurrentPlayerIndex());
   }
 
   @Test
   void testMoveToken_AtEnd() {
-    GameState game =
-        new GameState(
-            "test",
-            true,
-            false,
-            "player1",
-            0,
-            Arrays.asList(new Player("player1", "Alice", "GREEN")),
-            new ArrayList<>(Collections.singletonList(new Dice(6, false))),
-            new HashMap<>(),
-            new ArrayList<>());
-    Token endToken = spy(new Token(0, 57, Color.GREEN));
-    doReturn(true).when(endToken).isFinished();
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(endToken);
-    game.getPlayerPositions().put(0, tokens);
+    GameState game = newGame(true, "player1", new Player("player1", "Alice", "GREEN"));
+    game.getCurrentDiceRolls().add(6);
+    game.initializeTokens(0, Color.GREEN);
+    for (int t = 0; t < ApplicationConstants.tokensPerPlayer; t++) {
+      game.setTokenPosition(0, t, ApplicationConstants.endPosition);
+    }
+    Token endToken = new Token(0, ApplicationConstants.endPosition, Color.GREEN);
     setGame("test", game);
     when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
     when(tokenService.moveToken(any(), eq(0), eq(0), eq(6))).thenReturn(endToken);
-    GameStateDTO dto = gameService.moveTheToken("test", "player1", 0);
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
     assertTrue(dto.isEnd() || !dto.getWinners().isEmpty());
   }
 
   @Test
-  void testRollDice_ExtraTurn() {
+  void testMoveToken_FinishingMoveEndsGame() {
     GameState game =
-        new GameState(
-            "test",
+        newGame(
             true,
-            false,
             "player1",
-            0,
-            Collections.singletonList(new Player("player1", "Alice", "GREEN")),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.getCurrentDiceRolls().add(2);
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    for (int t = 0; t < ApplicationConstants.tokensPerPlayer; t++) {
+      game.setTokenPosition(0, t, ApplicationConstants.endPosition);
+    }
+    game.setTokenPosition(0, 0, ApplicationConstants.endPosition - 2);
+    setGame("test", game);
+    when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
+    when(tokenService.moveToken(any(), eq(0), eq(0), eq(2)))
+        .thenAnswer(
+            invocation -> {
+              game.setTokenPosition(0, 0, ApplicationConstants.endPosition);
+              return game.getToken(0, 0);
+            });
+    // Like LudoRule, refuse to pass the turn in a finished game
+    when(ludoRule.changeTurn(any())).thenThrow(new InvalidActionException("Game is already finished"));
+
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
+    assertTrue(dto.isEnd());
+    assertEquals("player1", dto.getWinners().get(0).getId());
+  }
+
+  @Test
+  void testRollDice_ExtraTurn() {
+    GameState game = newGame(true, "player1", new Player("player1", "Alice", "GREEN"));
     setGame("test", game);
     // Mock diceService to add three sixes
     doAnswer(
             invocation -> {
-              game.getCurrentDiceRolls().add(new Dice(6, false));
-              game.getCurrentDiceRolls().add(new Dice(6, false));
-              game.getCurrentDiceRolls().add(new Dice(6, false));
+              game.getCurrentDiceRolls().add(6);
+              game.getCurrentDiceRolls().add(6);
+              game.getCurrentDiceRolls().add(6);
               return null;
             })
         .when(diceService)
@@ -325,20 +291,9 @@ class GameServiceTest {
 
   @Test
   void testRollDice_AllTokensAtHomeAndSix() {
-    GameState game =
-        new GameState(
-            "test",
-            true,
-            false,
-            "player1",
-            0,
-            Collections.singletonList(new Player("player1", "Alice", "GREEN")),
-            new ArrayList<>(Collections.singletonList(new Dice(6, false))),
-            new HashMap<>(),
-            new ArrayList<>());
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(new Token(0, -1, Color.GREEN));
-    game.getPlayerPositions().put(0, tokens);
+    GameState game = newGame(true, "player1", new Player("player1", "Alice", "GREEN"));
+    game.getCurrentDiceRolls().add(6);
+    game.initializeTokens(0, Color.GREEN);
     setGame("test", game);
     when(ludoRule.changeTurn(any())).thenReturn(false);
     GameStateDTO dto = gameService.rollTheDice("test", 0);
@@ -348,25 +303,17 @@ class GameServiceTest {
   @Test
   void testRollDice_AllTokensAtHomeAndNotSix() {
     GameState game =
-        new GameState(
-            "test",
+        newGame(
             true,
-            false,
             "player1",
-            0,
-            Arrays.asList(
-                new Player("player1", "Alice", "GREEN"), new Player("player2", "Bob", "BLUE")),
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(new Token(0, -1, Color.GREEN));
-    game.getPlayerPositions().put(0, tokens);
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
     setGame("test", game);
     // Mock diceService to add a dice roll of 5
     doAnswer(
             invocation -> {
-              game.getCurrentDiceRolls().add(new Dice(5, false));
+              game.getCurrentDiceRolls().add(5);
               return null;
             })
         .when(diceService)
@@ -376,5 +323,483 @@ class GameServiceTest {
     assertEquals(0, dto.getCurrentPlayerIndex());
   }
 
+  @Test
+  void testRollDice_UnusableHandForfeited() {
+    GameState game =
+        newGame(
+            true,
+            "player1",
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
+    game.setTokenPosition(0, 0, 55);
+    setGame("test", game);
+    doAnswer(
+            invocation -> {
+              game.getCurrentDiceRolls().add(5);
+              return null;
+            })
+        .when(diceService)
+        .rollDice(any(GameState.class), eq(0));
+
+    GameStateDTO dto = gameService.rollTheDice("test", 0);
+
+    assertTrue(dto.getCurrentDiceRolls().isEmpty());
+    assertTrue(dto.getMovableTokens().isEmpty());
+    verify(ludoRule).changeTurn(game);
+  }
+
+  @Test
+  void testMoveToken_UnusableDieAfterASixPassesTheTurn() {
+    GameState game =
+        newGame(
+            true,
+            "player1",
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
+    game.setTokenPosition(0, 0, ApplicationConstants.endPosition - 8);
+    game.getCurrentDiceRolls().add(6);
+    game.getCurrentDiceRolls().add(3);
+    setGame("test", game);
+    when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
+    when(tokenService.moveToken(any(), eq(0), eq(0), eq(6)))
+        .thenAnswer(
+            invocation -> {
+              // Two cells from the end: the 3 overshoots, and the other tokens need a six
+              game.setTokenPosition(0, 0, ApplicationConstants.endPosition - 2);
+              return game.getToken(0, 0);
+            });
+
+    GameStateDTO dto = gameService.moveTheToken("test", 0, 0);
+
+    assertTrue(dto.getCurrentDiceRolls().isEmpty());
+    verify(ludoRule).changeTurn(game);
+  }
+
+  @Test
+  void testRollDice_StateListsMovableTokens() {
+    GameState game =
+        newGame(
+            true,
+            "player1",
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
+    game.setTokenPosition(0, 0, 55);
+    game.setTokenPosition(0, 2, 10);
+    setGame("test", game);
+    doAnswer(
+            invocation -> {
+              game.getCurrentDiceRolls().add(2);
+              return null;
+            })
+        .when(diceService)
+        .rollDice(any(GameState.class), eq(0));
+
+    GameStateDTO dto = gameService.rollTheDice("test", 0);
+
+    assertEquals(List.of(0, 2), dto.getMovableTokens());
+    verify(ludoRule, never()).changeTurn(any());
+  }
+
   // Add more tests for edge cases and valid moves as needed
+
+  @Test
+  void testGetGameStateSnapshot_CachedPerVersion() {
+    Player alice = new Player("player1", "Alice", "GREEN");
+    Player bob = new Player("player2", "Bob", "BLUE");
+    setGame("test", newGame(false, null, alice, bob));
+
+    GameSnapshot initial = gameService.getGameStateSnapshot("test");
+    assertEquals(0, initial.getVersion());
+    assertTrue(new String(initial.getJson()).contains("\"gameId\":\"test\""));
+    assertSame(initial, gameService.getGameStateSnapshot("test"));
+
+    GameStateDTO started = gameService.startGame("test");
+    GameSnapshot afterStart = gameService.getGameStateSnapshot("test");
+    assertEquals(1, started.getVersion());
+    assertEquals(1, afterStart.getVersion());
+    assertTrue(new String(afterStart.getJson()).contains("\"started\":true"));
+    verify(gameEventPublisher).publish("test", afterStart);
+    verify(gameStateJson, times(2)).serialize(any());
+  }
+
+  @Test
+  void testGetGameStateSnapshot_GameNotFound() {
+    assertThrows(GameNotFoundException.class, () -> gameService.getGameStateSnapshot("invalid"));
+  }
+
+  @Test
+  void testAwaitGameState_WaitsForNextVersion() {
+    Player alice = new Player("player1", "Alice", "GREEN");
+    Player bob = new Player("player2", "Bob", "BLUE");
+    setGame("test", newGame(false, null, alice, bob));
+
+    int epoch = gameStore.find("test").getEpoch();
+    assertEquals(0, gameService.awaitGameState("test", epoch, -1).join().getVersion());
+    assertFalse(gameService.awaitGameState("test", epoch, 0).isDone());
+    assertThrows(GameNotFoundException.class, () -> gameService.awaitGameState("invalid", epoch, 0));
+  }
+
+  @Test
+  void testAwaitGameState_AnotherGameUnderTheSameIdAnswersAtOnce() {
+    setGame("test", newGame(false, null));
+    GameState earlier = new GameState("test");
+
+    GameSnapshot snapshot = gameService.awaitGameState("test", earlier.getEpoch(), 0).join();
+    assertNotEquals(earlier.getEpoch(), snapshot.getEpoch());
+  }
+
+  // Two seated players and their joins, started as version 1; seat 0 rolls sixes
+  private GameState startedGameWithHistory() {
+    return startedGameWithHistory(
+        newGame(
+            false,
+            null,
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE")));
+  }
+
+  private GameState startedGameWithHistory(GameState game) {
+    // Bases are replayed from the history, which needs the joins
+    game.setHistory(new GameHistory());
+    game.record(HistoryEventType.JOIN, 0);
+    game.record(HistoryEventType.JOIN, 1);
+    setGame("test", game);
+    gameService.startGame("test");
+    doAnswer(
+            invocation -> {
+              game.getCurrentDiceRolls().add(6);
+              return null;
+            })
+        .when(diceService)
+        .rollDice(same(game), eq(0));
+    return game;
+  }
+
+  @Test
+  void testRollDice_DeltaAgainstBaseVersion() {
+    GameState game = startedGameWithHistory();
+
+    GameStateDeltaDTO delta = gameService.rollTheDice("test", 0, 1, null);
+    assertFalse(delta.isFull());
+    assertEquals(1, delta.getBaseVersion());
+    assertEquals(2, delta.getVersion());
+    assertEquals(1, delta.getCurrentDiceRolls().size());
+    assertNotNull(delta.getLastDiceRoll());
+    assertNull(delta.getPlayers());
+    assertNull(delta.getTokens());
+    assertNull(delta.getCurrentPlayerIndex());
+
+    // A version the game never reached has nothing to diff against
+    GameStateDeltaDTO full = gameService.rollTheDice("test", 0, 7, null);
+    assertTrue(full.isFull());
+    assertEquals(3, full.getState().getVersion());
+
+    GameStateDeltaDTO sinceStart = gameService.rollTheDice("test", 0, 1, game.getEpoch());
+    assertFalse(sinceStart.isFull());
+    assertEquals(game.getEpoch(), sinceStart.getEpoch());
+    assertEquals(4, sinceStart.getVersion());
+    assertNotNull(sinceStart.getLastDiceRoll());
+  }
+
+  @Test
+  void testRollDice_BaseFromAnEarlierGameUnderTheSameIdGetsTheFullState() {
+    int earlierEpoch = startedGameWithHistory().getEpoch();
+    gameStore.remove("test");
+    // The code is reused by a new game, at the same version the client holds of the old one
+    GameState game =
+        newGame(
+            false,
+            null,
+            new Player("player3", "Carol", "GREEN"),
+            new Player("player4", "Dave", "BLUE"));
+    game.setEpoch(earlierEpoch + 1);
+    startedGameWithHistory(game);
+
+    GameStateDeltaDTO delta = gameService.rollTheDice("test", 0, 1, earlierEpoch);
+
+    assertTrue(delta.isFull());
+    assertEquals(game.getEpoch(), delta.getEpoch());
+    assertEquals("Carol", delta.getState().getPlayers().get(0).getName());
+    assertFalse(gameService.rollTheDice("test", 0, 2, game.getEpoch()).isFull());
+  }
+
+  private GameState gameRollingSixes() {
+    GameState game =
+        newGame(
+            true,
+            "player1",
+            new Player("player1", "Alice", "GREEN"),
+            new Player("player2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    setGame("test", game);
+    doAnswer(
+            invocation -> {
+              game.getCurrentDiceRolls().add(6);
+              return null;
+            })
+        .when(diceService)
+        .rollDice(any(GameState.class), eq(0));
+    when(ludoRule.isValidMove(any(), eq(0), eq(0))).thenReturn(true);
+    when(tokenService.moveToken(any(), eq(0), eq(0), eq(6)))
+        .thenAnswer(
+            invocation -> {
+              game.setTokenPosition(0, 0, 0);
+              return game.getToken(0, 0);
+            });
+    return game;
+  }
+
+  @Test
+  void testApplyActions_PublishesOnce() {
+    gameRollingSixes();
+    GameStateDTO dto =
+        gameService.applyActions(
+            "test",
+            List.of(
+                new GameActionDTO(GameEventType.ROLL, 0, null),
+                new GameActionDTO(GameEventType.MOVE, 0, 0)));
+
+    assertEquals(1, dto.getVersion());
+    assertEquals(0, dto.getPlayerPositions().get(0).get(0).getPosition());
+    verify(gameEventPublisher, times(1)).publish(eq("test"), any());
+  }
+
+  @Test
+  void testApplyActions_FailureRollsBackWholeBatch() {
+    GameState game = gameRollingSixes();
+    BatchActionException e =
+        assertThrows(
+            BatchActionException.class,
+            () ->
+                gameService.applyActions(
+                    "test",
+                    List.of(
+                        new GameActionDTO(GameEventType.ROLL, 0, null),
+                        new GameActionDTO(GameEventType.MOVE, 0, 0),
+                        new GameActionDTO(GameEventType.MOVE, 1, 0))));
+
+    assertEquals(2, e.getFailedIndex());
+    assertTrue(game.getCurrentDiceRolls().isEmpty());
+    assertEquals(-1, game.getTokenPosition(0, 0));
+    assertEquals(0, game.getVersion());
+    verify(gameEventPublisher, never()).publish(any(), any());
+  }
+
+  @Test
+  void testApplyActions_CutsCountedOnlyWhenTheBatchCommits() {
+    gameRollingSixes();
+    when(ludoRule.cutIfPossible(any(), any())).thenReturn(true);
+    List<GameActionDTO> rolledBack =
+        List.of(
+            new GameActionDTO(GameEventType.ROLL, 0, null),
+            new GameActionDTO(GameEventType.MOVE, 0, 0),
+            new GameActionDTO(GameEventType.ROLL, 3, null));
+
+    assertTrue(gameService.tryApplyActions("test", rolledBack).isRejected());
+    assertEquals(0, registry.get("ludo.cuts").counter().count());
+
+    gameService.applyActions("test", rolledBack.subList(0, 2));
+    assertEquals(1, registry.get("ludo.cuts").counter().count());
+  }
+
+  @Test
+  void testPlayBotAction_AppliedOnCurrentVersion() {
+    GameState game = gameRollingSixes();
+    game.getPlayers().get(0).setBot(true);
+
+    gameService.playBotAction("test", 0, new GameActionDTO(GameEventType.ROLL, 0, null));
+
+    assertEquals(1, game.getVersion());
+    assertEquals(6, game.getCurrentDiceRolls().getLastMove());
+    verify(botPlayers).onPublished(game);
+    verify(turnTimers).arm(game);
+  }
+
+  @Test
+  void testPlayBotAction_StaleVersionDropped() {
+    GameState game = gameRollingSixes();
+    game.getPlayers().get(0).setBot(true);
+    game.setVersion(3);
+
+    gameService.playBotAction("test", 2, new GameActionDTO(GameEventType.ROLL, 0, null));
+
+    assertEquals(3, game.getVersion());
+    assertTrue(game.getCurrentDiceRolls().isEmpty());
+    verify(gameEventPublisher, never()).publish(any(), any());
+  }
+
+  @Test
+  void testPlayBotAction_HumanSeatRejected() {
+    gameRollingSixes();
+    assertThrows(
+        InvalidActionException.class,
+        () -> gameService.playBotAction("test", 0, new GameActionDTO(GameEventType.ROLL, 0, null)));
+  }
+
+  @Test
+  void testAddBot_GameStarted() {
+    GameState game = newGame(true, null);
+    setGame("test", game);
+    assertThrows(InvalidActionException.class, () -> gameService.addBot("test"));
+  }
+
+  @Test
+  void testCreateMatchedGame_SeatsPlayersThenBotsAndStarts() {
+    doCallRealMethod().when(playerService).addPlayer(any(), anyString());
+    doCallRealMethod().when(playerService).addBot(any());
+
+    GameStateDTO dto = gameService.createMatchedGame(List.of("Alice", "Bob"), 1);
+
+    assertTrue(dto.isStarted());
+    assertEquals(3, dto.getPlayers().size());
+    assertEquals("Bob", dto.getPlayers().get(1).getName());
+    assertTrue(dto.getPlayers().get(2).isBot());
+    assertEquals(0, dto.getCurrentPlayerIndex());
+    GameState game = gameStore.find(dto.getGameId());
+    assertEquals(4, game.getHistory().size()); // three joins and the start
+    verify(gameEventPublisher, times(1)).publish(eq(dto.getGameId()), any());
+  }
+
+  @Test
+  void testCreateMatchedGame_FailureLeavesNoLobbyBehind() {
+    doCallRealMethod().when(playerService).addPlayer(any(), anyString());
+    doThrow(new InvalidActionException("Game is full")).when(playerService).addBot(any());
+
+    assertThrows(
+        InvalidActionException.class, () -> gameService.createMatchedGame(List.of("Alice"), 1));
+
+    assertEquals(0, gameStore.size());
+    assertEquals(0, gameActors.actorCount());
+    verify(gameIdAllocator).release(anyString());
+    verify(gameEventPublisher, never()).publish(any(), any());
+  }
+
+  @Test
+  void testTryRollTheDice_RejectionIsAResultNotAnException() {
+    gameRollingSixes();
+
+    ActionResult<GameStateDTO> result = gameService.tryRollTheDice("test", 1);
+
+    assertTrue(result.isRejected());
+    assertEquals(Rejection.NOT_YOUR_TURN, result.getRejection());
+    assertSame(result, gameService.tryRollTheDice("test", 1));
+    verify(diceService, never()).rollDice(any(), anyInt());
+    verify(gameEventPublisher, never()).publish(any(), any());
+  }
+
+  @Test
+  void testTryMoveTheToken_ReasonFromTheRules() {
+    GameState game = gameRollingSixes();
+    game.getCurrentDiceRolls().add(6);
+    when(ludoRule.isValidMove(any(), eq(0), eq(1))).thenReturn(false);
+    when(ludoRule.checkMove(any(), eq(0), eq(1))).thenReturn(Rejection.MUST_ROLL);
+
+    assertEquals(
+        Rejection.MUST_ROLL, gameService.tryMoveTheToken("test", 0, 1).getRejection());
+  }
+
+  @Test
+  void testEvictionRacingARequest_GameIsNeverLostOrShared() throws Exception {
+    Map<String, GameState> cold = new ConcurrentHashMap<>();
+    // Every game is past its TTL, so each sweep evicts the game unless the request just touched it
+    GameEvictionService eviction =
+        new GameEvictionService(
+            gameStore,
+            gameActors,
+            gameIdAllocator,
+            turnTimers,
+            gameStateWaiters,
+            Optional.of(coldStore(cold)),
+            0,
+            0,
+            0,
+            100,
+            1000);
+    gameStore.create(new GameState(COLD_ID));
+
+    ExecutorService requests = Executors.newSingleThreadExecutor();
+    try {
+      for (int round = 0; round < 200; round++) {
+        Future<GameStateDTO> request = requests.submit(() -> gameService.getGameState(COLD_ID));
+        eviction.sweep(System.currentTimeMillis()).join();
+
+        assertEquals(COLD_ID, request.get(5, TimeUnit.SECONDS).getGameId());
+        assertTrue(gameStore.exists(COLD_ID) ^ cold.containsKey(COLD_ID), "round " + round);
+      }
+    } finally {
+      requests.shutdownNow();
+    }
+  }
+
+  @Test
+  void testConcurrentRestores_BothFindTheGame() throws Exception {
+    Map<String, GameState> cold = new ConcurrentHashMap<>();
+    coldStore(cold);
+    ExecutorService requests = Executors.newFixedThreadPool(2);
+    try {
+      for (int round = 0; round < 100; round++) {
+        gameStore.remove(COLD_ID);
+        cold.put(COLD_ID, new GameState(COLD_ID));
+        Future<GameStateDTO> first = requests.submit(() -> gameService.getGameState(COLD_ID));
+        Future<GameStateDTO> second = requests.submit(() -> gameService.getGameState(COLD_ID));
+
+        assertEquals(COLD_ID, first.get(5, TimeUnit.SECONDS).getGameId());
+        assertEquals(COLD_ID, second.get(5, TimeUnit.SECONDS).getGameId());
+        assertFalse(cold.containsKey(COLD_ID));
+      }
+    } finally {
+      requests.shutdownNow();
+    }
+  }
+
+  @Test
+  void testUnknownIdsTheAllocatorCouldNotIssueNeverReachTheColdStore() {
+    Map<String, GameState> cold = new ConcurrentHashMap<>();
+    ColdGameStore coldStore = spy(coldStore(cold));
+    ReflectionTestUtils.setField(gameService, "coldStore", coldStore);
+
+    assertThrows(GameNotFoundException.class, () -> gameService.getGameState("a.b"));
+    assertThrows(GameNotFoundException.class, () -> gameService.getGameState("A".repeat(65)));
+    verify(coldStore, never()).restore(any());
+    verify(gameActors, never()).execute(any(), any());
+
+    assertThrows(GameNotFoundException.class, () -> gameService.getGameState(COLD_ID));
+    verify(coldStore).restore(COLD_ID);
+  }
+
+  // Gives the service a cold store backed by the map
+  private ColdGameStore coldStore(Map<String, GameState> cold) {
+    ColdGameStore coldStore =
+        new ColdGameStore() {
+          @Override
+          public void offload(GameState game) {
+            cold.put(game.getGameId(), game);
+          }
+
+          @Override
+          public GameState restore(String gameId) {
+            return cold.remove(gameId);
+          }
+        };
+    ReflectionTestUtils.setField(gameService, "coldStore", coldStore);
+    return coldStore;
+  }
+
+  @Test
+  void testTryApplyActions_RejectionCarriesIndex() {
+    gameRollingSixes();
+    ActionResult<GameStateDTO> result =
+        gameService.tryApplyActions(
+            "test",
+            List.of(
+                new GameActionDTO(GameEventType.ROLL, 0, null),
+                new GameActionDTO(GameEventType.MOVE, 0, null)));
+
+    assertEquals(Rejection.MISSING_TOKEN_INDEX, result.getRejection());
+    assertEquals(1, result.getFailedIndex());
+  }
 }
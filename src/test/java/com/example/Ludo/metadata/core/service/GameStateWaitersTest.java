@@ -0,0 +1,80 @@
+package com.example.Ludo.metadata.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.model.GameSnapshot;
+import com.example.Ludo.metadata.exception.GameNotFoundException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class GameStateWaitersTest {
+  private final GameStateWaiters waiters = new GameStateWaiters();
+
+  private static GameSnapshot snapshot(long version) {
+    return new GameSnapshot(1, version, new byte[0]);
+  }
+
+  @Test
+  void testAwait_CompletesAtOnceWhenAlreadyNewer() {
+    GameSnapshot current = snapshot(3);
+    CompletableFuture<GameSnapshot> next = waiters.await("ABCDE", 1, 2, () -> current);
+    assertSame(current, next.getNow(null));
+    assertEquals(0, waiters.waiterCount());
+  }
+
+  @Test
+  void testAwait_CompletesAtOnceForAnotherGameUnderTheSameId() {
+    GameSnapshot reused = new GameSnapshot(2, 2, new byte[0]);
+    CompletableFuture<GameSnapshot> next = waiters.await("ABCDE", 1, 2, () -> reused);
+    assertSame(reused, next.getNow(null));
+  }
+
+  @Test
+  void testAwait_CompletesOnPublishOfThatGameOnly() {
+    CompletableFuture<GameSnapshot> next = waiters.await("ABCDE", 1, 2, () -> snapshot(2));
+    assertFalse(next.isDone());
+
+    waiters.publish("OTHER", snapshot(7));
+    assertFalse(next.isDone());
+
+    GameSnapshot published = snapshot(3);
+    waiters.publish("ABCDE", published);
+    assertSame(published, next.getNow(null));
+    assertEquals(0, waiters.waiterCount());
+  }
+
+  @Test
+  void testAwait_CancelUnregisters() {
+    CompletableFuture<GameSnapshot> next = waiters.await("ABCDE", 1, 2, () -> snapshot(2));
+    assertEquals(1, waiters.waiterCount());
+    next.cancel(false);
+    assertEquals(0, waiters.waiterCount());
+  }
+
+  @Test
+  void testAwait_FailingCurrentUnregisters() {
+    assertThrows(
+        GameNotFoundException.class,
+        () ->
+            waiters.await(
+                "ABCDE",
+                1,
+                2,
+                () -> {
+                  throw new GameNotFoundException("Game not found");
+                }));
+    assertEquals(0, waiters.waiterCount());
+  }
+
+  @Test
+  void testGone_FailsThatGamesWaitersOnly() {
+    CompletableFuture<GameSnapshot> next = waiters.await("ABCDE", 1, 2, () -> snapshot(2));
+    CompletableFuture<GameSnapshot> other = waiters.await("OTHER", 1, 2, () -> snapshot(2));
+
+    waiters.gone("ABCDE");
+
+    assertTrue(next.isCompletedExceptionally());
+    assertFalse(other.isDone());
+    assertEquals(1, waiters.waiterCount());
+  }
+}
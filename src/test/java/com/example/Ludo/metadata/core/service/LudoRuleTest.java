@@ -2,9 +2,20 @@ package com.example.Ludo.metadata.core.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.exception.Rejection;
 import org.junit.jupiter.api.Test;
 
 class LudoRuleTest {
+  private final LudoRule ludoRule = new LudoRule();
+
+  private GameState boardWithGreenAndBlue() {
+    GameState gameState = new GameState("123");
+    gameState.initializeTokens(0, Color.GREEN);
+    gameState.initializeTokens(1, Color.BLUE);
+    return gameState;
+  }
 
   //    private GameState getValidGameState(){
   //        List<Player> playerList = Arrays.asList(new Player("11", "John", "GREEN"),
@@ -23,8 +34,110 @@ class LudoRuleTest {
     //        GameState ValidGameState = getValidGameState();
   }
 
+  private GameState greenToMove(int... dice) {
+    GameState gameState = boardWithGreenAndBlue();
+    gameState.setStarted(true);
+    for (int move : dice) {
+      gameState.getCurrentDiceRolls().add(move);
+    }
+    return gameState;
+  }
+
+  @Test
+  void isValidMove_UsesFirstUnusedDie() {
+    GameState gameState = greenToMove(6, 3);
+    gameState.setTokenPosition(0, 1, 20);
+
+    // The six is used first: it may open a token or move the open one
+    assertEquals(0b1111, gameState.getMovableTokens());
+    assertTrue(ludoRule.isValidMove(gameState, 0, 0));
+
+    gameState.getCurrentDiceRolls().markUsed(0);
+    assertEquals(0b0010, gameState.getMovableTokens());
+    assertEquals(Rejection.ILLEGAL_MOVE, ludoRule.checkMove(gameState, 0, 0));
+    assertTrue(ludoRule.isValidMove(gameState, 0, 1));
+    assertEquals(Rejection.NOT_YOUR_TURN, ludoRule.checkMove(gameState, 1, 1));
+    assertEquals(Rejection.TOKEN_NOT_FOUND, ludoRule.checkMove(gameState, 0, 4));
+  }
+
+  @Test
+  void isValidMove_NoOvershootAndNoMoveWhileRolling() {
+    GameState gameState = greenToMove(6);
+    assertEquals(0, gameState.getMovableTokens());
+    assertEquals(Rejection.MUST_ROLL, ludoRule.checkMove(gameState, 0, 0));
+
+    gameState.getCurrentDiceRolls().add(4);
+    gameState.setTokenPosition(0, 0, 54);
+    gameState.setTokenPosition(0, 1, 57);
+    // 54 + 6 overshoots, 57 has finished: only the six opening a token at home
+    assertEquals(0b1100, gameState.getMovableTokens());
+    gameState.getCurrentDiceRolls().markUsed(0);
+    // 54 + 4 overshoots as well, and a four cannot open a token
+    assertEquals(0, gameState.getMovableTokens());
+    assertFalse(ludoRule.isValidMove(gameState, 0, 0));
+  }
+
+  @Test
+  void movableTokens_RecomputedAfterBoardChange() {
+    GameState gameState = greenToMove(2);
+    gameState.setTokenPosition(0, 0, 30);
+    assertEquals(0b0001, gameState.getMovableTokens());
+
+    gameState.setTokenPosition(0, 0, 56);
+    assertEquals(0, gameState.getMovableTokens());
+  }
+
+  @Test
+  void cutIfPossible() {
+    GameState gameState = boardWithGreenAndBlue();
+    gameState.setTokenPosition(1, 2, 31); // BLUE global 31
+    gameState.setTokenPosition(1, 3, 31);
+    gameState.setTokenPosition(0, 0, 5); // GREEN global 26 + 5 = 31
+
+    assertEquals(3, gameState.countTokensOnCell(31));
+    assertTrue(gameState.isBlockade(31));
+    assertTrue(ludoRule.cutIfPossible(gameState, gameState.getToken(0, 0)));
+    assertEquals(-1, gameState.getTokenPosition(1, 2));
+    assertEquals(-1, gameState.getTokenPosition(1, 3));
+    assertEquals(5, gameState.getTokenPosition(0, 0));
+    assertEquals(1, gameState.countTokensOnCell(31));
+  }
+
+  @Test
+  void cutIfPossible_SafeCellNoCut() {
+    GameState gameState = boardWithGreenAndBlue();
+    gameState.setTokenPosition(1, 0, 34); // BLUE global 34 (safe)
+    gameState.setTokenPosition(0, 0, 8); // GREEN global 26 + 8 = 34
+
+    assertFalse(ludoRule.cutIfPossible(gameState, gameState.getToken(0, 0)));
+    assertEquals(34, gameState.getTokenPosition(1, 0));
+  }
+
+  @Test
+  void cutIfPossible_OwnTokensNotCut() {
+    GameState gameState = boardWithGreenAndBlue();
+    gameState.setTokenPosition(0, 1, 5);
+    gameState.setTokenPosition(0, 0, 5);
+
+    assertFalse(ludoRule.cutIfPossible(gameState, gameState.getToken(0, 0)));
+    assertEquals(5, gameState.getTokenPosition(0, 1));
+  }
+
   @Test
-  void cutIfPossible() {}
+  void cutIfPossible_HomeColumnIsOffTheTrack() {
+    GameState gameState = boardWithGreenAndBlue();
+    // GREEN 57 would wrap onto global 31, where BLUE's token stands
+    gameState.setTokenPosition(1, 0, 31);
+    gameState.setTokenPosition(0, 0, 57);
+
+    assertEquals(1, gameState.countTokensOnCell(31));
+    assertFalse(ludoRule.cutIfPossible(gameState, gameState.getToken(0, 0)));
+    assertEquals(31, gameState.getTokenPosition(1, 0));
+
+    // ... and BLUE's token on that cell cannot cut GREEN's finished token either
+    assertFalse(ludoRule.cutIfPossible(gameState, gameState.getToken(1, 0)));
+    assertEquals(57, gameState.getTokenPosition(0, 0));
+  }
 
   @Test
   void isExtraTurn() {}
@@ -5,9 +5,6 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Player;
 import com.example.Ludo.metadata.exception.InvalidActionException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -18,19 +15,8 @@ class PlayerServiceTest {
   @BeforeEach
   void setUp() {
     playerService = new PlayerService();
-    List<Player> players = new ArrayList<>();
-    players.add(new Player("id1", "Alice", "GREEN"));
-    gameState =
-        new GameState(
-            "test",
-            false,
-            false,
-            null,
-            0,
-            players,
-            new ArrayList<>(),
-            new HashMap<>(),
-            new ArrayList<>());
+    gameState = new GameState("test");
+    gameState.getPlayers().add(new Player("id1", "Alice", "GREEN"));
   }
 
   @Test
@@ -59,4 +45,13 @@ class PlayerServiceTest {
   void testAddPlayer_EmptyName() {
     assertThrows(InvalidActionException.class, () -> playerService.addPlayer(gameState, ""));
   }
+
+  @Test
+  void testAddBot_TakesNextSeat() {
+    Player bot = playerService.addBot(gameState);
+    assertEquals(2, gameState.getPlayers().size());
+    assertTrue(bot.isBot());
+    assertEquals("Bot 1", bot.getName());
+    assertFalse(gameState.getPlayers().get(0).isBot());
+  }
 }
@@ -7,7 +7,6 @@ import com.example.Ludo.metadata.core.enums.Color;
 import com.example.Ludo.metadata.core.model.GameState;
 import com.example.Ludo.metadata.core.model.Token;
 import com.example.Ludo.metadata.exception.InvalidActionException;
-import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -18,23 +17,12 @@ class TokenServiceTest {
   @BeforeEach
   void setUp() {
     tokenService = new TokenService();
-    List<Token> tokens = new ArrayList<>();
-    tokens.add(new Token(0, -1, Color.GREEN));
-    tokens.add(new Token(1, 1, Color.GREEN));
-    tokens.add(new Token(2, ApplicationConstants.endPosition, Color.GREEN));
-    Map<Integer, List<Token>> playerPositions = new HashMap<>();
-    playerPositions.put(0, tokens);
-    gameState =
-        new GameState(
-            "test",
-            true,
-            false,
-            "player1",
-            0,
-            new ArrayList<>(),
-            new ArrayList<>(),
-            playerPositions,
-            new ArrayList<>());
+    gameState = new GameState("test");
+    gameState.setStarted(true);
+    gameState.setCurrentPlayerId("player1");
+    gameState.initializeTokens(0, Color.GREEN);
+    gameState.setTokenPosition(0, 1, 1);
+    gameState.setTokenPosition(0, 2, ApplicationConstants.endPosition);
   }
 
   @Test
@@ -54,32 +42,31 @@ class TokenServiceTest {
 
   @Test
   void testMoveToken_ExceedsEndPosition() {
-    Token token = new Token(1, ApplicationConstants.endPosition - 1, Color.GREEN);
-    gameState.getPlayerPositions().get(0).set(1, token);
+    gameState.setTokenPosition(0, 1, ApplicationConstants.endPosition - 1);
     assertThrows(InvalidActionException.class, () -> tokenService.moveToken(gameState, 0, 1, 2));
   }
 
   @Test
   void testMoveToken_OpenTokenValidMove() {
-    Token token = new Token(1, 1, Color.GREEN);
-    gameState.getPlayerPositions().get(0).set(1, token);
+    gameState.setTokenPosition(0, 1, 1);
     Token moved = tokenService.moveToken(gameState, 0, 1, 2);
     assertEquals(3, moved.getCurrentPosition());
+    assertEquals(3, gameState.getTokenPosition(0, 1));
   }
 
   @Test
   void testMoveToken_UnlockTokenWithSix() {
-    Token token = new Token(0, -1, Color.GREEN);
-    gameState.getPlayerPositions().get(0).set(0, token);
+    gameState.setTokenPosition(0, 0, -1);
     Token moved = tokenService.moveToken(gameState, 0, 0, 6);
-    assertEquals(1, moved.getCurrentPosition());
+    // A six opens the token onto its start square, position 0; it moves on with the next roll
+    assertEquals(0, moved.getCurrentPosition());
+    assertEquals(0, gameState.getTokenPosition(0, 0));
   }
 
   @Test
   void testMoveToken_CannotUnlockWithNonSix() {
-    Token token = new Token(0, -1, Color.GREEN);
-    gameState.getPlayerPositions().get(0).set(0, token);
+    gameState.setTokenPosition(0, 0, -1);
     assertThrows(InvalidActionException.class, () -> tokenService.moveToken(gameState, 0, 0, 5));
-    assertEquals(-1, gameState.getPlayerPositions().get(0).get(0).getCurrentPosition());
+    assertEquals(-1, gameState.getTokenPosition(0, 0));
   }
 }
@@ -0,0 +1,255 @@
+package com.example.Ludo.metadata.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+
+import com.example.Ludo.metadata.core.dice.SeededDiceSource;
+import com.example.Ludo.metadata.core.dto.GameStateDTO;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.interfaces.GameStore;
+import com.example.Ludo.metadata.core.model.GameSnapshot;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.store.FileColdGameStore;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.example.Ludo.metadata.core.timer.TimingWheel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Turn deadlines through the real rules: idle seats are played for, stale timers are ignored. */
+class TurnTimersTest {
+  @InjectMocks private GameService gameService;
+  @Spy private LudoRule ludoRule = new LudoRule();
+  @Spy private PlayerService playerService = new PlayerService();
+  @Spy private DiceService diceService = new DiceService(new SeededDiceSource(42));
+  @Spy private TokenService tokenService = new TokenService();
+  @Mock private GameEventPublisher gameEventPublisher;
+  @Mock private GameEvictionService gameEviction;
+  @Mock private BotPlayers botPlayers;
+  @Spy private GameActorExecutor gameActors = new GameActorExecutor(1);
+  @Spy private GameStore gameStore = new InMemoryGameStore();
+  @Spy private GameIdAllocator gameIdAllocator = new GameIdAllocator(5);
+  @Spy private GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry(), gameStore);
+  @Spy private GameStateJson gameStateJson = new GameStateJson(new ObjectMapper());
+  @Spy private GameStateWaiters gameStateWaiters = new GameStateWaiters();
+
+  private TurnTimers turnTimers;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (turnTimers != null) {
+      turnTimers.stop();
+    }
+  }
+
+  private void useTimers(long timeoutMillis, String onExpiry) {
+    turnTimers = new TurnTimers(gameStore, gameActors, true, timeoutMillis, 10, onExpiry);
+    ReflectionTestUtils.setField(turnTimers, "gameService", gameService);
+    ReflectionTestUtils.setField(gameService, "turnTimers", turnTimers);
+    turnTimers.start();
+  }
+
+  private String startedGame() {
+    String gameId = gameService.createGame().getGameId();
+    gameService.addPlayer(gameId, "A");
+    gameService.addPlayer(gameId, "B");
+    gameService.startGame(gameId);
+    return gameId;
+  }
+
+  private GameState game(String gameId) {
+    return gameStore.find(gameId);
+  }
+
+  // Expiry is queued on the game's mailbox; this waits for it
+  private void drain(String gameId) {
+    gameActors.execute(gameId, () -> null);
+  }
+
+  private static boolean recorded(GameHistory history, HistoryEventType type, int seat) {
+    for (int i = 0; i < history.size(); i++) {
+      long event = history.get(i);
+      if (GameHistory.type(event) == type && GameHistory.seat(event) == seat) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  void testIdleSeatsTurnIsPlayedForIt() throws InterruptedException {
+    useTimers(100, "play");
+    String gameId = startedGame();
+    assertNotNull(gameService.getGameState(gameId).getTurnDeadline());
+
+    long waitUntil = System.currentTimeMillis() + 10_000;
+    while (game(gameId).getCurrentPlayerIndex() == 0 && System.currentTimeMillis() < waitUntil) {
+      Thread.sleep(10);
+    }
+    drain(gameId);
+
+    assertEquals(1, game(gameId).getCurrentPlayerIndex(), "turn passed without seat 0 acting");
+    assertTrue(recorded(game(gameId).getHistory(), HistoryEventType.ROLL, 0));
+    assertEquals(1, game(gameId).getTurnDeadlineSeat(), "the next turn has its own deadline");
+  }
+
+  @Test
+  void testDeadlineHoldsForTheWholeTurn() throws InterruptedException {
+    useTimers(60_000, "play");
+    String gameId = startedGame();
+    GameStateDTO started = gameService.getGameState(gameId);
+    GameStateDTO rolled = gameService.rollTheDice(gameId, 0);
+
+    if (rolled.getCurrentPlayerIndex() == 0) {
+      assertEquals(started.getTurnDeadline(), rolled.getTurnDeadline());
+    } else {
+      assertTrue(rolled.getTurnDeadline() >= started.getTurnDeadline());
+      assertEquals(1, game(gameId).getTurnDeadlineSeat());
+    }
+    // One reused timer per game, placed on the wheel's next tick
+    long waitUntil = System.currentTimeMillis() + 5_000;
+    while (turnTimers.pending() == 0 && System.currentTimeMillis() < waitUntil) {
+      Thread.sleep(5);
+    }
+    assertEquals(1, turnTimers.pending());
+  }
+
+  @Test
+  void testDueTimerPlaysTheTurnAndStaleOnesAreIgnored() {
+    useTimers(60_000, "play");
+    String gameId = startedGame();
+    GameState game = game(gameId);
+    TimingWheel.Timer<String> timer = game.getTurnTimer();
+    long due = game.getTurnDeadlineTick();
+    long version = game.getVersion();
+
+    // Fired before the current deadline: the turn it was set for is over
+    gameService.expireTurn(gameId, timer, due - 1);
+    drain(gameId);
+    assertEquals(version, game.getVersion());
+
+    // Another game's (or an evicted copy's) timer
+    TimingWheel.Timer<String> other = new TimingWheel<String>(4, 1, t -> {}).newTimer(gameId);
+    gameService.expireTurn(gameId, other, due);
+    drain(gameId);
+    assertEquals(version, game.getVersion());
+
+    gameService.expireTurn(gameId, timer, due);
+    drain(gameId);
+    assertEquals(1, game.getCurrentPlayerIndex());
+    assertTrue(game.getVersion() > version);
+  }
+
+  @Test
+  void testTurnLeftWithTheSeatGetsAPublishedDeadline() throws Exception {
+    useTimers(60_000, "play");
+    String gameId = startedGame();
+    GameState game = game(gameId);
+    long version = game.getVersion();
+    long deadline = game.getTurnDeadlineMillis();
+    // Dice to move with, but no move the rules take: the seat keeps the turn
+    game.getCurrentDiceRolls().add(6);
+    game.getCurrentDiceRolls().add(3);
+    doReturn(false).when(ludoRule).isValidMove(any(), anyInt(), anyInt());
+    Thread.sleep(5);
+
+    gameService.expireTurn(gameId, game.getTurnTimer(), game.getTurnDeadlineTick());
+    drain(gameId);
+
+    assertEquals(0, game.getCurrentPlayerIndex());
+    assertTrue(game.getTurnDeadlineMillis() > deadline);
+    assertEquals(version + 1, game.getVersion());
+    GameSnapshot snapshot = gameService.getGameStateSnapshot(gameId);
+    assertEquals(game.getVersion(), snapshot.getVersion());
+    JsonNode published = new ObjectMapper().readTree(snapshot.getJson());
+    assertEquals(game.getTurnDeadlineMillis(), published.get("turnDeadline").asLong());
+  }
+
+  @Test
+  void testGameBackFromTheColdStoreGetsATimerThatFires(@TempDir Path coldDir)
+      throws InterruptedException {
+    useTimers(500, "play");
+    FileColdGameStore coldStore = new FileColdGameStore(coldDir.toString());
+    ReflectionTestUtils.setField(gameService, "coldStore", coldStore);
+    GameEvictionService eviction =
+        new GameEvictionService(
+            gameStore,
+            gameActors,
+            gameIdAllocator,
+            turnTimers,
+            gameStateWaiters,
+            Optional.of(coldStore),
+            0,
+            0,
+            0,
+            100,
+            1000);
+    String gameId = startedGame();
+
+    assertEquals(1, eviction.sweep(System.currentTimeMillis()).join());
+    long waitUntil = System.currentTimeMillis() + 5_000;
+    while (turnTimers.pending() > 0 && System.currentTimeMillis() < waitUntil) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, turnTimers.pending(), "the evicted game's timer left the wheel");
+
+    GameStateDTO restored = gameService.getGameState(gameId);
+    GameState game = game(gameId);
+    assertNotNull(game.getTurnTimer());
+    assertEquals(Long.valueOf(game.getTurnDeadlineMillis()), restored.getTurnDeadline());
+    int seat = game.getCurrentPlayerIndex();
+    waitUntil = System.currentTimeMillis() + 10_000;
+    while (game.getCurrentPlayerIndex() == seat && System.currentTimeMillis() < waitUntil) {
+      Thread.sleep(10);
+    }
+    drain(gameId);
+    assertNotEquals(seat, game.getCurrentPlayerIndex(), "the restored game's turn timed out");
+  }
+
+  @Test
+  void testSkipPassesTheTurnUnplayed() {
+    useTimers(60_000, "skip");
+    String gameId = startedGame();
+    GameState game = game(gameId);
+
+    gameService.expireTurn(gameId, game.getTurnTimer(), game.getTurnDeadlineTick());
+    drain(gameId);
+
+    assertEquals(1, game.getCurrentPlayerIndex());
+    assertFalse(recorded(game.getHistory(), HistoryEventType.ROLL, 0));
+    assertTrue(recorded(game.getHistory(), HistoryEventType.TURN, 1));
+  }
+
+  @Test
+  void testUnknownGameIsLeftAlone() {
+    useTimers(60_000, "play");
+    gameService.expireTurn("NOPE1", null, 0);
+    assertNull(gameStore.find("NOPE1"));
+  }
+
+  @Test
+  void testBadExpiryModeIsRejected() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new TurnTimers(gameStore, gameActors, true, 1000, 10, "nap"));
+  }
+}
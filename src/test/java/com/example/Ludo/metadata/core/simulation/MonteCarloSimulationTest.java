@@ -0,0 +1,73 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.Ludo.metadata.core.enums.Color;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class MonteCarloSimulationTest {
+  // Thousands of games of rule debug logging would swamp the run
+  private static final Logger root =
+      (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+  private static Level rootLevel;
+
+  @BeforeAll
+  static void quietLogging() {
+    rootLevel = root.getLevel();
+    root.setLevel(Level.WARN);
+  }
+
+  @AfterAll
+  static void restoreLogging() {
+    root.setLevel(rootLevel);
+  }
+
+  private static SimulationStats run(long games, int parallelism, PlayerStrategy... strategies) {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return new MonteCarloSimulation(new GameSimulator(), strategies, 7).run(games, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testRun_EveryGameFinishes() {
+    SimulationStats stats =
+        run(2_000, 2, BuiltInStrategy.RANDOM, BuiltInStrategy.FURTHEST, BuiltInStrategy.AGGRESSIVE);
+
+    assertEquals(2_000, stats.getGames());
+    assertEquals(0, stats.getAborted(), stats.getFirstRuleError());
+    assertEquals(2_000, stats.getWins(0) + stats.getWins(1) + stats.getWins(2));
+    assertEquals(0, stats.getWins(3));
+    assertEquals(0, stats.getWins(Color.YELLOW));
+    assertTrue(stats.getCuts() > 0);
+    assertTrue(stats.gameLengthAt(0.5) > 0);
+  }
+
+  @Test
+  void testRun_SameSeedSameResultAtAnyParallelism() {
+    SimulationStats serial = run(1_500, 1, BuiltInStrategy.RANDOM, BuiltInStrategy.RANDOM);
+    SimulationStats parallel = run(1_500, 4, BuiltInStrategy.RANDOM, BuiltInStrategy.RANDOM);
+
+    assertEquals(serial.getRolls(), parallel.getRolls());
+    assertEquals(serial.getCuts(), parallel.getCuts());
+    assertEquals(serial.getWins(0), parallel.getWins(0));
+    assertEquals(serial.report(), parallel.report());
+  }
+
+  @Test
+  void testNew_RejectsSinglePlayer() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new MonteCarloSimulation(
+                new GameSimulator(), new PlayerStrategy[] {BuiltInStrategy.RANDOM}, 1));
+  }
+}
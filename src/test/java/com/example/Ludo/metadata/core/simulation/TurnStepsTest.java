@@ -0,0 +1,44 @@
+package com.example.Ludo.metadata.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.constants.ApplicationConstants;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.model.GameState;
+import org.junit.jupiter.api.Test;
+
+class TurnStepsTest {
+  @Test
+  void testMove_UnusableDieAfterASixPassesTheTurn() {
+    GameState game = GameSimulator.newGame(2);
+    game.setTokenPosition(0, 0, ApplicationConstants.endPosition - 8);
+    game.getCurrentDiceRolls().add(6);
+    game.getCurrentDiceRolls().add(3);
+
+    // The 6 leaves the token two cells from the end, where the 3 overshoots
+    int outcome = new TurnSteps().move(game, 0);
+
+    assertEquals(TurnSteps.FORFEITED | TurnSteps.TURN_PASSED, outcome);
+    assertTrue(game.getCurrentDiceRolls().isEmpty());
+    assertEquals(1, game.getCurrentPlayerIndex());
+  }
+
+  @Test
+  void testRoll_ThirdSixPassesTheTurnAndIsRecordedLikeAServerRoll() {
+    GameState game = GameSimulator.newGame(2);
+    game.setHistory(new GameHistory());
+    TurnSteps steps = new TurnSteps();
+    steps.roll(game, 6);
+    steps.roll(game, 6);
+
+    int outcome = steps.roll(game, 6);
+
+    assertEquals(TurnSteps.TURN_PASSED | TurnSteps.THREE_SIXES, outcome);
+    assertEquals(1, game.getCurrentPlayerIndex());
+    GameHistory history = game.getHistory();
+    assertEquals(HistoryEventType.ROLL, GameHistory.type(history.get(2)));
+    assertEquals(2, GameHistory.die(history.get(2)));
+    assertEquals(HistoryEventType.CLEAR, GameHistory.type(history.get(3)));
+  }
+}
@@ -0,0 +1,326 @@
+package com.example.Ludo.metadata.core.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.enums.GameEventType;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.history.GameReplayer;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.LastDiceRoll;
+import com.example.Ludo.metadata.core.model.Player;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EventLogGameStoreTest {
+  @TempDir Path dir;
+
+  private EventLogGameStore open(int snapshotEveryRecords) {
+    return new EventLogGameStore(dir.toString(), 1, 1, snapshotEveryRecords);
+  }
+
+  private GameState startedGame(String gameId) {
+    GameState game = new GameState(gameId);
+    game.getPlayers().add(new Player("p1", "Alice", "GREEN"));
+    game.getPlayers().add(new Player("p2", "Bob", "BLUE"));
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    game.setStarted(true);
+    game.setCurrentPlayerId("p1");
+    return game;
+  }
+
+  @Test
+  void testRecoversLatestStateAfterRestart() {
+    EventLogGameStore store = open(100000);
+    GameState game = startedGame("7");
+    store.create(game);
+    game.getCurrentDiceRolls().add(6);
+    game.getCurrentDiceRolls().markUsed(0);
+    game.setTokenPosition(0, 2, 0);
+    game.setLastDiceRoll(new LastDiceRoll(0, 6, 123L, "7-0-123"));
+    store.save(game, GameEventType.MOVE);
+    store.close();
+
+    EventLogGameStore reopened = open(100000);
+    GameState recovered = reopened.find("7");
+    assertNotNull(recovered);
+    assertTrue(recovered.isStarted());
+    assertEquals(2, recovered.getPlayers().size());
+    assertEquals(Color.BLUE, recovered.getSeatColor(1));
+    assertEquals(0, recovered.getTokenPosition(0, 2));
+    assertEquals(1, recovered.getCurrentDiceRolls().size());
+    assertTrue(recovered.getCurrentDiceRolls().isUsed(0));
+    assertEquals("7-0-123", recovered.getLastDiceRoll().getRollId());
+    assertNotEquals(0, recovered.getCellOccupancy(26)); // occupancy index rebuilt
+    reopened.close();
+  }
+
+  // Plays two joins, the start, a six and the move it opens, publishing each like GameService
+  private GameState playedWithHistory(EventLogGameStore store, String gameId) {
+    GameState game = new GameState(gameId);
+    game.setHistory(new GameHistory());
+    store.create(game);
+    game.getPlayers().add(new Player("p1", "Alice", "GREEN"));
+    game.record(HistoryEventType.JOIN, 0);
+    publish(store, game, GameEventType.JOIN);
+    game.getPlayers().add(new Player("p2", "Bob", "BLUE"));
+    game.record(HistoryEventType.JOIN, 1);
+    publish(store, game, GameEventType.JOIN);
+    game.initializeTokens(0, Color.GREEN);
+    game.initializeTokens(1, Color.BLUE);
+    game.setStarted(true);
+    game.record(HistoryEventType.START, 0);
+    publish(store, game, GameEventType.START);
+    game.getCurrentDiceRolls().add(6);
+    game.record(HistoryEventType.ROLL, 0, 0, 0, 0, 6);
+    publish(store, game, GameEventType.ROLL);
+    game.getCurrentDiceRolls().markUsed(0);
+    game.setTokenPosition(0, 2, 0);
+    game.record(HistoryEventType.MOVE, 0, 2, 0, -1, 0);
+    publish(store, game, GameEventType.MOVE);
+    return game;
+  }
+
+  private static void publish(EventLogGameStore store, GameState game, GameEventType event) {
+    game.setVersion(game.getVersion() + 1);
+    store.save(game, event);
+  }
+
+  private static GameState replay(GameState game, long version) {
+    GameHistory history = game.getHistory();
+    return GameReplayer.replay(
+        game.getGameId(),
+        game.getPlayers(),
+        history.copy(0, history.sizeAt(version)),
+        version);
+  }
+
+  @Test
+  void testHistorySurvivesRestartAndReplaysOldVersions() {
+    EventLogGameStore store = open(100000);
+    GameState game = playedWithHistory(store, "8");
+    store.close();
+
+    EventLogGameStore reopened = open(100000);
+    GameState recovered = reopened.find("8");
+    assertNotNull(recovered.getHistory());
+    assertArrayEquals(
+        game.getHistory().copy(0, game.getHistory().size()),
+        recovered.getHistory().copy(0, recovered.getHistory().size()));
+    GameState rolled = replay(recovered, 4);
+    assertEquals(6, rolled.getCurrentDiceRolls().getLastMove());
+    assertEquals(-1, rolled.getTokenPosition(0, 2));
+    assertEquals(0, replay(recovered, 5).getTokenPosition(0, 2));
+    reopened.close();
+  }
+
+  @Test
+  void testHistoryRecoveredFromLogTailAfterCrash() {
+    EventLogGameStore store = open(100000);
+    GameState game = playedWithHistory(store, "9");
+    store.halt();
+
+    EventLogGameStore reopened = open(100000);
+    GameState recovered = reopened.find("9");
+    assertEquals(game.getHistory().size(), recovered.getHistory().size());
+    assertEquals(2, replay(recovered, 2).getPlayers().size());
+
+    // Logging carries on from the recovered history, and a snapshot keeps all of it
+    recovered.getCurrentDiceRolls().clear();
+    recovered.record(HistoryEventType.CLEAR, 0);
+    publish(reopened, recovered, GameEventType.MOVE);
+    reopened.close();
+    EventLogGameStore again = open(100000);
+    assertEquals(game.getHistory().size() + 1, again.find("9").getHistory().size());
+    again.close();
+  }
+
+  @Test
+  void testGameWithoutHistoryRecoversWithout() {
+    EventLogGameStore store = open(100000);
+    store.create(startedGame("10"));
+    store.close();
+
+    EventLogGameStore reopened = open(100000);
+    assertNull(reopened.find("10").getHistory());
+    reopened.close();
+  }
+
+  @Test
+  void testRemovedGameStaysRemoved() {
+    EventLogGameStore store = open(100000);
+    store.create(startedGame("1"));
+    store.create(startedGame("2"));
+    store.remove("1");
+    store.close();
+
+    EventLogGameStore reopened = open(100000);
+    assertNull(reopened.find("1"));
+    assertNotNull(reopened.find("2"));
+    reopened.close();
+  }
+
+  @Test
+  void testSnapshotCompactsLog() throws IOException {
+    EventLogGameStore store = open(10);
+    GameState game = startedGame("3");
+    store.create(game);
+    for (int i = 0; i < 25; i++) {
+      game.setTokenPosition(0, 0, i);
+      store.save(game, GameEventType.MOVE);
+      store.flush();
+    }
+    store.close();
+
+    try (Stream<Path> files = Files.list(dir)) {
+      assertTrue(files.anyMatch(f -> f.getFileName().toString().startsWith("snapshot-")));
+    }
+    EventLogGameStore reopened = open(10);
+    assertEquals(24, reopened.find("3").getTokenPosition(0, 0));
+    reopened.close();
+  }
+
+  @Test
+  void testTornTailRecordIsDropped() throws IOException {
+    EventLogGameStore store = open(100000);
+    GameState game = startedGame("4");
+    store.create(game);
+    game.setTokenPosition(0, 0, 5);
+    store.save(game, GameEventType.MOVE);
+    store.halt();
+
+    // Corrupt the last byte of the second record's payload
+    Path segment;
+    try (Stream<Path> files = Files.list(dir)) {
+      segment = files.filter(f -> f.toString().endsWith(".log")).sorted().findFirst().get();
+    }
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(4);
+      channel.read(header, 0);
+      int firstLength = header.getInt(0);
+      long second = 8L + firstLength;
+      header.clear();
+      channel.read(header, second);
+      int secondLength = header.getInt(0);
+      channel.write(ByteBuffer.wrap(new byte[] {0x7F}), second + 8 + secondLength - 1);
+    }
+
+    EventLogGameStore reopened = open(100000);
+    assertEquals(-1, reopened.find("4").getTokenPosition(0, 0));
+    reopened.close();
+  }
+
+  @Test
+  void testRecordTooBigForASegmentIsDroppedAndTheRestIsKept() {
+    EventLogGameStore store = open(100000);
+    GameState huge = startedGame("11");
+    GameHistory history = new GameHistory();
+    for (int i = 0; i < 200_000; i++) { // 1.6MB of events, more than a 1MB segment holds
+      history.append(GameHistory.event(HistoryEventType.ROLL, 0, 0, 0, 0, 6, 1));
+    }
+    huge.setHistory(history);
+    store.create(huge);
+    store.create(startedGame("12"));
+    assertThrows(CompletionException.class, store::flush);
+    store.create(startedGame("13"));
+    store.halt();
+
+    EventLogGameStore reopened = open(100000);
+    assertNull(reopened.find("11"));
+    assertNotNull(reopened.find("12"));
+    assertNotNull(reopened.find("13"));
+    reopened.close();
+  }
+
+  @Test
+  void testSnapshotTakesOnlyLoggedEventsFromTheLiveHistory() {
+    EventLogGameStore store = open(100000);
+    GameState game = playedWithHistory(store, "14");
+    int logged = game.getHistory().size();
+    // Recorded but not yet published, as in the middle of a batch
+    game.record(HistoryEventType.CLEAR, 0);
+    store.close();
+
+    EventLogGameStore reopened = open(100000);
+    GameHistory recovered = reopened.find("14").getHistory();
+    assertEquals(logged, recovered.size());
+    assertArrayEquals(game.getHistory().copy(0, logged), recovered.copy(0, logged));
+    reopened.close();
+  }
+
+  @Test
+  void testCleanShutdownLeavesNoTailToReplay() throws IOException {
+    EventLogGameStore store = open(100000);
+    GameState game = startedGame("5");
+    store.create(game);
+    game.setTokenPosition(1, 3, 12);
+    store.save(game, GameEventType.MOVE);
+    store.close();
+
+    Path newestSegment;
+    try (Stream<Path> files = Files.list(dir)) {
+      newestSegment =
+          files.filter(f -> f.toString().endsWith(".log")).sorted().reduce((a, b) -> b).get();
+    }
+    try (Stream<Path> files = Files.list(dir)) {
+      assertTrue(files.anyMatch(f -> f.getFileName().toString().startsWith("snapshot-")));
+    }
+    try (FileChannel channel = FileChannel.open(newestSegment, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(4);
+      channel.read(header, 0);
+      assertEquals(0, header.getInt(0));
+    }
+
+    EventLogGameStore reopened = open(100000);
+    assertEquals(12, reopened.find("5").getTokenPosition(1, 3));
+    reopened.close();
+  }
+
+  @Test
+  void testSnapshotsOnAnIntervalWhileRunning() throws Exception {
+    EventLogGameStore store = new EventLogGameStore(dir.toString(), 1, 1, 100000, 20, 0);
+    store.create(startedGame("6"));
+    store.flush();
+
+    long deadline = System.currentTimeMillis() + 5000;
+    boolean snapshotted = false;
+    while (!snapshotted && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+      try (Stream<Path> files = Files.list(dir)) {
+        snapshotted = files.anyMatch(f -> f.getFileName().toString().startsWith("snapshot-"));
+      }
+    }
+    assertTrue(snapshotted);
+    store.close();
+  }
+
+  @Test
+  void testRecoversManyGamesOnSeveralThreads() {
+    EventLogGameStore store = new EventLogGameStore(dir.toString(), 4, 1, 100000, 0, 4);
+    for (int i = 0; i < 5000; i++) {
+      GameState game = startedGame("G" + i);
+      store.create(game);
+      game.setTokenPosition(0, i % 4, i % 50);
+      store.save(game, GameEventType.MOVE);
+    }
+    // Crash rather than close: everything comes back from the log tail
+    store.halt();
+    EventLogGameStore reopened = new EventLogGameStore(dir.toString(), 4, 1, 100000, 0, 4);
+
+    assertEquals(5000, reopened.size());
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(i % 50, reopened.find("G" + i).getTokenPosition(0, i % 4));
+    }
+    reopened.close();
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.Ludo.metadata.core.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.enums.Color;
+import com.example.Ludo.metadata.core.enums.HistoryEventType;
+import com.example.Ludo.metadata.core.history.GameHistory;
+import com.example.Ludo.metadata.core.model.GameState;
+import com.example.Ludo.metadata.core.model.Player;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileColdGameStoreTest {
+  @TempDir Path dir;
+
+  @Test
+  void testOffloadThenRestoreRoundTripsTheGameOnce() {
+    FileColdGameStore store = new FileColdGameStore(dir.toString());
+    GameState game = new GameState("ABCDE");
+    game.getPlayers().add(new Player("p1", "Alice", "GREEN"));
+    game.getPlayers().add(new Player("p2", "Bot 2", "YELLOW", true));
+    game.initializeTokens(0, Color.GREEN);
+    game.setTokenPosition(0, 2, 14);
+    game.setStarted(true);
+    game.setVersion(9);
+
+    store.offload(game);
+    GameState restored = store.restore("ABCDE");
+
+    assertNotNull(restored);
+    assertEquals("Alice", restored.getPlayers().get(0).getName());
+    assertFalse(restored.getPlayers().get(0).isBot());
+    assertTrue(restored.getPlayers().get(1).isBot());
+    assertEquals(14, restored.getTokenPosition(0, 2));
+    assertTrue(restored.isStarted());
+    assertEquals(9, restored.getVersion());
+    assertEquals(game.getEpoch(), restored.getEpoch());
+    assertNull(store.restore("ABCDE"));
+  }
+
+  @Test
+  void testHistoryIsKeptAcrossOffload() {
+    FileColdGameStore store = new FileColdGameStore(dir.toString());
+    GameState game = new GameState("FGHIJ");
+    game.setHistory(new GameHistory());
+    game.getPlayers().add(new Player("p1", "Alice", "GREEN"));
+    game.record(HistoryEventType.JOIN, 0);
+    game.setVersion(1);
+    game.record(HistoryEventType.ROLL, 0, 0, 0, 0, 6);
+
+    store.offload(game);
+    GameState restored = store.restore("FGHIJ");
+
+    assertEquals(2, restored.getHistory().size());
+    assertEquals(game.getHistory().get(1), restored.getHistory().get(1));
+  }
+
+  @Test
+  void testIdsThatCannotNameAFileAreNotStored() {
+    FileColdGameStore store = new FileColdGameStore(dir.toString());
+    assertNull(store.restore("../secret"));
+    assertNull(store.restore("a.b"));
+    assertNull(store.restore("A".repeat(65)));
+    assertThrows(IllegalArgumentException.class, () -> store.offload(new GameState("../secret")));
+  }
+}
@@ -0,0 +1,126 @@
+package com.example.Ludo.metadata.core.timer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.timer.TimingWheel.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+  private final List<long[]> fired = new ArrayList<>();
+  // Tests use small wheels, so a few thousand ticks cross every level
+  private TimingWheel<Long> wheel;
+
+  private TimingWheel<Long> wheel(int bits, int levels) {
+    wheel = new TimingWheel<>(bits, levels, t -> fired.add(new long[] {t.payload(), wheel.tick()}));
+    return wheel;
+  }
+
+  @Test
+  void testEveryTimerFiresExactlyOnItsTick() {
+    wheel(4, 4);
+    SplittableRandom random = new SplittableRandom(7);
+    int timers = 20_000;
+    for (int i = 0; i < timers; i++) {
+      long deadline = 1 + random.nextLong(1 << 16);
+      wheel.schedule(wheel.newTimer(deadline), deadline);
+    }
+    wheel.advance(1 << 16);
+
+    assertEquals(timers, fired.size());
+    for (long[] f : fired) {
+      assertEquals(f[0], f[1], "timer due at " + f[0] + " fired at " + f[1]);
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void testTimersScheduledMidwayFireOnTime() {
+    wheel(4, 3);
+    SplittableRandom random = new SplittableRandom(11);
+    for (long now = 0; now < 10_000; now += 1 + random.nextInt(40)) {
+      wheel.advance(now);
+      long deadline = now + 1 + random.nextLong(3000);
+      wheel.schedule(wheel.newTimer(deadline), deadline);
+    }
+    wheel.advance(20_000);
+    assertFalse(fired.isEmpty());
+    for (long[] f : fired) {
+      assertEquals(f[0], f[1]);
+    }
+  }
+
+  @Test
+  void testRescheduleMovesTheTimerAndCancelDisarmsIt() {
+    wheel(4, 4);
+    Timer<Long> moved = wheel.newTimer(1L);
+    Timer<Long> cancelled = wheel.newTimer(2L);
+    wheel.schedule(moved, 10);
+    wheel.schedule(cancelled, 10);
+    wheel.advance(5);
+    wheel.schedule(moved, 300);
+    wheel.schedule(moved, 40); // the latest request wins
+    wheel.cancel(cancelled);
+
+    wheel.advance(39);
+    assertTrue(fired.isEmpty());
+    wheel.advance(40);
+    assertEquals(1, fired.size());
+    assertArrayEquals(new long[] {1, 40}, fired.get(0));
+    wheel.advance(1000);
+    assertEquals(1, fired.size());
+
+    // Reusable after firing and after a cancel
+    wheel.schedule(cancelled, 1010);
+    wheel.advance(1010);
+    assertArrayEquals(new long[] {2, 1010}, fired.get(1));
+  }
+
+  @Test
+  void testPastDeadlineFiresOnTheNextTick() {
+    wheel(4, 2);
+    wheel.advance(100);
+    wheel.schedule(wheel.newTimer(7L), 3);
+    wheel.advance(101);
+    assertEquals(1, fired.size());
+    assertEquals(101, fired.get(0)[1]);
+  }
+
+  @Test
+  void testDeadlineBeyondTheWheelIsParkedUntilInRange() {
+    wheel(3, 2); // places exactly up to 64 ticks ahead
+    wheel.schedule(wheel.newTimer(1000L), 1000);
+    wheel.advance(999);
+    assertTrue(fired.isEmpty());
+    assertEquals(1, wheel.size());
+    wheel.advance(1000);
+    assertArrayEquals(new long[] {1000, 1000}, fired.get(0));
+  }
+
+  @Test
+  void testCallbackFailureDoesNotStopTheWheel() {
+    List<Long> seen = new ArrayList<>();
+    TimingWheel<Long> failing =
+        new TimingWheel<>(
+            4,
+            2,
+            t -> {
+              seen.add(t.payload());
+              if (t.payload() == 1) {
+                throw new IllegalStateException("boom");
+              }
+            });
+    failing.schedule(failing.newTimer(1L), 5);
+    failing.schedule(failing.newTimer(2L), 5);
+    failing.advance(5);
+    assertEquals(2, seen.size());
+  }
+
+  @Test
+  void testUnsupportedShapesAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> wheel(0, 4));
+    assertThrows(IllegalArgumentException.class, () -> wheel(16, 4));
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.Ludo.metadata.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.Ludo.metadata.core.model.ActionResult;
+import com.example.Ludo.metadata.core.service.GameMetrics;
+import com.example.Ludo.metadata.core.store.InMemoryGameStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class RejectionResponsesTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final RejectionResponses responses =
+      new RejectionResponses(new GameMetrics(registry, new InMemoryGameStore()), objectMapper);
+
+  @Test
+  void testAcceptedResultIsTheValue() {
+    ResponseEntity<?> response = responses.respond(ActionResult.ok("state"));
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("state", response.getBody());
+  }
+
+  @Test
+  void testRejectionIsWrittenFromItsTemplate() throws Exception {
+    ResponseEntity<?> first = responses.respond(ActionResult.rejected(Rejection.NOT_YOUR_TURN));
+    ResponseEntity<?> second = responses.respond(ActionResult.rejected(Rejection.NOT_YOUR_TURN));
+
+    assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+    assertSame(first.getBody(), second.getBody());
+    JsonNode body = objectMapper.readTree((byte[]) first.getBody());
+    assertEquals("INVALID_ACTION", body.get("errorCode").asText());
+    assertEquals("NOT_YOUR_TURN", body.get("reason").asText());
+    assertEquals(Rejection.NOT_YOUR_TURN.getMessage(), body.get("message").asText());
+    assertEquals(
+        2, registry.get("ludo.rejected.actions").tag("code", "INVALID_ACTION").counter().count());
+  }
+
+  @Test
+  void testBatchRejectionNamesTheAction() throws Exception {
+    ResponseEntity<?> response =
+        responses.respond(ActionResult.rejected(Rejection.ILLEGAL_MOVE, 3));
+
+    JsonNode body = objectMapper.readTree((byte[]) response.getBody());
+    assertEquals("INVALID_BATCH_ACTION", body.get("errorCode").asText());
+    assertEquals("ILLEGAL_MOVE", body.get("reason").asText());
+    assertEquals(3, body.get("failedIndex").asInt());
+  }
+}